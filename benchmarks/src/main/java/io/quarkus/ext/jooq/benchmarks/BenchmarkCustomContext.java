@@ -0,0 +1,11 @@
+package io.quarkus.ext.jooq.benchmarks;
+
+import io.quarkus.ext.jooq.runtime.JooqCustomContext;
+
+/**
+ * Loaded by class name, like "quarkus.jooq.configuration"
+ *
+ * @author Leo Tu
+ */
+public class BenchmarkCustomContext implements JooqCustomContext {
+}
@@ -0,0 +1,77 @@
+package io.quarkus.ext.jooq.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.DslContextOptions;
+import io.quarkus.ext.jooq.runtime.JooqCustomContext;
+
+/**
+ * Cost of producing a DSLContext, as done once per injection point scope. The helpers registered under its name
+ * (BatchLoaders, QueryStreams, ...) are registered once in {@link #setup()}, not per invocation.
+ *
+ * @author Leo Tu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DslContextProducerBenchmark {
+
+    private final AbstractDslContextProducer producer = new AbstractDslContextProducer() {
+
+        @Override
+        protected void registerHelpers(String name, DSLContext context, DslContextOptions options,
+                List<ExecuteListenerProvider> cacheProviders) {
+            if (!helpersRegistered) {
+                super.registerHelpers(name, context, options, cacheProviders);
+                helpersRegistered = true;
+            }
+        }
+    };
+
+    private boolean helpersRegistered;
+
+    private final JooqCustomContext customContext = new BenchmarkCustomContext();
+
+    private JdbcConnectionPool dataSource;
+
+    @Setup
+    public void setup() {
+        dataSource = EmployeesDatabase.newDataSource();
+        producer.createDslContext("H2", dataSource, customContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.dispose();
+    }
+
+    @Benchmark
+    public DSLContext createByClassName() {
+        return producer.createDslContext("H2", dataSource, BenchmarkCustomContext.class.getName());
+    }
+
+    @Benchmark
+    public DSLContext createByCustomContext() {
+        return producer.createDslContext("H2", dataSource, customContext);
+    }
+}
@@ -0,0 +1,106 @@
+package io.quarkus.ext.jooq.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+
+import io.quarkus.ext.jooq.demo.enums.EmployeesGender;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.demo.tables.QDeptEmp;
+import io.quarkus.ext.jooq.demo.tables.QDeptManager;
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.demo.tables.QSalaries;
+import io.quarkus.ext.jooq.demo.tables.QTitles;
+
+/**
+ * Embedded H2 database loaded with the "employees" schema
+ *
+ * @author Leo Tu
+ */
+final class EmployeesDatabase {
+
+    static final int SALARIES_PER_EMPLOYEE = 10;
+
+    static final int FIRST_EMP_NO = 10001;
+
+    static final LocalDate FIRST_FROM_DATE = LocalDate.of(1990, 1, 1);
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private EmployeesDatabase() {
+    }
+
+    /**
+     * Every call returns a pool over a new, empty in-memory database
+     */
+    static JdbcConnectionPool newDataSource() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:employees" + SEQUENCE.incrementAndGet() + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        ds.setUser("sa");
+        ds.setPassword("");
+        return JdbcConnectionPool.create(ds);
+    }
+
+    /**
+     * Creates the tables through jOOQ so that names are rendered the same way the benchmarked queries render them
+     */
+    static void create(DSLContext dsl, int employees) {
+        createTable(dsl, QDepartments.$);
+        createTable(dsl, QEmployees.$);
+        createTable(dsl, QDeptEmp.$);
+        createTable(dsl, QDeptManager.$);
+        createTable(dsl, QSalaries.$);
+        createTable(dsl, QTitles.$);
+
+        dsl.insertInto(QDepartments.$, QDepartments.$.deptNo, QDepartments.$.deptName)
+                .values("d001", "Marketing")
+                .values("d002", "Finance")
+                .values("d003", "Human Resources")
+                .values("d004", "Production")
+                .values("d005", "Development")
+                .execute();
+
+        QEmployees e = QEmployees.$;
+        BatchBindStep employeesBatch = dsl.batch(dsl.insertInto(e, e.empNo, e.birthDate, e.firstName, e.lastName,
+                e.gender, e.hireDate).values((Integer) null, null, null, null, null, null));
+        QDeptEmp de = QDeptEmp.$;
+        BatchBindStep deptEmpBatch = dsl.batch(dsl.insertInto(de, de.empNo, de.deptNo, de.fromDate, de.toDate)
+                .values((Integer) null, null, null, null));
+        QTitles t = QTitles.$;
+        BatchBindStep titlesBatch = dsl.batch(dsl.insertInto(t, t.empNo, t.title, t.fromDate, t.toDate)
+                .values((Integer) null, null, null, null));
+        QSalaries s = QSalaries.$;
+        BatchBindStep salariesBatch = dsl.batch(dsl.insertInto(s, s.empNo, s.salary, s.fromDate, s.toDate)
+                .values((Integer) null, null, null, null));
+
+        for (int i = 0; i < employees; i++) {
+            int empNo = FIRST_EMP_NO + i;
+            LocalDate hireDate = FIRST_FROM_DATE.plusDays(i % 3650);
+            employeesBatch.bind(empNo, hireDate.minusYears(30), "First" + i, "Last" + i,
+                    i % 2 == 0 ? EmployeesGender.M : EmployeesGender.F, hireDate);
+            deptEmpBatch.bind(empNo, "d00" + (1 + i % 5), hireDate, LocalDate.of(9999, 1, 1));
+            titlesBatch.bind(empNo, i % 7 == 0 ? "Senior Engineer" : "Engineer", hireDate, null);
+            for (int j = 0; j < SALARIES_PER_EMPLOYEE; j++) {
+                salariesBatch.bind(empNo, 40000 + (i * 31 + j * 977) % 60000, FIRST_FROM_DATE.plusYears(j),
+                        FIRST_FROM_DATE.plusYears(j + 1));
+            }
+        }
+        employeesBatch.execute();
+        deptEmpBatch.execute();
+        titlesBatch.execute();
+        salariesBatch.execute();
+    }
+
+    private static void createTable(DSLContext dsl, Table<Record> table) {
+        dsl.createTable(table)
+                .columns(table.fields())
+                .constraints(table.getPrimaryKey().constraint())
+                .execute();
+    }
+}
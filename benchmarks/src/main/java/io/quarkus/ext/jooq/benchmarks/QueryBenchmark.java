@@ -0,0 +1,115 @@
+package io.quarkus.ext.jooq.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.DSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.demo.tables.QSalaries;
+import io.quarkus.ext.jooq.demo.tables.pojos.Employees;
+import io.quarkus.ext.jooq.demo.tables.pojos.Salaries;
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+
+/**
+ * Query hot paths of a produced DSLContext: SQL rendering, bind + execute and fetch into POJOs.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar QueryBenchmark -prof gc
+ * </pre>
+ *
+ * @author Leo Tu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({ "1000" })
+    int employees;
+
+    @Param({ "10", "1000" })
+    int rows;
+
+    private JdbcConnectionPool dataSource;
+
+    private DSLContext dsl;
+
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        dataSource = EmployeesDatabase.newDataSource();
+        dsl = new AbstractDslContextProducer() {
+        }.createDslContext("H2", dataSource, new BenchmarkCustomContext());
+        EmployeesDatabase.create(dsl, employees);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.dispose();
+    }
+
+    @Benchmark
+    public String renderSql() {
+        return dsl.select()
+                .from(QSalaries.$)
+                .where(QSalaries.$.empNo.eq(EmployeesDatabase.FIRST_EMP_NO + next()))
+                .and(QSalaries.$.fromDate.ge(EmployeesDatabase.FIRST_FROM_DATE))
+                .orderBy(QSalaries.$.fromDate.desc())
+                .getSQL();
+    }
+
+    @Benchmark
+    public int bindAndExecute() {
+        int next = next();
+        int empNo = EmployeesDatabase.FIRST_EMP_NO + next;
+        LocalDate fromDate = EmployeesDatabase.FIRST_FROM_DATE.plusYears(next % EmployeesDatabase.SALARIES_PER_EMPLOYEE);
+        return dsl.update(QSalaries.$)
+                .set(QSalaries.$.salary, 50000 + next)
+                .where(QSalaries.$.empNo.eq(empNo))
+                .and(QSalaries.$.fromDate.eq(fromDate))
+                .execute();
+    }
+
+    @Benchmark
+    public List<Salaries> fetchSalariesIntoPojo() {
+        int from = EmployeesDatabase.FIRST_EMP_NO + next();
+        return dsl.select()
+                .from(QSalaries.$)
+                .where(QSalaries.$.empNo.between(from, from + rows / EmployeesDatabase.SALARIES_PER_EMPLOYEE - 1))
+                .fetchInto(Salaries.class);
+    }
+
+    @Benchmark
+    public List<Employees> fetchEmployeesIntoPojo() {
+        int from = EmployeesDatabase.FIRST_EMP_NO + next();
+        return dsl.select()
+                .from(QEmployees.$)
+                .where(QEmployees.$.empNo.ge(from))
+                .orderBy(QEmployees.$.empNo.asc())
+                .limit(rows)
+                .fetchInto(Employees.class);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) % employees;
+    }
+}
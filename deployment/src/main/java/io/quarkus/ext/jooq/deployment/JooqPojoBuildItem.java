@@ -0,0 +1,30 @@
+package io.quarkus.ext.jooq.deployment;
+
+import org.jboss.jandex.ClassInfo;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * A jOOQ generated POJO and the generated table it belongs to, e.g. "pojos.Departments" and "QDepartments".
+ *
+ * @author Leo Tu
+ */
+public final class JooqPojoBuildItem extends MultiBuildItem {
+
+    private final ClassInfo pojoClass;
+
+    private final ClassInfo tableClass;
+
+    public JooqPojoBuildItem(ClassInfo pojoClass, ClassInfo tableClass) {
+        this.pojoClass = pojoClass;
+        this.tableClass = tableClass;
+    }
+
+    public ClassInfo getPojoClass() {
+        return pojoClass;
+    }
+
+    public ClassInfo getTableClass() {
+        return tableClass;
+    }
+}
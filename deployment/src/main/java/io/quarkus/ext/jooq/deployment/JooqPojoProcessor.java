@@ -0,0 +1,312 @@
+package io.quarkus.ext.jooq.deployment;
+
+import java.beans.Introspector;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+import org.jboss.logging.Logger;
+import org.objectweb.asm.Opcodes;
+
+import io.quarkus.arc.processor.DotNames;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
+import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
+import io.quarkus.deployment.recording.RecorderContext;
+import io.quarkus.ext.jooq.runtime.JooqTemplate;
+import io.quarkus.ext.jooq.runtime.mapper.AbstractPojoRecordMapper;
+import io.quarkus.ext.jooq.runtime.mapper.AbstractPojoRecordUnmapper;
+import io.quarkus.gizmo.BranchResult;
+import io.quarkus.gizmo.BytecodeCreator;
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.ClassOutput;
+import io.quarkus.gizmo.MethodCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+
+/**
+ * Build time code generation for the jOOQ generated POJOs, so that mapping records to POJOs (and POJOs back to records)
+ * needs no reflection.
+ *
+ * @author Leo Tu
+ */
+public class JooqPojoProcessor {
+    private static final Logger log = Logger.getLogger(JooqPojoProcessor.class);
+
+    private static final String PERSISTENCE_PACKAGE = "javax.persistence.";
+
+    static final String RECORD_MAPPER_SUFFIX = "$$JooqRecordMapper";
+
+    static final String RECORD_UNMAPPER_SUFFIX = "$$JooqRecordUnmapper";
+
+    /**
+     * POJOs are looked up next to the generated tables: "x.tables.QDeptEmp" (or "x.tables.DeptEmp") pairs with
+     * "x.tables.pojos.DeptEmp".
+     */
+    @BuildStep
+    void discoverPojos(CombinedIndexBuildItem combinedIndex, List<JooqTableBuildItem> tables,
+            BuildProducer<JooqPojoBuildItem> pojos) {
+        IndexView index = combinedIndex.getIndex();
+        Set<DotName> found = new HashSet<>();
+        for (JooqTableBuildItem table : tables) {
+            ClassInfo tableClass = table.getTableClass();
+            ClassInfo pojoClass = findPojoClass(index, tableClass);
+            if (pojoClass != null && found.add(pojoClass.name())) {
+                log.debugv("POJO: {0}, table: {1}", pojoClass.name(), tableClass.name());
+                pojos.produce(new JooqPojoBuildItem(pojoClass, tableClass));
+            }
+        }
+    }
+
+    @Record(ExecutionTime.STATIC_INIT)
+    @BuildStep
+    void generateRecordMappers(JooqTemplate template, RecorderContext recorder, CombinedIndexBuildItem combinedIndex,
+            List<JooqPojoBuildItem> pojos, BuildProducer<GeneratedClassBuildItem> generatedClass) {
+        ClassOutput classOutput = new ClassOutput() {
+            @Override
+            public void write(String name, byte[] data) {
+                generatedClass.produce(new GeneratedClassBuildItem(true, name, data));
+            }
+        };
+        for (JooqPojoBuildItem pojo : pojos) {
+            ClassInfo pojoClass = pojo.getPojoClass();
+            List<PojoProperty> properties = properties(combinedIndex.getIndex(), pojoClass);
+            if (properties == null) {
+                continue;
+            }
+            String missingType = missingGeneratedType(combinedIndex.getIndex(), pojo.getTableClass(), properties);
+            if (missingType != null) {
+                log.debugv("Skip POJO, {0} is not part of the application: {1}", missingType, pojoClass.name());
+                continue;
+            }
+
+            List<PojoProperty> writable = properties.stream().filter(p -> p.setter != null)
+                    .collect(Collectors.toList());
+            MethodInfo constructor = pojoClass.method("<init>");
+            if (writable.isEmpty() || Modifier.isAbstract(pojoClass.flags()) || constructor == null
+                    || !Modifier.isPublic(constructor.flags())) {
+                log.debugv("Skip RecordMapper, no public no-args constructor or setters: {0}", pojoClass.name());
+            } else {
+                String mapperClassName = pojoClass.name().toString() + RECORD_MAPPER_SUFFIX;
+                createRecordMapper(classOutput, mapperClassName, pojoClass, writable);
+                template.registerRecordMapper(recorder.newInstance(mapperClassName));
+            }
+
+            List<PojoProperty> readable = properties.stream().filter(p -> p.getter != null)
+                    .collect(Collectors.toList());
+            if (readable.isEmpty()) {
+                log.debugv("Skip RecordUnmapper, no getters: {0}", pojoClass.name());
+            } else {
+                String unmapperClassName = pojoClass.name().toString() + RECORD_UNMAPPER_SUFFIX;
+                createRecordUnmapper(classOutput, unmapperClassName, pojoClass, readable);
+                template.registerRecordUnmapper(recorder.newInstance(unmapperClassName));
+            }
+        }
+    }
+
+    private void createRecordMapper(ClassOutput classOutput, String mapperClassName, ClassInfo pojoClass,
+            List<PojoProperty> properties) {
+        String pojoClassName = pojoClass.name().toString();
+        try (ClassCreator classCreator = ClassCreator.builder().classOutput(classOutput).className(mapperClassName)
+                .superClass(AbstractPojoRecordMapper.class).build()) {
+
+            MethodCreator constructor = classCreator.getMethodCreator("<init>", void.class);
+            ResultHandle namesRH = constructor.newArray(String.class, properties.size());
+            ResultHandle typesRH = constructor.newArray(Class.class, properties.size());
+            for (int i = 0; i < properties.size(); i++) {
+                constructor.writeArrayValue(namesRH, i, constructor.load(properties.get(i).name));
+                constructor.writeArrayValue(typesRH, i, constructor.loadClass(properties.get(i).type));
+            }
+            constructor.invokeSpecialMethod(MethodDescriptor.ofConstructor(AbstractPojoRecordMapper.class,
+                    Class.class, String[].class, Class[].class), constructor.getThis(),
+                    constructor.loadClass(pojoClassName), namesRH, typesRH);
+            constructor.returnValue(null);
+
+            MethodCreator newInstance = classCreator.getMethodCreator("newInstance", AbstractPojoRecordMapper.class)
+                    .setModifiers(Opcodes.ACC_PROTECTED);
+            newInstance.returnValue(newInstance.newInstance(MethodDescriptor.ofConstructor(mapperClassName)));
+
+            MethodCreator map = classCreator.getMethodCreator("map", Object.class, org.jooq.Record.class);
+            ResultHandle recordRH = map.getMethodParam(0);
+            ResultHandle pojoRH = map.newInstance(MethodDescriptor.ofConstructor(pojoClassName));
+            for (int i = 0; i < properties.size(); i++) {
+                PojoProperty property = properties.get(i);
+                BranchResult has = map.ifNonZero(map.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(AbstractPojoRecordMapper.class, "has", boolean.class, int.class),
+                        map.getThis(), map.load(i)));
+                BytecodeCreator set = has.trueBranch();
+                ResultHandle valueRH = set.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(AbstractPojoRecordMapper.class, "value", Object.class,
+                                org.jooq.Record.class, int.class),
+                        set.getThis(), recordRH, set.load(i));
+                set.invokeVirtualMethod(MethodDescriptor.of(property.setter), pojoRH,
+                        set.checkCast(valueRH, property.type));
+            }
+            map.returnValue(pojoRH);
+        }
+    }
+
+    private void createRecordUnmapper(ClassOutput classOutput, String unmapperClassName, ClassInfo pojoClass,
+            List<PojoProperty> properties) {
+        String pojoClassName = pojoClass.name().toString();
+        try (ClassCreator classCreator = ClassCreator.builder().classOutput(classOutput).className(unmapperClassName)
+                .superClass(AbstractPojoRecordUnmapper.class).build()) {
+
+            MethodCreator constructor = classCreator.getMethodCreator("<init>", void.class);
+            ResultHandle namesRH = constructor.newArray(String.class, properties.size());
+            ResultHandle typesRH = constructor.newArray(Class.class, properties.size());
+            for (int i = 0; i < properties.size(); i++) {
+                constructor.writeArrayValue(namesRH, i, constructor.load(properties.get(i).name));
+                constructor.writeArrayValue(typesRH, i, constructor.loadClass(properties.get(i).type));
+            }
+            constructor.invokeSpecialMethod(MethodDescriptor.ofConstructor(AbstractPojoRecordUnmapper.class,
+                    Class.class, String[].class, Class[].class), constructor.getThis(),
+                    constructor.loadClass(pojoClassName), namesRH, typesRH);
+            constructor.returnValue(null);
+
+            MethodCreator newInstance = classCreator.getMethodCreator("newInstance", AbstractPojoRecordUnmapper.class)
+                    .setModifiers(Opcodes.ACC_PROTECTED);
+            newInstance.returnValue(newInstance.newInstance(MethodDescriptor.ofConstructor(unmapperClassName)));
+
+            MethodCreator unmap = classCreator.getMethodCreator("unmap", org.jooq.Record.class, Object.class);
+            ResultHandle pojoRH = unmap.checkCast(unmap.getMethodParam(0), pojoClassName);
+            ResultHandle recordRH = unmap.invokeVirtualMethod(
+                    MethodDescriptor.ofMethod(AbstractPojoRecordUnmapper.class, "newRecord", org.jooq.Record.class),
+                    unmap.getThis());
+            for (int i = 0; i < properties.size(); i++) {
+                PojoProperty property = properties.get(i);
+                BranchResult has = unmap.ifNonZero(unmap.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(AbstractPojoRecordUnmapper.class, "has", boolean.class, int.class),
+                        unmap.getThis(), unmap.load(i)));
+                BytecodeCreator get = has.trueBranch();
+                ResultHandle valueRH = get.invokeVirtualMethod(MethodDescriptor.of(property.getter), pojoRH);
+                get.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(AbstractPojoRecordUnmapper.class, "set", void.class,
+                                org.jooq.Record.class, int.class, Object.class),
+                        get.getThis(), recordRH, get.load(i), valueRH);
+            }
+            unmap.returnValue(recordRH);
+        }
+    }
+
+    private ClassInfo findPojoClass(IndexView index, ClassInfo tableClass) {
+        String tableClassName = tableClass.name().toString();
+        int dot = tableClassName.lastIndexOf('.');
+        String pojoPackage = tableClassName.substring(0, dot + 1) + "pojos.";
+        String simpleName = tableClassName.substring(dot + 1);
+        // longest suffix first: "QDeptEmp", "DeptEmp", "Emp"
+        for (int i = 0; i < simpleName.length(); i++) {
+            if (Character.isUpperCase(simpleName.charAt(i))) {
+                ClassInfo pojoClass = index.getClassByName(DotName.createSimple(pojoPackage + simpleName.substring(i)));
+                if (pojoClass != null) {
+                    return pojoClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The mappers load the property types at static init: an enum or UDT generated next to the table ("x.enums.*",
+     * "x.udt.*" for the table "x.tables.*") must be part of the application too.
+     *
+     * @return the first property type that is missing from the index, or null
+     */
+    static String missingGeneratedType(IndexView index, ClassInfo tableClass, List<PojoProperty> properties) {
+        String tablePackage = tableClass.name().prefix() == null ? "" : tableClass.name().prefix().toString();
+        String root = tablePackage.endsWith(".tables")
+                ? tablePackage.substring(0, tablePackage.length() - ".tables".length())
+                : tablePackage;
+        for (PojoProperty property : properties) {
+            if (property.type.startsWith(root + ".")
+                    && index.getClassByName(DotName.createSimple(property.type)) == null) {
+                return property.type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the getter/setter based properties, or null if the POJO is left to jOOQ's reflection based mapping
+     */
+    static List<PojoProperty> properties(IndexView index, ClassInfo pojoClass) {
+        if (!Modifier.isPublic(pojoClass.flags())) {
+            return null;
+        }
+        if (pojoClass.annotations().keySet().stream().anyMatch(n -> n.toString().startsWith(PERSISTENCE_PACKAGE))) {
+            log.debugv("Skip POJO with JPA annotations: {0}", pojoClass.name());
+            return null;
+        }
+
+        Map<String, PojoProperty> properties = new LinkedHashMap<>();
+        for (ClassInfo c = pojoClass; c != null && !c.name().equals(DotNames.OBJECT); c = index
+                .getClassByName(c.superName())) {
+            for (MethodInfo method : c.methods()) {
+                if (!Modifier.isPublic(method.flags()) || Modifier.isStatic(method.flags())) {
+                    continue;
+                }
+                String name = method.name();
+                boolean isSetter = name.startsWith("set") && name.length() > 3 && method.parameters().size() == 1;
+                boolean isGetter = method.parameters().isEmpty() && method.returnType().kind() != Type.Kind.VOID
+                        && (name.startsWith("get") && name.length() > 3 || name.startsWith("is") && name.length() > 2)
+                        && !name.equals("getClass");
+                if (!isSetter && !isGetter) {
+                    continue;
+                }
+                String property = Introspector.decapitalize(name.substring(name.startsWith("is") ? 2 : 3));
+                Type type = isSetter ? method.parameters().get(0) : method.returnType();
+                if (type.kind() != Type.Kind.CLASS && type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+                    log.debugv("Skip POJO with {0} property: {1}.{2}", type.kind(), pojoClass.name(), property);
+                    return null;
+                }
+                PojoProperty pojoProperty = properties.computeIfAbsent(property,
+                        p -> new PojoProperty(p, type.name().toString()));
+                if (!pojoProperty.type.equals(type.name().toString())) {
+                    continue;
+                }
+                // the most specific declaration wins
+                if (isSetter && pojoProperty.setter == null) {
+                    pojoProperty.setter = method;
+                } else if (isGetter && pojoProperty.getter == null) {
+                    pojoProperty.getter = method;
+                }
+            }
+        }
+        return new ArrayList<>(properties.values());
+    }
+
+    static final class PojoProperty {
+
+        final String name;
+
+        final String type;
+
+        /**
+         * nullable
+         */
+        MethodInfo setter;
+
+        /**
+         * nullable
+         */
+        MethodInfo getter;
+
+        PojoProperty(String name, String type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package io.quarkus.ext.jooq.deployment;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -11,16 +15,23 @@ import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.sql.DataSource;
+import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
 import org.jboss.logging.Logger;
 import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
 import org.jooq.tools.LoggerListener;
 import org.objectweb.asm.Opcodes;
 
 import io.quarkus.agroal.deployment.JdbcDataSourceBuildItem;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.BeanContainerListenerBuildItem;
 import io.quarkus.arc.deployment.BeanDefiningAnnotationBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanBuildItem;
@@ -31,16 +42,24 @@ import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.recording.RecorderContext;
 import io.quarkus.deployment.util.HashUtil;
 import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
 import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer.DslContextQualifier;
+import io.quarkus.ext.jooq.runtime.DslContextOptions;
 import io.quarkus.ext.jooq.runtime.JooqConfig;
 import io.quarkus.ext.jooq.runtime.JooqCustomContext;
 import io.quarkus.ext.jooq.runtime.JooqItemConfig;
 import io.quarkus.ext.jooq.runtime.JooqTemplate;
+import io.quarkus.ext.jooq.runtime.async.AsyncDslContext;
+import io.quarkus.ext.jooq.runtime.async.AsyncDslContextLifecycle;
+import io.quarkus.ext.jooq.runtime.cache.RequestResultCaches;
+import io.quarkus.ext.jooq.runtime.mirror.TableMirrorsLifecycle;
+import io.quarkus.ext.jooq.runtime.writer.BatchWriter;
+import io.quarkus.ext.jooq.runtime.writer.BatchWriterLifecycle;
 import io.quarkus.gizmo.ClassCreator;
 import io.quarkus.gizmo.ClassOutput;
 import io.quarkus.gizmo.FieldCreator;
@@ -48,6 +67,7 @@ import io.quarkus.gizmo.FieldDescriptor;
 import io.quarkus.gizmo.MethodCreator;
 import io.quarkus.gizmo.MethodDescriptor;
 import io.quarkus.gizmo.ResultHandle;
+import io.quarkus.runtime.configuration.ConfigurationException;
 
 /**
  * Deployment Processor
@@ -65,6 +85,8 @@ public class JooqProcessor {
 
     private static final DotName DSL_CONTEXT_QUALIFIER = DotName.createSimple(DslContextQualifier.class.getName());
 
+    private static final DotName JOOQ_CUSTOM_CONTEXT = DotName.createSimple(JooqCustomContext.class.getName());
+
     private final String dslContextProducerClassName = AbstractDslContextProducer.class.getPackage().getName()
             + ".DslContextProducer";
 
@@ -90,7 +112,7 @@ public class JooqProcessor {
             BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
             BuildProducer<UnremovableBeanBuildItem> unremovableBeans, JooqConfig jooqConfig,
             BuildProducer<GeneratedBeanBuildItem> generatedBean,
-            List<JdbcDataSourceBuildItem> jdbcDataSourceBuildItems) {
+            List<JdbcDataSourceBuildItem> jdbcDataSourceBuildItems, CombinedIndexBuildItem combinedIndex) {
         if (isUnconfigured(jooqConfig)) {
             return null;
         }
@@ -101,11 +123,75 @@ public class JooqProcessor {
             log.warn("No default sql-dialect been defined");
         }
 
-        createDslContextProducerBean(generatedBean, unremovableBeans, jooqConfig, jdbcDataSourceBuildItems);
+        if (isPresentDialect(jooqConfig.defaultConfig)) {
+            template.registerOptions(AbstractDslContextProducer.DEFAULT_NAME,
+                    DslContextOptions.of(jooqConfig.defaultConfig));
+        }
+        for (Entry<String, JooqItemConfig> configEntry : jooqConfig.namedConfig.entrySet()) {
+            template.registerOptions(configEntry.getKey(), DslContextOptions.of(configEntry.getValue()));
+        }
+
+        createDslContextProducerBean(generatedBean, unremovableBeans, jooqConfig, jdbcDataSourceBuildItems,
+                combinedIndex.getIndex());
         return new BeanContainerListenerBuildItem(template.addContainerCreatedListener(
                 (Class<? extends AbstractDslContextProducer>) recorder.classProxy(dslContextProducerClassName)));
     }
 
+    /**
+     * "quarkus.jooq.*.mirrored-tables" must name jOOQ generated tables
+     */
+    @BuildStep
+    void mirroredTables(JooqConfig jooqConfig, List<JooqTableBuildItem> tables,
+            BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+        Set<String> tableClassNames = tables.stream().map(table -> table.getTableClass().name().toString())
+                .collect(Collectors.toSet());
+        List<JooqItemConfig> itemConfigs = new ArrayList<>(jooqConfig.namedConfig.values());
+        itemConfigs.add(jooqConfig.defaultConfig);
+        boolean mirrored = false;
+        for (JooqItemConfig itemConfig : itemConfigs) {
+            for (String tableClassName : itemConfig.mirroredTables.orElse(Collections.emptyList())) {
+                if (!tableClassNames.contains(tableClassName)) {
+                    throw new ConfigurationException("Mirrored table is not a jOOQ generated table: " + tableClassName);
+                }
+                mirrored = true;
+            }
+        }
+        if (mirrored) {
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(TableMirrorsLifecycle.class));
+        }
+    }
+
+    /**
+     * The JTA transaction scope of the caches, of the mirrors and of the transaction batching is looked up
+     * programmatically
+     */
+    @BuildStep
+    void requestCache(JooqConfig jooqConfig, BuildProducer<AdditionalBeanBuildItem> additionalBeans,
+            BuildProducer<UnremovableBeanBuildItem> unremovableBeans) {
+        List<JooqItemConfig> itemConfigs = new ArrayList<>(jooqConfig.namedConfig.values());
+        itemConfigs.add(jooqConfig.defaultConfig);
+        boolean requestCache = itemConfigs.stream().anyMatch(itemConfig -> itemConfig.requestCache);
+        if (requestCache) {
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(RequestResultCaches.class));
+        }
+        if (requestCache || itemConfigs.stream()
+                .anyMatch(itemConfig -> itemConfig.transactionBatching || itemConfig.resultCache.enabled
+                        || itemConfig.mirroredTables.isPresent() || itemConfig.replicas.isPresent())) {
+            unremovableBeans.produce(UnremovableBeanBuildItem.beanTypes(TransactionSynchronizationRegistry.class));
+        }
+    }
+
+    /**
+     * Flushes the BatchWriters and drains the AsyncDslContexts at shutdown
+     */
+    @BuildStep
+    void batchWriter(JooqConfig jooqConfig, BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+        if (isPresentDialect(jooqConfig.defaultConfig) || !jooqConfig.namedConfig.isEmpty()) {
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(BatchWriterLifecycle.class));
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(AsyncDslContextLifecycle.class));
+        }
+    }
+
     @Record(ExecutionTime.RUNTIME_INIT)
     @BuildStep
     void configureDataSource(JooqTemplate template,
@@ -128,7 +214,7 @@ public class JooqProcessor {
 
     private void createDslContextProducerBean(BuildProducer<GeneratedBeanBuildItem> generatedBean,
             BuildProducer<UnremovableBeanBuildItem> unremovableBeans, JooqConfig jooqConfig,
-            List<JdbcDataSourceBuildItem> jdbcDataSourceBuildItems) {
+            List<JdbcDataSourceBuildItem> jdbcDataSourceBuildItems, IndexView index) {
         ClassOutput classOutput = new ClassOutput() {
             @Override
             public void write(String name, byte[] data) {
@@ -144,6 +230,8 @@ public class JooqProcessor {
         Set<String> dataSourceNames = jdbcDataSourceBuildItems.stream().map(JdbcDataSourceBuildItem::getName)
                 .collect(Collectors.toSet());
 
+        Set<String> injectVarNames = new HashSet<>();
+
         JooqItemConfig defaultConfig = jooqConfig.defaultConfig;
         if (isPresentDialect(defaultConfig)) {
             if (!DataSourceUtil.hasDefault(dataSourceNames)) {
@@ -161,7 +249,6 @@ public class JooqProcessor {
             defaultDataSourceCreator.addAnnotation(Default.class);
             defaultDataSourceCreator.addAnnotation(Inject.class);
 
-            String dialect = defaultConfig.dialect;
             MethodCreator defaultDslContextMethodCreator = classCreator.getMethodCreator("createDefaultDslContext",
                     DSLContext.class);
 
@@ -169,48 +256,30 @@ public class JooqProcessor {
             defaultDslContextMethodCreator.addAnnotation(Produces.class);
             defaultDslContextMethodCreator.addAnnotation(Default.class);
 
-            ResultHandle dialectRH = defaultDslContextMethodCreator.load(dialect);
-
             ResultHandle dataSourceRH = defaultDslContextMethodCreator.readInstanceField(
                     FieldDescriptor.of(classCreator.getClassName(), dsVarName, DataSource.class.getName()),
                     defaultDslContextMethodCreator.getThis());
 
-            if (defaultConfig.configurationInject.isPresent()) {
-                String configurationInjectName = defaultConfig.configurationInject.get();
-                String injectVarName = "configuration_" + HashUtil.sha1(configurationInjectName);
+            returnDslContext(classCreator, defaultDslContextMethodCreator, AbstractDslContextProducer.DEFAULT_NAME,
+                    defaultConfig, dataSourceRH, dataSourceNames, injectVarNames, index);
 
-                FieldCreator configurationCreator = classCreator.getFieldCreator(injectVarName, JooqCustomContext.class)
-                        .setModifiers(Opcodes.ACC_MODULE);
+            MethodCreator defaultBatchWriterMethodCreator = classCreator.getMethodCreator("createDefaultBatchWriter",
+                    BatchWriter.class);
 
-                configurationCreator.addAnnotation(Inject.class);
-                configurationCreator.addAnnotation(AnnotationInstance.create(DotNames.NAMED, null,
-                        new AnnotationValue[] { AnnotationValue.createStringValue("value", configurationInjectName) }));
+            defaultBatchWriterMethodCreator.addAnnotation(Singleton.class);
+            defaultBatchWriterMethodCreator.addAnnotation(Produces.class);
+            defaultBatchWriterMethodCreator.addAnnotation(Default.class);
 
-                ResultHandle configurationRH = defaultDslContextMethodCreator.readInstanceField(FieldDescriptor
-                        .of(classCreator.getClassName(), injectVarName, JooqCustomContext.class.getName()),
-                        defaultDslContextMethodCreator.getThis());
+            returnBatchWriter(defaultBatchWriterMethodCreator, AbstractDslContextProducer.DEFAULT_NAME);
 
-                defaultDslContextMethodCreator.returnValue(
-                        defaultDslContextMethodCreator.invokeVirtualMethod(
-                                MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
-                                        DSLContext.class, String.class, DataSource.class,
-                                        JooqCustomContext.class),
-                                defaultDslContextMethodCreator.getThis(), dialectRH, dataSourceRH, configurationRH));
-            } else {
-                ResultHandle configurationRH = defaultConfig.configuration.isPresent()
-                        ? defaultDslContextMethodCreator.load(defaultConfig.configuration.get())
-                        : defaultDslContextMethodCreator.loadNull();
+            MethodCreator defaultAsyncMethodCreator = classCreator.getMethodCreator("createDefaultAsyncDslContext",
+                    AsyncDslContext.class);
 
-                if (defaultConfig.configuration.isPresent()) {
-                    unremovableBeans.produce(UnremovableBeanBuildItem.beanClassNames(defaultConfig.configuration.get()));
-                }
+            defaultAsyncMethodCreator.addAnnotation(Singleton.class);
+            defaultAsyncMethodCreator.addAnnotation(Produces.class);
+            defaultAsyncMethodCreator.addAnnotation(Default.class);
 
-                defaultDslContextMethodCreator.returnValue(
-                        defaultDslContextMethodCreator.invokeVirtualMethod(
-                                MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
-                                        DSLContext.class, String.class, DataSource.class, String.class),
-                                defaultDslContextMethodCreator.getThis(), dialectRH, dataSourceRH, configurationRH));
-            }
+            returnAsyncDslContext(defaultAsyncMethodCreator, AbstractDslContextProducer.DEFAULT_NAME, null);
         }
 
         for (Entry<String, JooqItemConfig> configEntry : jooqConfig.namedConfig.entrySet()) {
@@ -249,48 +318,166 @@ public class JooqProcessor {
             namedDslContextMethodCreator.addAnnotation(AnnotationInstance.create(DSL_CONTEXT_QUALIFIER, null,
                     new AnnotationValue[] { AnnotationValue.createStringValue("value", named) }));
 
-            ResultHandle dialectRH = namedDslContextMethodCreator.load(namedConfig.dialect);
-
             ResultHandle dataSourceRH = namedDslContextMethodCreator.readInstanceField(
                     FieldDescriptor.of(classCreator.getClassName(), dsVarName, DataSource.class.getName()),
                     namedDslContextMethodCreator.getThis());
 
-            if (namedConfig.configurationInject.isPresent()) {
-                String configurationInjectName = namedConfig.configurationInject.get();
-                String injectVarName = "configurationInjectName" + HashUtil.sha1(configurationInjectName);
+            returnDslContext(classCreator, namedDslContextMethodCreator, named, namedConfig, dataSourceRH,
+                    dataSourceNames, injectVarNames, index);
 
+            MethodCreator namedBatchWriterMethodCreator = classCreator
+                    .getMethodCreator("createNamedBatchWriter_" + suffix, BatchWriter.class.getName());
+
+            namedBatchWriterMethodCreator.addAnnotation(Singleton.class);
+            namedBatchWriterMethodCreator.addAnnotation(Produces.class);
+            // not @Named, the bean name belongs to the DSLContext
+            namedBatchWriterMethodCreator.addAnnotation(AnnotationInstance.create(DSL_CONTEXT_QUALIFIER, null,
+                    new AnnotationValue[] { AnnotationValue.createStringValue("value", named) }));
+
+            returnBatchWriter(namedBatchWriterMethodCreator, named);
+
+            MethodCreator namedAsyncMethodCreator = classCreator
+                    .getMethodCreator("createNamedAsyncDslContext_" + suffix, AsyncDslContext.class.getName());
+
+            namedAsyncMethodCreator.addAnnotation(Singleton.class);
+            namedAsyncMethodCreator.addAnnotation(Produces.class);
+            namedAsyncMethodCreator.addAnnotation(AnnotationInstance.create(DSL_CONTEXT_QUALIFIER, null,
+                    new AnnotationValue[] { AnnotationValue.createStringValue("value", named) }));
+
+            returnAsyncDslContext(namedAsyncMethodCreator, named, dataSourceName);
+        }
+
+        classCreator.close();
+    }
+
+    /**
+     * Dialect and settings are resolved here, at build time, and written as constants into the producer method
+     */
+    private void returnDslContext(ClassCreator classCreator, MethodCreator methodCreator, String name,
+            JooqItemConfig itemConfig, ResultHandle dataSourceRH, Set<String> dataSourceNames,
+            Set<String> injectVarNames, IndexView index) {
+        ResultHandle nameRH = methodCreator.load(name);
+        SQLDialect dialect = AbstractDslContextProducer.resolveDialect(itemConfig.dialect);
+        ResultHandle dialectRH = methodCreator.load(dialect);
+        ResultHandle settingsRH = SettingsBytecodeWriter.write(methodCreator,
+                AbstractDslContextProducer.defaultSettings());
+        ResultHandle replicasRH = readReplicas(classCreator, methodCreator, itemConfig, dataSourceNames,
+                injectVarNames);
+
+        if (itemConfig.configurationInject.isPresent()) {
+            String configurationInjectName = itemConfig.configurationInject.get();
+            String injectVarName = "configuration_" + HashUtil.sha1(configurationInjectName);
+
+            if (injectVarNames.add(injectVarName)) {
                 FieldCreator configurationCreator = classCreator.getFieldCreator(injectVarName, JooqCustomContext.class)
                         .setModifiers(Opcodes.ACC_MODULE);
 
                 configurationCreator.addAnnotation(Inject.class);
                 configurationCreator.addAnnotation(AnnotationInstance.create(DotNames.NAMED, null,
                         new AnnotationValue[] { AnnotationValue.createStringValue("value", configurationInjectName) }));
+            }
 
-                ResultHandle configurationRH = namedDslContextMethodCreator.readInstanceField(FieldDescriptor
-                        .of(classCreator.getClassName(), injectVarName, JooqCustomContext.class.getName()),
-                        namedDslContextMethodCreator.getThis());
+            ResultHandle configurationRH = methodCreator.readInstanceField(FieldDescriptor
+                    .of(classCreator.getClassName(), injectVarName, JooqCustomContext.class.getName()),
+                    methodCreator.getThis());
 
-                namedDslContextMethodCreator.returnValue(namedDslContextMethodCreator.invokeVirtualMethod(
-                        MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
-                                DSLContext.class, String.class, DataSource.class, JooqCustomContext.class),
-                        namedDslContextMethodCreator.getThis(), dialectRH, dataSourceRH, configurationRH));
+            methodCreator.returnValue(methodCreator.invokeVirtualMethod(
+                    MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
+                            DSLContext.class, String.class, SQLDialect.class, DataSource.class, Settings.class,
+                            JooqCustomContext.class, DataSource[].class),
+                    methodCreator.getThis(), nameRH, dialectRH, dataSourceRH, settingsRH, configurationRH,
+                    replicasRH));
+        } else {
+            ResultHandle configurationRH;
+            if (itemConfig.configuration.isPresent()) {
+                // plain "new", no reflection left for the runtime
+                String configurationClassName = itemConfig.configuration.get();
+                checkCustomContextClass(index, configurationClassName);
+                configurationRH = methodCreator.newInstance(MethodDescriptor.ofConstructor(configurationClassName));
             } else {
-                ResultHandle configurationRH = namedConfig.configuration.isPresent()
-                        ? namedDslContextMethodCreator.load(namedConfig.configuration.get())
-                        : namedDslContextMethodCreator.loadNull();
+                configurationRH = methodCreator.loadNull();
+            }
 
-                if (namedConfig.configuration.isPresent()) {
-                    unremovableBeans.produce(UnremovableBeanBuildItem.beanClassNames(namedConfig.configuration.get()));
-                }
+            methodCreator.returnValue(methodCreator.invokeVirtualMethod(
+                    MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
+                            DSLContext.class, String.class, SQLDialect.class, DataSource.class, Settings.class,
+                            JooqCustomContext.class, DataSource[].class),
+                    methodCreator.getThis(), nameRH, dialectRH, dataSourceRH, settingsRH, configurationRH,
+                    replicasRH));
+        }
+    }
 
-                namedDslContextMethodCreator.returnValue(namedDslContextMethodCreator.invokeVirtualMethod(
-                        MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createDslContext",
-                                DSLContext.class, String.class, DataSource.class, String.class),
-                        namedDslContextMethodCreator.getThis(), dialectRH, dataSourceRH, configurationRH));
+    /**
+     * The replica datasources are injected into the producer, one field per datasource shared by the DSLContexts
+     */
+    private ResultHandle readReplicas(ClassCreator classCreator, MethodCreator methodCreator,
+            JooqItemConfig itemConfig, Set<String> dataSourceNames, Set<String> injectVarNames) {
+        List<String> replicaNames = itemConfig.replicas.orElse(Collections.emptyList());
+        ResultHandle replicasRH = methodCreator.newArray(DataSource.class, methodCreator.load(replicaNames.size()));
+        for (int i = 0; i < replicaNames.size(); i++) {
+            String replicaName = replicaNames.get(i);
+            if (!dataSourceNames.contains(replicaName)) {
+                log.warnv("Replica: {0} data source not found", replicaName);
             }
+            String replicaVarName = "replica_" + HashUtil.sha1(replicaName);
+            if (injectVarNames.add(replicaVarName)) {
+                FieldCreator replicaCreator = classCreator.getFieldCreator(replicaVarName, DataSource.class)
+                        .setModifiers(Opcodes.ACC_MODULE);
+                replicaCreator.addAnnotation(Inject.class);
+                replicaCreator.addAnnotation(AnnotationInstance.create(DotNames.NAMED, null,
+                        new AnnotationValue[] { AnnotationValue.createStringValue("value", replicaName) }));
+            }
+            ResultHandle replicaRH = methodCreator.readInstanceField(
+                    FieldDescriptor.of(classCreator.getClassName(), replicaVarName, DataSource.class.getName()),
+                    methodCreator.getThis());
+            methodCreator.writeArrayValue(replicasRH, i, replicaRH);
         }
+        return replicasRH;
+    }
 
-        classCreator.close();
+    /**
+     * The writer is created on first injection, on the DSLContext bean of the same name
+     */
+    private void returnBatchWriter(MethodCreator methodCreator, String name) {
+        methodCreator.returnValue(methodCreator.invokeVirtualMethod(
+                MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createBatchWriter", BatchWriter.class,
+                        String.class),
+                methodCreator.getThis(), methodCreator.load(name)));
+    }
+
+    /**
+     * The executor is sized from the datasource configuration at runtime
+     */
+    private void returnAsyncDslContext(MethodCreator methodCreator, String name, String dataSourceName) {
+        ResultHandle dataSourceNameRH = dataSourceName == null ? methodCreator.loadNull()
+                : methodCreator.load(dataSourceName);
+        methodCreator.returnValue(methodCreator.invokeVirtualMethod(
+                MethodDescriptor.ofMethod(AbstractDslContextProducer.class, "createAsyncDslContext",
+                        AsyncDslContext.class, String.class, String.class),
+                methodCreator.getThis(), methodCreator.load(name), dataSourceNameRH));
+    }
+
+    /**
+     * Typos and unusable classes in "quarkus.jooq.*.configuration" fail the build
+     */
+    private void checkCustomContextClass(IndexView index, String className) {
+        ClassInfo classInfo = index.getClassByName(DotName.createSimple(className));
+        if (classInfo == null) {
+            throw new ConfigurationException("jOOQ configuration class not found in the Jandex index: " + className);
+        }
+        boolean isCustomContext = index.getAllKnownImplementors(JOOQ_CUSTOM_CONTEXT).stream()
+                .anyMatch(implementor -> implementor.name().equals(classInfo.name()));
+        if (!isCustomContext) {
+            throw new ConfigurationException("jOOQ configuration class does not implement "
+                    + JooqCustomContext.class.getName() + ": " + className);
+        }
+        MethodInfo constructor = classInfo.method("<init>");
+        if (!Modifier.isPublic(classInfo.flags()) || Modifier.isAbstract(classInfo.flags())
+                || constructor == null || !Modifier.isPublic(constructor.flags())) {
+            throw new ConfigurationException(
+                    "jOOQ configuration class must be public, concrete and have a public no-args constructor: "
+                            + className);
+        }
     }
 
     private boolean isPresentDialect(JooqItemConfig itemConfig) {
@@ -0,0 +1,23 @@
+package io.quarkus.ext.jooq.deployment;
+
+import org.jboss.jandex.ClassInfo;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * A jOOQ generated table, e.g. "QDepartments": public, concrete TableImpl subclass with a public no-args constructor
+ *
+ * @author Leo Tu
+ */
+public final class JooqTableBuildItem extends MultiBuildItem {
+
+    private final ClassInfo tableClass;
+
+    public JooqTableBuildItem(ClassInfo tableClass) {
+        this.tableClass = tableClass;
+    }
+
+    public ClassInfo getTableClass() {
+        return tableClass;
+    }
+}
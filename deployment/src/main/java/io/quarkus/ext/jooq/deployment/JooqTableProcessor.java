@@ -0,0 +1,56 @@
+package io.quarkus.ext.jooq.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.logging.Logger;
+import org.jooq.impl.TableImpl;
+
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.quarkus.ext.jooq.runtime.JooqTemplate;
+
+/**
+ * The jOOQ generated tables, their class names registered at static init so that the runtime finds them without
+ * scanning. A table is only instantiated on first use, by a cache, a mirror or a batch loader.
+ *
+ * @author Leo Tu
+ */
+public class JooqTableProcessor {
+    private static final Logger log = Logger.getLogger(JooqTableProcessor.class);
+
+    private static final DotName TABLE_IMPL = DotName.createSimple(TableImpl.class.getName());
+
+    @BuildStep
+    void discoverTables(CombinedIndexBuildItem combinedIndex, BuildProducer<JooqTableBuildItem> tables) {
+        IndexView index = combinedIndex.getIndex();
+        for (ClassInfo tableClass : index.getAllKnownSubclasses(TABLE_IMPL)) {
+            MethodInfo constructor = tableClass.method("<init>");
+            if (!Modifier.isPublic(tableClass.flags()) || Modifier.isAbstract(tableClass.flags())
+                    || constructor == null || !Modifier.isPublic(constructor.flags())) {
+                log.debugv("Skip table, no public no-args constructor: {0}", tableClass.name());
+                continue;
+            }
+            tables.produce(new JooqTableBuildItem(tableClass));
+        }
+    }
+
+    @Record(ExecutionTime.STATIC_INIT)
+    @BuildStep
+    void registerTables(JooqTemplate template, List<JooqTableBuildItem> tables,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClass) {
+        for (JooqTableBuildItem table : tables) {
+            String tableClassName = table.getTableClass().name().toString();
+            template.registerTable(tableClassName);
+            reflectiveClass.produce(new ReflectiveClassBuildItem(false, false, tableClassName));
+        }
+    }
+}
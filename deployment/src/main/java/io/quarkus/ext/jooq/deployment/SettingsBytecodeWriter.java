@@ -0,0 +1,127 @@
+package io.quarkus.ext.jooq.deployment;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.jooq.conf.Settings;
+
+import io.quarkus.gizmo.BytecodeCreator;
+import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.gizmo.ResultHandle;
+
+/**
+ * Writes a build time {@link Settings} as bytecode: a "new Settings()" followed by one setter call for every property
+ * that differs from the jOOQ default, so no XML parsing or reflection is left for the runtime.
+ *
+ * @author Leo Tu
+ */
+final class SettingsBytecodeWriter {
+
+    private SettingsBytecodeWriter() {
+    }
+
+    static ResultHandle write(BytecodeCreator bc, Settings settings) {
+        return writeBean(bc, settings);
+    }
+
+    private static ResultHandle writeBean(BytecodeCreator bc, Object bean) {
+        Class<?> type = bean.getClass();
+        Object defaults;
+        try {
+            defaults = type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unsupported settings type: " + type.getName(), e);
+        }
+        ResultHandle beanRH = bc.newInstance(MethodDescriptor.ofConstructor(type));
+
+        Method[] methods = type.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName)); // stable output
+        for (Method getter : methods) {
+            String property = propertyName(getter);
+            if (property == null) {
+                continue;
+            }
+            Object value = invoke(getter, bean);
+            if (value instanceof List) {
+                // JAXB style: live list without setter, created by its getter even when empty, so that the
+                // bytecode Settings equals the build time one
+                ResultHandle listRH = bc.invokeVirtualMethod(MethodDescriptor.ofMethod(getter), beanRH);
+                for (Object element : (List<?>) value) {
+                    bc.invokeInterfaceMethod(MethodDescriptor.ofMethod(List.class, "add", boolean.class, Object.class),
+                            listRH, writeValue(bc, element));
+                }
+            } else if (value != null && !Objects.equals(value, invoke(getter, defaults))) {
+                Method setter = setter(type, property, getter.getReturnType());
+                bc.invokeVirtualMethod(MethodDescriptor.ofMethod(setter), beanRH, writeValue(bc, value));
+            }
+        }
+        return beanRH;
+    }
+
+    private static ResultHandle writeValue(BytecodeCreator bc, Object value) {
+        if (value == null) {
+            return bc.loadNull();
+        } else if (value instanceof String) {
+            return bc.load((String) value);
+        } else if (value instanceof Boolean) {
+            return bc.invokeStaticMethod(MethodDescriptor.ofMethod(Boolean.class, "valueOf", Boolean.class,
+                    boolean.class), bc.load((Boolean) value));
+        } else if (value instanceof Integer) {
+            return bc.invokeStaticMethod(MethodDescriptor.ofMethod(Integer.class, "valueOf", Integer.class,
+                    int.class), bc.load((Integer) value));
+        } else if (value instanceof Long) {
+            return bc.invokeStaticMethod(MethodDescriptor.ofMethod(Long.class, "valueOf", Long.class,
+                    long.class), bc.load((Long) value));
+        } else if (value instanceof Enum) {
+            return bc.load((Enum<?>) value);
+        } else if (value instanceof Locale) {
+            return bc.invokeStaticMethod(MethodDescriptor.ofMethod(Locale.class, "forLanguageTag", Locale.class,
+                    String.class), bc.load(((Locale) value).toLanguageTag()));
+        } else if (value instanceof Pattern) {
+            return bc.invokeStaticMethod(MethodDescriptor.ofMethod(Pattern.class, "compile", Pattern.class,
+                    String.class, int.class), bc.load(((Pattern) value).pattern()),
+                    bc.load(((Pattern) value).flags()));
+        } else if (value.getClass().getPackage() == Settings.class.getPackage()) {
+            return writeBean(bc, value); // RenderMapping, MappedSchema, ParseSearchSchema, ...
+        } else {
+            throw new IllegalStateException("Unsupported settings value type: " + value.getClass().getName());
+        }
+    }
+
+    private static String propertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == Boolean.class) {
+            return name.substring(2);
+        } else {
+            return null;
+        }
+    }
+
+    private static Method setter(Class<?> type, String property, Class<?> propertyType) {
+        try {
+            return type.getMethod("set" + property, propertyType);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No setter for settings property: " + type.getName() + "." + property, e);
+        }
+    }
+
+    private static Object invoke(Method getter, Object bean) {
+        try {
+            return getter.invoke(bean);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(getter.toString(), e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.quarkus.ext.jooq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer.DslContextQualifier;
+import io.quarkus.ext.jooq.runtime.async.AsyncDslContext;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * An AsyncDslContext is produced for the default and every named DSLContext, with as many threads as their datasource
+ * has connections, the other tasks wait in its queue
+ *
+ * @author Leo Tu
+ */
+public class AsyncDslContextTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.datasource.jdbc.max-size", "3")
+            .overrideConfigKey("quarkus.jooq.dsl1.dialect", "h2")
+            .overrideConfigKey("quarkus.jooq.dsl1.datasource", "datasource1")
+            .overrideConfigKey("quarkus.datasource.datasource1.db-kind", "other")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.url", "jdbc:h2:mem:async1;DB_CLOSE_DELAY=-1")
+            .overrideConfigKey("quarkus.datasource.datasource1.username", "sa")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.max-size", "2");
+
+    @Inject
+    AsyncDslContext async;
+
+    @Inject
+    @DslContextQualifier("dsl1")
+    AsyncDslContext async1;
+
+    @Test
+    public void testProduced() throws Exception {
+        Assertions.assertEquals(AbstractDslContextProducer.DEFAULT_NAME, async.getContextName());
+        Assertions.assertEquals(3, async.getMaxConcurrency());
+        Assertions.assertEquals("dsl1", async1.getContextName());
+        Assertions.assertEquals(2, async1.getMaxConcurrency());
+
+        Assertions.assertEquals("JOOQ", async.call(AsyncDslContextTest::database).toCompletableFuture()
+                .get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals("ASYNC1", async1.call(AsyncDslContextTest::database).toCompletableFuture()
+                .get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testQueued() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                tasks.add(async1.call(dsl -> {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return dsl.select(DSL.inline(1)).fetchOne(0, Integer.class);
+                }).toCompletableFuture());
+            }
+            Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, async1.getActive());
+            Assertions.assertEquals(3, async1.getQueued());
+        } finally {
+            release.countDown();
+        }
+        for (CompletableFuture<Integer> task : tasks) {
+            Assertions.assertEquals(1, task.get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(0, async1.getQueued());
+    }
+
+    private static String database(DSLContext dsl) {
+        return dsl.select(DSL.field("database()", String.class)).fetchOne(0, String.class);
+    }
+}
@@ -0,0 +1,74 @@
+package io.quarkus.ext.jooq;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.transaction.UserTransaction;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The async executor of a DSLContext does not run its tasks in the JTA transaction of the caller
+ *
+ * @author Leo Tu
+ */
+public class AsyncExecutorTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.async-executor", "true");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    UserTransaction transaction;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+    }
+
+    @Test
+    public void testTransactionCleared() throws Exception {
+        Executor executor = dsl.configuration().executorProvider().provide();
+        Assumptions.assumeTrue(executor instanceof ManagedExecutor, "virtual threads");
+
+        transaction.begin();
+        try {
+            dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+            Assertions.assertTrue(JtaTransactions.isActive());
+            Assertions.assertFalse(CompletableFuture.supplyAsync(JtaTransactions::isActive, executor)
+                    .get(10, TimeUnit.SECONDS));
+            // another connection, the insert is not committed yet
+            Assertions.assertEquals(0, dsl.selectCount().from(D).fetchAsync().toCompletableFuture()
+                    .get(10, TimeUnit.SECONDS).get(0).value1());
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals(1, dsl.selectCount().from(D).fetchAsync().toCompletableFuture()
+                .get(10, TimeUnit.SECONDS).get(0).value1());
+    }
+}
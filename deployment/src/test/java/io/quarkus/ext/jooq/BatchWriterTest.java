@@ -0,0 +1,224 @@
+package io.quarkus.ext.jooq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.Record;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.writer.BatchWriter;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The records are written in batches of "batch-size", or of what arrived within "flush-interval", a failing batch is
+ * retried one by one, and a full queue blocks the callers
+ *
+ * @author Leo Tu
+ */
+public class BatchWriterTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    /**
+     * Rows of each batch executed, counted by their bind values
+     */
+    final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+
+    final AtomicInteger binds = new AtomicInteger();
+
+    volatile CountDownLatch blocked = new CountDownLatch(0);
+
+    DSLContext listened;
+
+    BatchWriter writer;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        batches.clear();
+        binds.set(0);
+        listened = dsl.configuration().derive(new DefaultExecuteListenerProvider(new DefaultExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext ctx) {
+                try {
+                    blocked.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void bindEnd(ExecuteContext ctx) {
+                binds.incrementAndGet();
+            }
+
+            @Override
+            public void executeEnd(ExecuteContext ctx) {
+                if (ctx.type() == ExecuteType.BATCH) {
+                    batches.add(binds.getAndSet(0));
+                }
+            }
+        })).dsl();
+    }
+
+    @AfterEach
+    public void close() {
+        blocked.countDown();
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testBatchSize() {
+        writer = new BatchWriter("test", listened, 10, TimeUnit.SECONDS.toNanos(1), 100);
+        List<CompletableFuture<Integer>> futures = insert(0, 25);
+        for (CompletableFuture<Integer> future : futures) {
+            Assertions.assertEquals(1, future.join());
+        }
+        Assertions.assertEquals(25, dsl.fetchCount(D));
+        Assertions.assertEquals(25, batches.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(batches.stream().allMatch(rows -> rows <= 10), batches.toString());
+        Assertions.assertEquals(3, batches.size(), batches.toString());
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        writer = new BatchWriter("test", listened, 100, TimeUnit.MILLISECONDS.toNanos(200), 100);
+        long start = System.nanoTime();
+        List<CompletableFuture<Integer>> futures = insert(0, 3);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150),
+                "flushed before the interval");
+        Assertions.assertEquals(Collections.singletonList(3), batches);
+    }
+
+    @Test
+    public void testRetryDuplicate() {
+        writer = new BatchWriter("test", listened, 10, TimeUnit.MILLISECONDS.toNanos(200), 100);
+        List<CompletableFuture<Integer>> futures = insert(0, 2);
+        futures.add(writer.insert(D, department(0)));
+        futures.addAll(insert(2, 1));
+
+        Assertions.assertEquals(1, futures.get(0).join());
+        Assertions.assertEquals(1, futures.get(1).join());
+        CompletionException e = Assertions.assertThrows(CompletionException.class, () -> futures.get(2).join());
+        Assertions.assertTrue(e.getCause() instanceof DataAccessException, e.toString());
+        Assertions.assertEquals(1, futures.get(3).join());
+        Assertions.assertEquals(3, dsl.fetchCount(D));
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+        blocked = new CountDownLatch(1);
+        writer = new BatchWriter("test", listened, 1, 0, 2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<CompletableFuture<Integer>>> inserting = executor.submit(() -> insert(0, 4));
+            // one record taken by the blocked flusher, two queued, the fourth waits
+            Assertions.assertThrows(TimeoutException.class, () -> inserting.get(500, TimeUnit.MILLISECONDS));
+            Assertions.assertEquals(2, writer.getQueued());
+
+            blocked.countDown();
+            for (CompletableFuture<Integer> future : inserting.get(5, TimeUnit.SECONDS)) {
+                Assertions.assertEquals(1, future.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(4, dsl.fetchCount(D));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        writer = new BatchWriter("test", listened, 10, TimeUnit.MILLISECONDS.toNanos(1), 1000);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+        try {
+            for (int t = 0; t < threads; t++) {
+                int first = t * 1000;
+                executor.execute(() -> {
+                    try {
+                        for (int i = first; i < first + 1000; i++) {
+                            futures.add(writer.insert(D, department(i)));
+                        }
+                    } catch (IllegalStateException e) {
+                        // closed
+                    }
+                });
+            }
+            Thread.sleep(50);
+            writer.close();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // every record is either written or failed, none is left behind
+            int written = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                try {
+                    written += future.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    Assertions.assertTrue(e.getCause() instanceof IllegalStateException, e.toString());
+                }
+            }
+            Assertions.assertEquals(written, dsl.fetchCount(D));
+            Assertions.assertThrows(IllegalStateException.class, () -> writer.insert(D, department(-1)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<CompletableFuture<Integer>> insert(int first, int count) {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            futures.add(writer.insert(D, department(i)));
+        }
+        return futures;
+    }
+
+    private Record department(int i) {
+        Record record = dsl.newRecord(D);
+        record.set(D.deptNo, Integer.toString(i, 36));
+        record.set(D.deptName, "Department " + i);
+        return record;
+    }
+}
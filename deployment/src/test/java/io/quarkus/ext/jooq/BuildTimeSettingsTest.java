@@ -0,0 +1,42 @@
+package io.quarkus.ext.jooq;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The dialect and the Settings resolved at build time reach the produced DSLContext
+ * 
+ * @author Leo Tu
+ */
+public class BuildTimeSettingsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource("h2.properties", "application.properties"));
+
+    @Inject
+    DSLContext dsl;
+
+    @Test
+    public void testSettings() {
+        Settings expected = AbstractDslContextProducer.defaultSettings();
+        // JAXB lists are created by their getters, as the build time writer does
+        expected.getInterpreterSearchPath();
+        expected.getParseSearchPath();
+        Assertions.assertNotEquals(new Settings(), expected);
+        Assertions.assertEquals(expected, dsl.settings());
+        Assertions.assertEquals(SQLDialect.H2, dsl.dialect());
+    }
+}
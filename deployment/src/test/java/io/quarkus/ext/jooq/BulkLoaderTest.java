@@ -0,0 +1,141 @@
+package io.quarkus.ext.jooq;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.enums.EmployeesGender;
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.runtime.bulk.BulkLoadResult;
+import io.quarkus.ext.jooq.runtime.bulk.BulkLoader;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A CSV file larger than a part is split between the writers, a JSON document is read row by row, in the format of
+ * formatJSON() or as an array of objects
+ *
+ * @author Leo Tu
+ */
+public class BulkLoaderTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QEmployees.class, EmployeesGender.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties");
+
+    private static final QEmployees E = QEmployees.$;
+
+    /**
+     * About 1.5 MB, more than a part of the file
+     */
+    private static final int CSV_ROWS = 30_000;
+
+    @Inject
+    DSLContext dsl;
+
+    Path file;
+
+    @BeforeEach
+    public void init() throws IOException {
+        dsl.createTableIfNotExists(E).columns(E.fields()).constraints(E.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(E).execute();
+        file = Files.createTempFile("bulk-loader", ".tmp");
+    }
+
+    @AfterEach
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testCsvWriters() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("emp_no,birth_date,first_name,last_name,gender,hire_date\n");
+            for (int i = 1; i <= CSV_ROWS; i++) {
+                writer.write(i + ",1960-01-01,First" + i + ",\"Last, " + i + "\",M,1990-01-01\n");
+            }
+            writer.write("1,1960-01-01,Duplicate,Duplicate,F,1990-01-01\n");
+        }
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        DSLContext counting = dsl.configuration().derive(new DefaultExecuteListenerProvider(
+                new DefaultExecuteListener() {
+                    @Override
+                    public void executeStart(ExecuteContext ctx) {
+                        threads.add(Thread.currentThread().getName());
+                    }
+                })).dsl();
+        BulkLoadResult result = BulkLoader.into(counting, E).writers(2).batchSize(1).commitSize(1000)
+                .onErrorIgnore().loadCSV(file);
+
+        Assertions.assertEquals(CSV_ROWS + 1, result.getProcessed());
+        Assertions.assertEquals(CSV_ROWS, result.getStored());
+        Assertions.assertEquals(1, result.getErrors().size(), result.getErrors().toString());
+        Assertions.assertEquals(CSV_ROWS, dsl.fetchCount(E));
+        Assertions.assertEquals("Last, 7", dsl.select(E.lastName).from(E).where(E.empNo.eq(7)).fetchOne(E.lastName));
+        Assertions.assertEquals(2, threads.size(), threads.toString());
+    }
+
+    @Test
+    public void testFormatJson() throws IOException {
+        insert(3);
+        String json = dsl.selectFrom(E).orderBy(E.empNo).fetch().formatJSON();
+        dsl.deleteFrom(E).execute();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        BulkLoadResult result = BulkLoader.into(dsl, E).loadJSON(file);
+        Assertions.assertEquals(3, result.getProcessed());
+        Assertions.assertEquals(3, result.getStored());
+        Assertions.assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        Assertions.assertEquals("First2", dsl.select(E.firstName).from(E).where(E.empNo.eq(2)).fetchOne(E.firstName));
+    }
+
+    @Test
+    public void testObjects() throws IOException {
+        insert(1);
+        Files.write(file, ("[{\"emp_no\": 2, \"birth_date\": \"1960-01-01\", \"first_name\": \"First2\","
+                + " \"last_name\": \"Last2\", \"gender\": \"F\", \"hire_date\": \"1990-01-01\", \"unknown\": 0},"
+                + " {\"last_name\": \"Last1\", \"emp_no\": 1, \"birth_date\": \"1960-01-01\","
+                + " \"first_name\": \"First1\", \"gender\": \"F\", \"hire_date\": \"1990-01-01\"}]")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        // one row per batch, a failing batch fails all its rows
+        BulkLoadResult result = BulkLoader.into(dsl, E).batchSize(1).onErrorIgnore().loadJSON(file);
+        Assertions.assertEquals(2, result.getProcessed());
+        Assertions.assertEquals(1, result.getStored());
+        Assertions.assertEquals(1, result.getErrors().size(), result.getErrors().toString());
+        Assertions.assertEquals(2, dsl.fetchCount(E));
+        Assertions.assertEquals("Last2", dsl.select(E.lastName).from(E).where(E.empNo.eq(2)).fetchOne(E.lastName));
+    }
+
+    private void insert(int rows) {
+        for (int i = 1; i <= rows; i++) {
+            dsl.insertInto(E, E.empNo, E.birthDate, E.firstName, E.lastName, E.gender, E.hireDate)
+                    .values(i, LocalDate.of(1960, 1, 1), "First" + i, "Last" + i, EmployeesGender.M,
+                            LocalDate.of(1990, 1, 1))
+                    .execute();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkus.ext.jooq;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.jooq.Converter;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.ext.jooq.runtime.column.ColumnarResult;
+import io.quarkus.ext.jooq.runtime.column.DoubleColumn;
+import io.quarkus.ext.jooq.runtime.column.IntColumn;
+import io.quarkus.ext.jooq.runtime.column.LongColumn;
+import io.quarkus.ext.jooq.runtime.column.ObjectColumn;
+import io.quarkus.ext.jooq.runtime.column.StringColumn;
+
+/**
+ * More rows than the initial capacity of the columns, nulls on both sides of a 64 rows word of the bitmap, the
+ * dictionary of a string column, and the values of a field with a Converter kept as objects
+ *
+ * @author Leo Tu
+ */
+public class ColumnarResultTest {
+
+    private static final int ROWS = 2000;
+
+    private static final Field<Integer> X = DSL.field(DSL.name("X"), Integer.class);
+
+    private static final Converter<Integer, String> HEX = Converter.ofNullable(Integer.class, String.class,
+            Integer::toHexString, value -> Integer.valueOf(value, 16));
+
+    private Connection connection;
+
+    private DSLContext dsl;
+
+    @BeforeEach
+    public void init() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:columns", "sa", "");
+        dsl = DSL.using(connection, SQLDialect.H2);
+    }
+
+    @AfterEach
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testColumns() {
+        // the rows 63 and 64 are the last of a bitmap word and the first of the next one
+        Field<Integer> nullable = DSL.when(X.in(64, 65, 128, 1500), DSL.inline(null, Integer.class)).otherwise(X)
+                .as("nullable");
+        Field<Long> big = X.cast(Long.class).mul(10_000_000_000L).as("big");
+        Field<Double> half = X.cast(Double.class).div(2.0).as("half");
+        Field<String> label = DSL.when(X.mod(100).eq(0), DSL.inline(null, String.class))
+                .otherwise(DSL.inline("v").concat(X.mod(3))).as("label");
+        Field<String> hex = DSL.field(DSL.name("X"), SQLDataType.INTEGER.asConvertedDataType(HEX)).as("hex");
+        Field<LocalDate> day = DSL.inline(LocalDate.of(2020, 1, 1)).as("day");
+
+        ColumnarResult result = ColumnarResult.fetch(dsl.select(X, nullable, big, half, label, hex, day)
+                .from("system_range(1, " + ROWS + ")").orderBy(X));
+        Assertions.assertEquals(ROWS, result.size());
+
+        IntColumn ids = result.intColumn(X);
+        Assertions.assertEquals(ROWS, ids.getValues().length);
+        Assertions.assertEquals(ROWS, ids.getInt(ROWS - 1));
+        Assertions.assertEquals(0, ids.getNullCount());
+
+        IntColumn nulls = result.intColumn(nullable);
+        BitSet expected = new BitSet();
+        for (int row : new int[] { 63, 64, 127, 1499 }) {
+            expected.set(row);
+            Assertions.assertTrue(nulls.isNull(row), "row " + row);
+            Assertions.assertNull(nulls.get(row));
+            Assertions.assertEquals(0, nulls.getInt(row));
+        }
+        Assertions.assertEquals(expected, nulls.getNulls());
+        Assertions.assertEquals(4, nulls.getNullCount());
+        Assertions.assertFalse(nulls.isNull(62));
+        Assertions.assertFalse(nulls.isNull(65));
+        Assertions.assertFalse(nulls.isNull(ROWS - 1));
+        Assertions.assertEquals(66, nulls.get(65));
+
+        LongColumn bigs = result.longColumn(big);
+        Assertions.assertEquals(ROWS * 10_000_000_000L, bigs.getLong(ROWS - 1));
+
+        DoubleColumn halves = result.doubleColumn(half);
+        Assertions.assertEquals(0.5, halves.getDouble(0));
+
+        StringColumn labels = result.stringColumn(label);
+        Assertions.assertEquals(Arrays.asList("v1", "v2", "v0"), labels.getDictionary());
+        Assertions.assertEquals(labels.getCode(0), labels.getCode(3));
+        Assertions.assertEquals("v2", labels.get(1));
+        Assertions.assertEquals(StringColumn.NULL_CODE, labels.getCode(99));
+        Assertions.assertNull(labels.get(99));
+        Assertions.assertEquals(ROWS / 100, labels.getNullCount());
+
+        ObjectColumn hexes = result.objectColumn(hex);
+        Assertions.assertEquals("7d0", hexes.get(ROWS - 1));
+        Assertions.assertEquals(ROWS, hexes.getValues().length);
+
+        ObjectColumn days = result.objectColumn(day);
+        Assertions.assertEquals(LocalDate.of(2020, 1, 1), days.get(ROWS - 1));
+    }
+
+    @Test
+    public void testWrongType() {
+        ColumnarResult result = ColumnarResult.fetch(dsl.select(X).from("system_range(1, 3)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> result.stringColumn(X));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> result.intColumn(X).getInt(3));
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkus.ext.jooq;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep2;
+import org.jooq.Record;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.stream.QueryStreams;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A cancelled subscription emits no more rows and releases its connection, the only one of the pool here
+ *
+ * @author Leo Tu
+ */
+public class CursorPublisherTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.datasource.jdbc.max-size", "1")
+            .overrideConfigKey("quarkus.datasource.jdbc.acquisition-timeout", "2S");
+
+    private static final QDepartments D = QDepartments.$;
+
+    private static final int ROWS = 100;
+
+    @Inject
+    DSLContext dsl;
+
+    ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        InsertValuesStep2<Record, String, String> insert = dsl.insertInto(D, D.deptNo, D.deptName);
+        for (int i = 0; i < ROWS; i++) {
+            insert.values(String.format("d%03d", i), "Department " + i);
+        }
+        insert.execute();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        List<Record> records = new CopyOnWriteArrayList<>();
+        AtomicReference<String> terminated = new AtomicReference<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        Flow.Publisher<Record> publisher = QueryStreams.of().publisher(dsl.selectFrom(D).orderBy(D.deptNo), executor);
+        publisher.subscribe(new Flow.Subscriber<Record>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(Record record) {
+                records.add(record);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                terminated.set("error: " + throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                terminated.set("complete");
+            }
+        });
+
+        subscription.get().request(3);
+        drain();
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertEquals("d002", records.get(2).get(D.deptNo));
+
+        subscription.get().cancel();
+        subscription.get().request(5);
+        drain();
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertNull(terminated.get());
+
+        // would time out if the cursor still held the connection
+        Assertions.assertEquals(ROWS, dsl.fetchCount(D));
+    }
+
+    /**
+     * Waits for the signals queued on the executor of the publisher
+     */
+    private void drain() throws Exception {
+        executor.submit(() -> {
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
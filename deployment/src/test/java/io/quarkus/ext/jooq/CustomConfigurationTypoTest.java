@@ -0,0 +1,38 @@
+package io.quarkus.ext.jooq;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A mistyped "quarkus.jooq.*.configuration" class fails the build, not the first injection
+ * 
+ * @author Leo Tu
+ */
+public class CustomConfigurationTypoTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MyCustomConfiguration1.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.configuration", "io.quarkus.ext.jooq.MyCustomConfigurationl")
+            .assertException(e -> {
+                Throwable cause = e;
+                while (cause != null && !(cause instanceof ConfigurationException)) {
+                    cause = cause.getCause();
+                }
+                Assertions.assertNotNull(cause, () -> "Not a ConfigurationException: " + e);
+                Assertions.assertTrue(cause.getMessage().contains("MyCustomConfigurationl"), cause.getMessage());
+            });
+
+    @Test
+    public void testBuildFails() {
+        Assertions.fail("The build should have failed");
+    }
+}
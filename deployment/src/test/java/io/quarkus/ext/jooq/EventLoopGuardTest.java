@@ -0,0 +1,118 @@
+package io.quarkus.ext.jooq;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer.DslContextQualifier;
+import io.quarkus.runtime.BlockingOperationControl;
+import io.quarkus.runtime.IOThreadDetector;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A query on an IO thread, where {@link BlockingOperationControl#isBlockingAllowed()} is false, fails with "fail" and
+ * is logged with the frame of its caller with "warn". The test thread plays the IO thread.
+ *
+ * @author Leo Tu
+ */
+public class EventLoopGuardTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.event-loop-guard", "fail")
+            .overrideConfigKey("quarkus.jooq.dsl1.dialect", "h2")
+            .overrideConfigKey("quarkus.jooq.dsl1.datasource", "datasource1")
+            .overrideConfigKey("quarkus.jooq.dsl1.event-loop-guard", "warn")
+            .overrideConfigKey("quarkus.datasource.datasource1.db-kind", "other")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.url", "jdbc:h2:mem:jooq;DB_CLOSE_DELAY=-1")
+            .overrideConfigKey("quarkus.datasource.datasource1.username", "sa");
+
+    private static final Logger logger = Logger.getLogger("io.quarkus.ext.jooq.sql");
+
+    private static volatile Thread ioThread;
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+
+    private final Handler handler = new Handler() {
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    @DslContextQualifier("dsl1")
+    DSLContext dsl1;
+
+    @BeforeEach
+    public void init() {
+        records.clear();
+        logger.addHandler(handler);
+        BlockingOperationControl.setIoThreadDetector(
+                new IOThreadDetector[] { () -> Thread.currentThread() == ioThread });
+    }
+
+    @AfterEach
+    public void reset() {
+        ioThread = null;
+        BlockingOperationControl.setIoThreadDetector(new IOThreadDetector[0]);
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    public void testFail() {
+        Assertions.assertEquals(1, dsl.select(DSL.inline(1)).fetchOne(0, Integer.class)); // a worker thread
+
+        ioThread = Thread.currentThread();
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> dsl.select(DSL.inline(1)).fetch());
+        Assertions.assertTrue(e.getMessage().startsWith("Blocking query (<default>) on IO thread "), e.getMessage());
+    }
+
+    @Test
+    public void testWarn() {
+        Assertions.assertEquals(1, dsl1.select(DSL.inline(1)).fetchOne(0, Integer.class));
+        Assertions.assertTrue(records.isEmpty(), records::toString);
+
+        ioThread = Thread.currentThread();
+        Assertions.assertEquals(2, dsl1.select(DSL.inline(2)).fetchOne(0, Integer.class));
+        Assertions.assertEquals(1, records.size(), records::toString);
+        LogRecord record = records.get(0);
+        Assertions.assertEquals(Level.WARNING.intValue(), record.getLevel().intValue());
+        Assertions.assertTrue(record.getMessage().startsWith("Blocking query (dsl1) on IO thread "),
+                record.getMessage());
+        Assertions.assertTrue(record.getMessage().contains(
+                " at " + EventLoopGuardTest.class.getName() + ".testWarn(EventLoopGuardTest.java:"),
+                record.getMessage());
+    }
+}
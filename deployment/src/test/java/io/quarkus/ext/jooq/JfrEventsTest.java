@@ -0,0 +1,92 @@
+package io.quarkus.ext.jooq;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.test.QuarkusUnitTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The QueryExecuted and RowsFetched events of a recording carry the context name and the fingerprint of the query
+ *
+ * @author Leo Tu
+ */
+public class JfrEventsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.jfr", "true");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    @Test
+    public void testEvents() throws Exception {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("jooq", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.quarkus.ext.jooq.QueryExecuted");
+            recording.enable("io.quarkus.ext.jooq.RowsFetched");
+            recording.start();
+            dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+            dsl.insertInto(D).set(D.deptNo, "d002").set(D.deptName, "Research").execute();
+            Assertions.assertEquals(1, dsl.selectFrom(D).where(D.deptNo.eq("d002")).fetch().size());
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        List<RecordedEvent> executed = events.stream()
+                .filter(e -> e.getEventType().getName().equals("io.quarkus.ext.jooq.QueryExecuted"))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(3, executed.size(), executed::toString);
+        for (RecordedEvent event : executed) {
+            Assertions.assertEquals("<default>", event.getString("contextName"));
+            Assertions.assertFalse(event.getBoolean("failed"));
+        }
+        // both inserts share one fingerprint
+        Assertions.assertEquals(executed.get(0).getString("fingerprint"), executed.get(1).getString("fingerprint"));
+        Assertions.assertTrue(executed.get(0).getString("fingerprint").startsWith("insert into "),
+                executed.get(0).getString("fingerprint"));
+        Assertions.assertEquals("WRITE", executed.get(0).getString("statementType"));
+        Assertions.assertEquals(1, executed.get(0).getInt("rows"));
+
+        String select = executed.get(2).getString("fingerprint");
+        Assertions.assertTrue(select.startsWith("select ") && select.endsWith(" = ?"), select);
+        Assertions.assertEquals("READ", executed.get(2).getString("statementType"));
+
+        List<RecordedEvent> fetched = events.stream()
+                .filter(e -> e.getEventType().getName().equals("io.quarkus.ext.jooq.RowsFetched"))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(1, fetched.size(), fetched::toString);
+        Assertions.assertEquals("<default>", fetched.get(0).getString("contextName"));
+        Assertions.assertEquals(select, fetched.get(0).getString("fingerprint"));
+        Assertions.assertEquals(1, fetched.get(0).getInt("rows"));
+    }
+}
@@ -0,0 +1,164 @@
+package io.quarkus.ext.jooq;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.InsertValuesStep4;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDeptEmp;
+import io.quarkus.ext.jooq.runtime.page.KeysetPaginator;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The pages seek after the composite key of the last row, the prefetched pages are fetched ahead of the current one
+ * and cancelled by close()
+ *
+ * @author Leo Tu
+ */
+public class KeysetPaginatorTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDeptEmp.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties");
+
+    private static final QDeptEmp DE = QDeptEmp.$;
+
+    private static final int EMPLOYEES = 10;
+
+    private static final String[] DEPARTMENTS = { "d001", "d002", "d003" };
+
+    @Inject
+    DSLContext dsl;
+
+    final AtomicInteger selects = new AtomicInteger();
+
+    DSLContext counting;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(DE).columns(DE.fields()).constraints(DE.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(DE).execute();
+        InsertValuesStep4<Record, Integer, String, LocalDate, LocalDate> insert = dsl.insertInto(DE, DE.empNo,
+                DE.deptNo, DE.fromDate, DE.toDate);
+        for (int i = EMPLOYEES; i > 0; i--) { // not in the key order
+            for (String deptNo : DEPARTMENTS) {
+                insert.values(i, deptNo, LocalDate.of(1990, 1, 1), LocalDate.of(9999, 1, 1));
+            }
+        }
+        insert.execute();
+        selects.set(0);
+        counting = dsl.configuration().derive(new DefaultExecuteListenerProvider(new DefaultExecuteListener() {
+            @Override
+            public void executeEnd(ExecuteContext ctx) {
+                selects.incrementAndGet();
+            }
+        })).dsl();
+    }
+
+    @Test
+    public void testSeek() {
+        List<Integer> sizes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        try (KeysetPaginator<Record> pages = KeysetPaginator.of(counting, DE).pageSize(7)) {
+            for (Result<Record> page : pages) {
+                sizes.add(page.size());
+                for (Record record : page) {
+                    keys.add(record.get(DE.empNo) + "/" + record.get(DE.deptNo));
+                }
+            }
+        }
+        // the pages end in the middle of the departments of an employee
+        Assertions.assertEquals(Arrays.asList(7, 7, 7, 7, 2), sizes);
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            for (String deptNo : DEPARTMENTS) {
+                expected.add(i + "/" + deptNo);
+            }
+        }
+        Assertions.assertEquals(expected, keys);
+        Assertions.assertEquals(5, selects.get(), "no query after the partial page");
+    }
+
+    @Test
+    public void testFullLastPage() {
+        List<Integer> sizes = new ArrayList<>();
+        try (KeysetPaginator<Record> pages = KeysetPaginator.of(dsl, DE).pageSize(10).prefetch(0)) {
+            for (Result<Record> page : pages) {
+                sizes.add(page.size());
+            }
+        }
+        Assertions.assertEquals(Arrays.asList(10, 10, 10), sizes);
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        try (KeysetPaginator<Record> pages = KeysetPaginator.of(counting, DE).pageSize(3).prefetch(2)) {
+            Iterator<Result<Record>> iterator = pages.iterator();
+            Assertions.assertEquals(3, iterator.next().size());
+            awaitSelects(3); // the current page and two ahead
+            Thread.sleep(200);
+            Assertions.assertEquals(3, selects.get());
+
+            Assertions.assertEquals(3, iterator.next().size());
+            awaitSelects(4);
+            Thread.sleep(200);
+            Assertions.assertEquals(4, selects.get());
+        }
+    }
+
+    @Test
+    public void testCloseCancels() {
+        List<Runnable> tasks = Collections.synchronizedList(new ArrayList<>());
+        KeysetPaginator<Record> pages = KeysetPaginator.of(counting, DE).pageSize(3).prefetch(2).executor(tasks::add);
+        Iterator<Result<Record>> iterator = pages.iterator();
+        runAll(tasks);
+        Assertions.assertEquals(1, selects.get());
+
+        // the first page is fetched, the next one is queued, the one after it waits for it
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertEquals(1, tasks.size());
+        pages.close();
+        runAll(tasks);
+        Assertions.assertEquals(1, selects.get(), "a cancelled page was fetched");
+        Assertions.assertEquals(3, iterator.next().size());
+        Assertions.assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    private void awaitSelects(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (selects.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(count, selects.get());
+    }
+
+    private static void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
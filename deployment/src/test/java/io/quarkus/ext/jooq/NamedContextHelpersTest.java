@@ -0,0 +1,150 @@
+package io.quarkus.ext.jooq;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.cache.ResultCache;
+import io.quarkus.ext.jooq.runtime.export.ResultExports;
+import io.quarkus.ext.jooq.runtime.loader.BatchLoaders;
+import io.quarkus.ext.jooq.runtime.spill.ResultSpills;
+import io.quarkus.ext.jooq.runtime.spill.SpilledResult;
+import io.quarkus.ext.jooq.runtime.stream.QueryStreams;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The helpers of a named DSLContext are available before its bean has been used, "dsl1" is never injected here
+ *
+ * @author Leo Tu
+ */
+public class NamedContextHelpersTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.dsl1.dialect", "h2")
+            .overrideConfigKey("quarkus.jooq.dsl1.datasource", "datasource1")
+            .overrideConfigKey("quarkus.datasource.datasource1.db-kind", "other")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.datasource1.jdbc.url", "jdbc:h2:mem:jooq;DB_CLOSE_DELAY=-1")
+            .overrideConfigKey("quarkus.datasource.datasource1.username", "sa")
+            .overrideConfigKey("quarkus.jooq.dsl1.result-cache.enabled", "true")
+            .overrideConfigKey("quarkus.jooq.dsl1.spill.max-rows", "1");
+
+    private static final QDepartments D = QDepartments.$;
+
+    /**
+     * The default DSLContext, on the same database
+     */
+    @Inject
+    DSLContext dsl;
+
+    @Test
+    public void testBatchLoaders() {
+        BatchLoaders loaders = BatchLoaders.of("dsl1");
+        Assertions.assertEquals("dsl1", loaders.getContextName());
+        Assertions.assertSame(loaders, BatchLoaders.of("dsl1"));
+        Assertions.assertThrows(IllegalStateException.class, () -> BatchLoaders.of("dsl9"));
+    }
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+        dsl.insertInto(D).set(D.deptNo, "d002").set(D.deptName, "Sales").execute();
+    }
+
+    @Test
+    public void testQueryStreams() throws Exception {
+        QueryStreams streams = QueryStreams.of("dsl1");
+        Assertions.assertEquals("dsl1", streams.getContextName());
+        Assertions.assertEquals(2, collect(streams.publisher(dsl.selectFrom(D))).size());
+        Assertions.assertEquals(2, collect(streams.publisher(dsl.selectFrom(D))).size());
+        ResultCache cache = ResultCache.of("dsl1");
+        Assertions.assertEquals(0, cache.getMisses() + cache.getHits()); // the streams bypass the result cache
+    }
+
+    @Test
+    public void testResultSpills() {
+        ResultSpills spills = ResultSpills.of("dsl1");
+        Assertions.assertEquals("dsl1", spills.getContextName());
+        try (SpilledResult<Record2<String, String>> result = spills
+                .fetch(dsl.select(D.deptNo, D.deptName).from(D).orderBy(D.deptNo))) {
+            Assertions.assertTrue(result.isSpilled());
+            Assertions.assertEquals(2, result.size());
+            Assertions.assertEquals(1, result.getSpilledRows());
+            Assertions.assertEquals(Arrays.asList("Development", "Sales"),
+                    result.stream().map(Record2::value2).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testResultExports() {
+        ResultExports exports = ResultExports.of("dsl1");
+        Assertions.assertEquals("dsl1", exports.getContextName());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exports.json(dsl.select(D.deptNo, DSL.inline(new byte[] { 1, 2, 3 }).as("bytes")).from(D)
+                .where(D.deptNo.eq("d001")), out);
+        Assertions.assertEquals("[{\"dept_no\":\"d001\",\"bytes\":\"AQID\"}]",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        out.reset();
+        exports.csv(dsl.select(D.deptNo, DSL.inline(new byte[] { 1, 2, 3 }).as("bytes")).from(D).orderBy(D.deptNo),
+                out);
+        Assertions.assertEquals("dept_no,bytes\nd001,AQID\nd002,AQID\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static <R extends Record> List<R> collect(Flow.Publisher<R> publisher) throws Exception {
+        List<R> records = new CopyOnWriteArrayList<>();
+        CompletableFuture<List<R>> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<R>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(R record) {
+                records.add(record);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(records);
+            }
+        });
+        return done.get(10, TimeUnit.SECONDS);
+    }
+}
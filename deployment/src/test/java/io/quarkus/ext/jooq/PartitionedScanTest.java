@@ -0,0 +1,124 @@
+package io.quarkus.ext.jooq;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep6;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.enums.EmployeesGender;
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.runtime.scan.PartitionedScan;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The partitions read all the rows once, no more of them run at once than the datasource has connections, and the
+ * first failing partition fails the scan without waiting for the others
+ *
+ * @author Leo Tu
+ */
+public class PartitionedScanTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QEmployees.class, EmployeesGender.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.datasource.jdbc.max-size", "2");
+
+    private static final QEmployees E = QEmployees.$;
+
+    private static final int ROWS = 100;
+
+    @Inject
+    DSLContext dsl;
+
+    ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(E).columns(E.fields()).constraints(E.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(E).execute();
+        InsertValuesStep6<Record, Integer, LocalDate, String, String, EmployeesGender, LocalDate> insert = dsl
+                .insertInto(E, E.empNo, E.birthDate, E.firstName, E.lastName, E.gender, E.hireDate);
+        for (int i = 1; i <= ROWS; i++) {
+            insert.values(i, LocalDate.of(1960, 1, 1), "First" + i, "Last" + i, EmployeesGender.M,
+                    LocalDate.of(1990, 1, 1));
+        }
+        insert.execute();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFetch() {
+        Result<Record> result = PartitionedScan.of(dsl, E).partitions(4).executor(executor).fetch();
+        Assertions.assertEquals(ROWS, result.size());
+        for (int i = 0; i < ROWS; i++) {
+            Assertions.assertEquals(i + 1, result.get(i).get(E.empNo));
+        }
+
+        AtomicLong sum = new AtomicLong();
+        Assertions.assertEquals(ROWS, PartitionedScan.of(dsl, E).partitions(4).executor(executor)
+                .forEach(record -> sum.addAndGet(record.get(E.empNo))));
+        Assertions.assertEquals(ROWS * (ROWS + 1) / 2, sum.get());
+    }
+
+    @Test
+    public void testBounded() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Assertions.assertEquals(ROWS, PartitionedScan.of(dsl, E).partitions(8).executor(executor)
+                .forEach(record -> threads.add(Thread.currentThread().getName())));
+        Assertions.assertTrue(threads.size() <= 2, threads.toString());
+    }
+
+    @Test
+    public void testFailFast() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try {
+            IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                    () -> PartitionedScan.of(dsl, E).partitions(4).executor(executor).forEach(record -> {
+                        int empNo = record.get(E.empNo);
+                        if (empNo == 1) {
+                            throw new IllegalStateException("failed: " + empNo);
+                        }
+                        if (empNo > ROWS * 3 / 4) { // the last partition blocks
+                            try {
+                                never.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException ie) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }));
+            Assertions.assertEquals("failed: 1", e.getMessage());
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5),
+                    "waited for the blocked partition");
+        } finally {
+            never.countDown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.ext.jooq;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DefaultRecordMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.enums.EmployeesGender;
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.demo.tables.pojos.Employees;
+import io.quarkus.ext.jooq.runtime.mapper.AbstractPojoRecordMapper;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordMapperProvider;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The build time generated RecordMapper gives the same results as jOOQ's reflective one
+ * 
+ * @author Leo Tu
+ */
+public class PojoMapperTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource("h2.properties", "application.properties")
+                    .addClasses(Employees.class, QEmployees.class, EmployeesGender.class,
+                            DefaultCatalog.class, DefaultSchema.class));
+
+    @Inject
+    DSLContext dsl;
+
+    @Test
+    public void testMapper() {
+        QEmployees e = QEmployees.$;
+        dsl.createTableIfNotExists(e).columns(e.fields()).constraints(e.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(e).execute();
+        dsl.insertInto(e).columns(e.fields())
+                .values(1, LocalDate.of(1960, 1, 2), "Georgi", "Facello", EmployeesGender.M, LocalDate.of(1986, 6, 26))
+                .values(2, LocalDate.of(1964, 6, 2), "Bezalel", "Simmel", EmployeesGender.F, LocalDate.of(1985, 11, 21))
+                .execute();
+
+        Assertions.assertTrue(dsl.configuration().recordMapperProvider() instanceof PojoRecordMapperProvider);
+        Result<Record> records = dsl.selectFrom(e).orderBy(e.empNo).fetch();
+        Assertions.assertTrue(dsl.configuration().recordMapperProvider().provide(records.recordType(),
+                Employees.class) instanceof AbstractPojoRecordMapper);
+
+        List<Employees> generated = records.into(Employees.class);
+        DefaultRecordMapper<Record, Employees> reflective = new DefaultRecordMapper<>(records.recordType(),
+                Employees.class);
+        Assertions.assertEquals(2, generated.size());
+        for (int i = 0; i < records.size(); i++) {
+            Assertions.assertEquals(reflective.map(records.get(i)).toString(), generated.get(i).toString());
+        }
+
+        // a projection in another order, with a missing column
+        Result<Record> projected = dsl.select(Arrays.asList(e.lastName, e.empNo, e.gender)).from(e)
+                .orderBy(e.empNo).fetch();
+        DefaultRecordMapper<Record, Employees> projectedReflective = new DefaultRecordMapper<>(
+                projected.recordType(), Employees.class);
+        List<Employees> projectedGenerated = projected.into(Employees.class);
+        for (int i = 0; i < projected.size(); i++) {
+            Assertions.assertEquals(projectedReflective.map(projected.get(i)).toString(),
+                    projectedGenerated.get(i).toString());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.quarkus.ext.jooq;
+
+import java.time.LocalDate;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DefaultRecordUnmapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.enums.EmployeesGender;
+import io.quarkus.ext.jooq.demo.tables.QEmployees;
+import io.quarkus.ext.jooq.demo.tables.pojos.Employees;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordUnmapperProvider;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The build time generated RecordUnmapper gives the same values and changed flags as jOOQ's reflective one
+ * 
+ * @author Leo Tu
+ */
+public class PojoUnmapperTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource("h2.properties", "application.properties")
+                    .addClasses(Employees.class, QEmployees.class, EmployeesGender.class,
+                            DefaultCatalog.class, DefaultSchema.class));
+
+    @Inject
+    DSLContext dsl;
+
+    @Test
+    public void testUnmapper() {
+        QEmployees e = QEmployees.$;
+        Assertions.assertTrue(dsl.configuration().recordUnmapperProvider() instanceof PojoRecordUnmapperProvider);
+        Employees pojo = new Employees(3, LocalDate.of(1959, 12, 3), "Parto", "Bamford", EmployeesGender.M,
+                LocalDate.of(1986, 8, 28));
+
+        Record generated = dsl.newRecord(e, pojo);
+        Record reflective = new DefaultRecordUnmapper<Employees, Record>(Employees.class, e.recordType(),
+                dsl.configuration()).unmap(pojo);
+        Assertions.assertEquals(reflective, generated);
+        for (int i = 0; i < e.fields().length; i++) {
+            Assertions.assertEquals(reflective.changed(i), generated.changed(i), e.field(i).getName());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.ext.jooq;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.transaction.UserTransaction;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Only the jOOQ SELECTs without a locking clause, outside of transactions, read from the replica
+ *
+ * @author Leo Tu
+ */
+public class ReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.dsl1.dialect", "h2")
+            .overrideConfigKey("quarkus.jooq.dsl1.datasource", "primary")
+            .overrideConfigKey("quarkus.jooq.dsl1.replicas", "r1")
+            .overrideConfigKey("quarkus.datasource.primary.db-kind", "other")
+            .overrideConfigKey("quarkus.datasource.primary.jdbc.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.primary.jdbc.url", PRIMARY_URL)
+            .overrideConfigKey("quarkus.datasource.primary.username", "sa")
+            .overrideConfigKey("quarkus.datasource.r1.db-kind", "other")
+            .overrideConfigKey("quarkus.datasource.r1.jdbc.driver", "org.h2.Driver")
+            .overrideConfigKey("quarkus.datasource.r1.jdbc.url", REPLICA_URL)
+            .overrideConfigKey("quarkus.datasource.r1.username", "sa");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    @Named("dsl1")
+    DSLContext dsl1;
+
+    @Inject
+    UserTransaction transaction;
+
+    @BeforeEach
+    public void init() throws Exception {
+        for (String url : new String[] { PRIMARY_URL, REPLICA_URL }) {
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                    Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists departments"
+                        + " (dept_no char(4) primary key, dept_name varchar(40))");
+                statement.execute("delete from departments");
+                statement.execute("insert into departments values ('d001', '"
+                        + (PRIMARY_URL.equals(url) ? "primary" : "replica") + "')");
+            }
+        }
+    }
+
+    @Test
+    public void testRouting() throws Exception {
+        Assertions.assertEquals("replica", dsl1.select(D.deptName).from(D).fetchOne(D.deptName));
+        Assertions.assertEquals("primary", dsl1.select(D.deptName).from(D).forUpdate().fetchOne(D.deptName));
+        Assertions.assertEquals("primary", dsl1.resultQuery("select dept_name from departments").fetchOne(0));
+
+        transaction.begin();
+        try {
+            Assertions.assertEquals("primary", dsl1.select(D.deptName).from(D).fetchOne(D.deptName));
+        } finally {
+            transaction.commit();
+        }
+    }
+
+    @Test
+    public void testLocking() {
+        Assertions.assertTrue(SqlTables.isLocking("select * from t for update"));
+        Assertions.assertTrue(SqlTables.isLocking("select * from t for no key update"));
+        Assertions.assertTrue(SqlTables.isLocking("select * from t for share"));
+        Assertions.assertTrue(SqlTables.isLocking("select * from t for key share"));
+        Assertions.assertFalse(SqlTables.isLocking("select * from t"));
+    }
+}
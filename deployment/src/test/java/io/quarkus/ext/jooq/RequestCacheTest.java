@@ -0,0 +1,126 @@
+package io.quarkus.ext.jooq;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+import javax.inject.Inject;
+import javax.transaction.UserTransaction;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A SELECT repeated within a request or a transaction returns the memoized result, even though the row was changed
+ * behind the back of the DSLContext, until the DSLContext writes to the table. Outside of both nothing is memoized.
+ *
+ * @author Leo Tu
+ */
+public class RequestCacheTest {
+
+    /**
+     * The database of h2.properties
+     */
+    private static final String URL = "jdbc:h2:mem:jooq;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.request-cache", "true");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    UserTransaction transaction;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+    }
+
+    private String deptName() {
+        return dsl.select(D.deptName).from(D).where(D.deptNo.eq("d001")).fetchOne(D.deptName);
+    }
+
+    /**
+     * Renames on a connection of its own, unseen by the DSLContext
+     */
+    private void renameBehind(String name) throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            DSL.using(connection, SQLDialect.H2, dsl.settings()).update(D).set(D.deptName, name)
+                    .where(D.deptNo.eq("d001")).execute();
+        }
+    }
+
+    private void rename(String name) {
+        dsl.update(D).set(D.deptName, name).where(D.deptNo.eq("d001")).execute();
+    }
+
+    @Test
+    public void testRequest() throws Exception {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            Assertions.assertEquals("Development", deptName());
+            renameBehind("Research");
+            Assertions.assertEquals("Development", deptName()); // memoized
+
+            rename("Sales");
+            Assertions.assertEquals("Sales", deptName());
+        } finally {
+            requestContext.terminate();
+        }
+
+        requestContext.activate();
+        try {
+            renameBehind("Marketing");
+            Assertions.assertEquals("Marketing", deptName()); // a new request
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        transaction.begin();
+        try {
+            Assertions.assertEquals("Development", deptName());
+            renameBehind("Research");
+            Assertions.assertEquals("Development", deptName()); // memoized
+
+            rename("Sales");
+            Assertions.assertEquals("Sales", deptName());
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals("Sales", deptName());
+    }
+
+    @Test
+    public void testNoScope() throws Exception {
+        Assertions.assertFalse(Arc.container().requestContext().isActive());
+        Assertions.assertEquals("Development", deptName());
+        renameBehind("Research");
+        Assertions.assertEquals("Research", deptName());
+    }
+}
@@ -0,0 +1,138 @@
+package io.quarkus.ext.jooq;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+import javax.transaction.UserTransaction;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.cache.ResultCache;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The result cache never serves rows that were not committed, nor the rows overwritten by a commit
+ *
+ * @author Leo Tu
+ */
+public class ResultCacheInvalidationTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.result-cache.enabled", "true");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    UserTransaction transaction;
+
+    ResultCache cache;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+        cache = ResultCache.of(AbstractDslContextProducer.DEFAULT_NAME);
+        cache.invalidateAll();
+    }
+
+    private String deptName() {
+        return dsl.select(D.deptName).from(D).where(D.deptNo.eq("d001")).fetchOne(D.deptName);
+    }
+
+    private String deptNameOnOtherThread() {
+        return CompletableFuture.supplyAsync(this::deptName).join();
+    }
+
+    private void rename(DSLContext ctx, String name) {
+        ctx.update(D).set(D.deptName, name).where(D.deptNo.eq("d001")).execute();
+    }
+
+    @Test
+    public void testWriteThenRead() throws Exception {
+        Assertions.assertEquals("Development", deptName());
+        long hits = cache.getHits();
+        Assertions.assertEquals("Development", deptName());
+        Assertions.assertEquals(hits + 1, cache.getHits());
+
+        rename(dsl, "Research");
+        Assertions.assertEquals("Research", deptName());
+
+        transaction.begin();
+        try {
+            Assertions.assertEquals("Research", deptName());
+            rename(dsl, "Sales");
+            Assertions.assertEquals("Sales", deptName());
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals("Sales", deptName());
+        Assertions.assertEquals("Sales", deptName());
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        Assertions.assertEquals("Development", deptName());
+        transaction.begin();
+        try {
+            rename(dsl, "Research");
+            Assertions.assertEquals("Research", deptName());
+            Assertions.assertEquals("Research", deptName());
+        } finally {
+            transaction.rollback();
+        }
+        Assertions.assertEquals("Development", deptName());
+        Assertions.assertEquals("Development", deptName());
+
+        try {
+            dsl.transaction(configuration -> {
+                rename(DSL.using(configuration), "Research");
+                Assertions.assertEquals("Research",
+                        DSL.using(configuration).select(D.deptName).from(D).fetchOne(D.deptName));
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException e) {
+            // rolled back
+        }
+        Assertions.assertEquals("Development", deptName());
+    }
+
+    @Test
+    public void testConcurrentReader() throws Exception {
+        transaction.begin();
+        try {
+            rename(dsl, "Research");
+            // caches the committed row while the write is pending
+            Assertions.assertEquals("Development", deptNameOnOtherThread());
+            Assertions.assertEquals("Development", deptNameOnOtherThread());
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals("Research", deptNameOnOtherThread());
+
+        dsl.transaction(configuration -> {
+            rename(DSL.using(configuration), "Sales");
+            Assertions.assertEquals("Research", deptNameOnOtherThread());
+        });
+        Assertions.assertEquals("Sales", deptNameOnOtherThread());
+        Assertions.assertEquals("Sales", deptName());
+    }
+}
@@ -0,0 +1,85 @@
+package io.quarkus.ext.jooq;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * With a threshold of 0 and a sample rate of 1 every statement is logged as slow, with its SQL and bind values
+ *
+ * @author Leo Tu
+ */
+public class SlowQueryLogTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.slow-query-threshold", "0S")
+            .overrideConfigKey("quarkus.jooq.slow-query-sample-rate", "1");
+
+    private static final Logger logger = Logger.getLogger("io.quarkus.ext.jooq.sql");
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+
+    private final Handler handler = new Handler() {
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Inject
+    DSLContext dsl;
+
+    @BeforeEach
+    public void addHandler() {
+        records.clear();
+        logger.addHandler(handler);
+    }
+
+    @AfterEach
+    public void removeHandler() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    public void testWarn() {
+        Assertions.assertEquals(42, dsl.select(DSL.val(42)).fetchOne(0, Integer.class));
+
+        Assertions.assertEquals(1, records.size(), records::toString);
+        LogRecord record = records.get(0);
+        Assertions.assertEquals(Level.WARNING.intValue(), record.getLevel().intValue());
+        String message = MessageFormat.format(record.getMessage(), record.getParameters());
+        Assertions.assertTrue(message.startsWith("Slow query (<default>): "), message);
+        Assertions.assertTrue(message.contains("select cast(? as int)"), message);
+        Assertions.assertTrue(message.endsWith("bind values: [42]"), message);
+    }
+}
@@ -0,0 +1,38 @@
+package io.quarkus.ext.jooq;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * A "slow-query-sample-rate" outside of 0..1 fails the build
+ * 
+ * @author Leo Tu
+ */
+public class SlowQuerySampleRateTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.slow-query-threshold", "1S")
+            .overrideConfigKey("quarkus.jooq.slow-query-sample-rate", "1.5")
+            .assertException(e -> {
+                Throwable cause = e;
+                while (cause != null && !(cause instanceof ConfigurationException)) {
+                    cause = cause.getCause();
+                }
+                Assertions.assertNotNull(cause, () -> "Not a ConfigurationException: " + e);
+                Assertions.assertTrue(cause.getMessage().contains("slow-query-sample-rate"), cause.getMessage());
+            });
+
+    @Test
+    public void testBuildFails() {
+        Assertions.fail("The build should have failed");
+    }
+}
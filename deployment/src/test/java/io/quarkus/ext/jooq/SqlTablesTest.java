@@ -0,0 +1,61 @@
+package io.quarkus.ext.jooq;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jooq.impl.TableImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.ext.jooq.runtime.table.JooqTables;
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+
+/**
+ * Tables of the same name in two schemas are told apart by their qualified names
+ *
+ * @author Leo Tu
+ */
+public class SqlTablesTest {
+
+    @BeforeAll
+    public static void register() {
+        JooqTables.register(SalesItems.class.getName());
+        JooqTables.register(StockItems.class.getName());
+        JooqTables.register("io.quarkus.ext.jooq.MissingTable");
+    }
+
+    @Test
+    public void testQualified() {
+        Assertions.assertEquals("sales.items", JooqTables.nameOf(JooqTables.byClass(SalesItems.class)));
+        Assertions.assertSame(JooqTables.byClass(StockItems.class), JooqTables.byName("STOCK.ITEMS"));
+        Assertions.assertNull(JooqTables.byClassName("io.quarkus.ext.jooq.MissingTable"));
+
+        Assertions.assertEquals(Collections.singleton("sales.items"),
+                SqlTables.of("update \"sales\".\"items\" set \"sales\".\"items\".\"qty\" = 1"));
+        Assertions.assertEquals(Collections.singleton("stock.items"),
+                SqlTables.of("select stock.items.qty from stock.items where stock.items.name = 'sales.items'"));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("sales.items", "stock.items")),
+                SqlTables.of("delete from `items` where qty = 0"));
+        Assertions.assertEquals(Collections.emptySet(), SqlTables.of("select * from orders"));
+    }
+
+    public static class SalesItems extends TableImpl<Record> {
+        private static final long serialVersionUID = 1L;
+
+        public SalesItems() {
+            super(DSL.name("items"), DSL.schema(DSL.name("sales")));
+        }
+    }
+
+    public static class StockItems extends TableImpl<Record> {
+        private static final long serialVersionUID = 1L;
+
+        public StockItems() {
+            super(DSL.name("items"), DSL.schema(DSL.name("stock")));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.quarkus.ext.jooq;
+
+import java.util.Arrays;
+
+import javax.inject.Inject;
+import javax.transaction.UserTransaction;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.ext.jooq.runtime.mirror.TableMirror;
+import io.quarkus.ext.jooq.runtime.mirror.TableMirrors;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The mirrored tables are reloaded after the committed writes, batches included, and only then
+ *
+ * @author Leo Tu
+ */
+public class TableMirrorReloadTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.mirrored-tables", QDepartments.class.getName());
+
+    private static final QDepartments D = QDepartments.$;
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    UserTransaction transaction;
+
+    TableMirror<Record> mirror;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        dsl.insertInto(D).set(D.deptNo, "d001").set(D.deptName, "Development").execute();
+        mirror = TableMirrors.of().get(QDepartments.class);
+        mirror.load();
+    }
+
+    private String mirroredName() {
+        Record record = mirror.get("d001");
+        return record == null ? null : record.get(D.deptName);
+    }
+
+    private void awaitMirroredName(String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!expected.equals(mirroredName()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(expected, mirroredName());
+    }
+
+    private void rename(DSLContext ctx, String name) {
+        ctx.update(D).set(D.deptName, name).where(D.deptNo.eq("d001")).execute();
+    }
+
+    @Test
+    public void testCommit() throws Exception {
+        rename(dsl, "Research");
+        awaitMirroredName("Research");
+
+        transaction.begin();
+        try {
+            rename(dsl, "Sales");
+        } finally {
+            transaction.commit();
+        }
+        awaitMirroredName("Sales");
+
+        dsl.transaction(configuration -> rename(DSL.using(configuration), "Marketing"));
+        awaitMirroredName("Marketing");
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        dsl.batch(Arrays.asList(
+                dsl.update(D).set(D.deptName, "Research").where(D.deptNo.eq("d001")),
+                dsl.insertInto(D).set(D.deptNo, "d002").set(D.deptName, "Sales"))).execute();
+        awaitMirroredName("Research");
+        Assertions.assertEquals(2, mirror.size());
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        Thread.sleep(200); // the reloads after the writes of init()
+        long loadedAt = mirror.getLoadedAt();
+        transaction.begin();
+        try {
+            rename(dsl, "Research");
+        } finally {
+            transaction.rollback();
+        }
+        try {
+            dsl.transaction(configuration -> {
+                rename(DSL.using(configuration), "Research");
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException e) {
+            // rolled back
+        }
+        Thread.sleep(200); // a reload would run in the background
+        Assertions.assertEquals(loadedAt, mirror.getLoadedAt());
+        Assertions.assertEquals("Development", mirroredName());
+    }
+}
@@ -0,0 +1,194 @@
+package io.quarkus.ext.jooq;
+
+import java.sql.Statement;
+
+import javax.inject.Inject;
+import javax.transaction.RollbackException;
+import javax.transaction.UserTransaction;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jooq.DSLContext;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+import org.jooq.impl.UpdatableRecordImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.ext.jooq.demo.DefaultCatalog;
+import io.quarkus.ext.jooq.demo.DefaultSchema;
+import io.quarkus.ext.jooq.demo.tables.QDepartments;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The DML buffered by a JTA transaction is executed before the next SELECT, and at commit. RETURNING and the
+ * UpdatableRecord executions are not buffered.
+ *
+ * @author Leo Tu
+ */
+public class TransactionBatchingTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(QDepartments.class, DefaultCatalog.class, DefaultSchema.class, Tags.class,
+                            TagsRecord.class))
+            .withConfigurationResource("h2.properties")
+            .overrideConfigKey("quarkus.jooq.transaction-batching", "true")
+            .overrideConfigKey("quarkus.jooq.transaction-batch-size", "10");
+
+    private static final QDepartments D = QDepartments.$;
+
+    @Inject
+    DSLContext dsl;
+
+    @Inject
+    UserTransaction transaction;
+
+    @BeforeEach
+    public void init() {
+        dsl.createTableIfNotExists(D).columns(D.fields()).constraints(D.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(D).execute();
+        dsl.createTableIfNotExists(Tags.TAGS).columns(Tags.TAGS.fields())
+                .constraints(Tags.TAGS.getPrimaryKey().constraint()).execute();
+        dsl.deleteFrom(Tags.TAGS).execute();
+    }
+
+    private int insert(String deptNo) {
+        return dsl.insertInto(D).set(D.deptNo, deptNo).set(D.deptName, "Department " + deptNo).execute();
+    }
+
+    @Test
+    public void testFlushBeforeSelect() throws Exception {
+        transaction.begin();
+        try {
+            Assertions.assertEquals(Statement.SUCCESS_NO_INFO, insert("d001"));
+            Assertions.assertEquals(Statement.SUCCESS_NO_INFO, insert("d002"));
+            Assertions.assertEquals(Statement.SUCCESS_NO_INFO, insert("d003"));
+            Assertions.assertEquals(3, dsl.fetchCount(D));
+
+            Assertions.assertEquals(Statement.SUCCESS_NO_INFO,
+                    dsl.update(D).set(D.deptName, "Sales").where(D.deptNo.eq("d001")).execute());
+            Assertions.assertEquals("Sales", dsl.select(D.deptName).from(D).where(D.deptNo.eq("d001"))
+                    .fetchOne(D.deptName));
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals(3, dsl.fetchCount(D));
+    }
+
+    @Test
+    public void testFlushAtCommit() throws Exception {
+        transaction.begin();
+        try {
+            for (int i = 1; i <= 15; i++) { // one full batch, the rest at commit
+                insert(String.format("d%03d", i));
+            }
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals(15, dsl.fetchCount(D));
+
+        // outside of transactions nothing is batched
+        Assertions.assertEquals(1, insert("d016"));
+        Assertions.assertEquals(16, dsl.fetchCount(D));
+    }
+
+    @Test
+    public void testFailureAtCommit() throws Exception {
+        insert("d001");
+        transaction.begin();
+        insert("d002");
+        insert("d001"); // duplicate key, only seen by the commit
+        Assertions.assertThrows(RollbackException.class, transaction::commit);
+        Assertions.assertEquals(1, dsl.fetchCount(D));
+    }
+
+    @Test
+    public void testReturning() throws Exception {
+        transaction.begin();
+        try {
+            insert("d001");
+            Assertions.assertEquals(1, dsl.insertInto(D).set(D.deptNo, "d002").set(D.deptName, "Sales")
+                    .returning(D.deptNo).execute());
+            Assertions.assertEquals(2, dsl.fetchCount(D));
+        } finally {
+            transaction.commit();
+        }
+    }
+
+    @Test
+    public void testStoreRecord() throws Exception {
+        transaction.begin();
+        try {
+            insert("d001");
+            TagsRecord record = dsl.newRecord(Tags.TAGS);
+            record.setValue(Tags.TAGS.NAME, "a");
+            record.setValue(Tags.TAGS.QTY, 1);
+            Assertions.assertEquals(1, record.store());
+            Assertions.assertEquals(0, record.store()); // not inserted twice
+            record.setValue(Tags.TAGS.QTY, 2);
+            Assertions.assertEquals(1, record.store());
+            TagsRecord other = dsl.newRecord(Tags.TAGS);
+            other.setValue(Tags.TAGS.NAME, "b");
+            Assertions.assertEquals(1, other.insert());
+            Assertions.assertEquals(1, dsl.fetchOne(Tags.TAGS, Tags.TAGS.NAME.eq("b")).delete());
+        } finally {
+            transaction.commit();
+        }
+        Assertions.assertEquals(1, dsl.fetchCount(D));
+        Assertions.assertEquals(2, dsl.fetchOne(Tags.TAGS).getValue(Tags.TAGS.QTY));
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        transaction.begin();
+        try {
+            insert("d001");
+            insert("d002");
+        } finally {
+            transaction.rollback();
+        }
+        Assertions.assertEquals(0, dsl.fetchCount(D));
+    }
+
+    public static class Tags extends TableImpl<TagsRecord> {
+        private static final long serialVersionUID = 1L;
+
+        public static final Tags TAGS = new Tags();
+
+        public final TableField<TagsRecord, String> NAME = createField(DSL.name("name"),
+                SQLDataType.VARCHAR(40).nullable(false), this, "");
+
+        public final TableField<TagsRecord, Integer> QTY = createField(DSL.name("qty"), SQLDataType.INTEGER, this,
+                "");
+
+        public Tags() {
+            super(DSL.name("tags"));
+        }
+
+        @Override
+        public Class<TagsRecord> getRecordType() {
+            return TagsRecord.class;
+        }
+
+        @Override
+        public UniqueKey<TagsRecord> getPrimaryKey() {
+            return Internal.createUniqueKey(this, "pk_tags", NAME);
+        }
+    }
+
+    public static class TagsRecord extends UpdatableRecordImpl<TagsRecord> {
+        private static final long serialVersionUID = 1L;
+
+        public TagsRecord() {
+            super(Tags.TAGS);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.quarkus.ext.jooq.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jooq.conf.BackslashEscaping;
+import org.jooq.conf.ExecuteWithoutWhere;
+import org.jooq.conf.MappedSchema;
+import org.jooq.conf.MappedTable;
+import org.jooq.conf.ParamType;
+import org.jooq.conf.RenderMapping;
+import org.jooq.conf.RenderNameCase;
+import org.jooq.conf.RenderQuotedNames;
+import org.jooq.conf.Settings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.gizmo.ClassCreator;
+import io.quarkus.gizmo.MethodCreator;
+
+/**
+ * The Settings written as bytecode equal the build time Settings
+ * 
+ * @author Leo Tu
+ */
+public class SettingsBytecodeWriterTest {
+
+    @Test
+    public void testDefaultSettings() throws Exception {
+        Settings settings = AbstractDslContextProducer.defaultSettings();
+        Assertions.assertNotEquals(new Settings(), settings);
+        Assertions.assertEquals(settings, roundTrip(settings));
+    }
+
+    @Test
+    public void testNonDefaultSettings() throws Exception {
+        Settings settings = AbstractDslContextProducer.defaultSettings()
+                .withRenderFormatted(true)
+                .withRenderNameCase(RenderNameCase.LOWER)
+                .withRenderQuotedNames(RenderQuotedNames.ALWAYS)
+                .withParamType(ParamType.NAMED)
+                .withBackslashEscaping(BackslashEscaping.OFF)
+                .withExecuteWithOptimisticLocking(true)
+                .withExecuteDeleteWithoutWhere(ExecuteWithoutWhere.THROW)
+                .withQueryTimeout(5)
+                .withMaxRows(1000)
+                .withFetchSize(250)
+                .withRenderLocale(Locale.forLanguageTag("tr-TR"))
+                .withRenderMapping(new RenderMapping()
+                        .withDefaultSchema("employees")
+                        .withSchemata(new MappedSchema().withInput("employees").withOutput("employees_v2")
+                                .withTables(new MappedTable().withInput("titles").withOutput("titles_v2"))));
+        Assertions.assertEquals(settings, roundTrip(settings));
+    }
+
+    private static Settings roundTrip(Settings settings) throws Exception {
+        String className = SettingsBytecodeWriterTest.class.getName() + "$Generated";
+        Map<String, byte[]> classes = new HashMap<>();
+        try (ClassCreator classCreator = ClassCreator.builder().classOutput(classes::put).className(className)
+                .build()) {
+            MethodCreator methodCreator = classCreator.getMethodCreator("settings", Settings.class);
+            methodCreator.setModifiers(Modifier.PUBLIC | Modifier.STATIC);
+            methodCreator.returnValue(SettingsBytecodeWriter.write(methodCreator, settings));
+        }
+        ClassLoader classLoader = new ClassLoader(SettingsBytecodeWriterTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                byte[] bytes = classes.get(name.replace('.', '/'));
+                if (bytes == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+        return (Settings) classLoader.loadClass(className).getMethod("settings").invoke(null);
+    }
+}
@@ -0,0 +1,136 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jooq.DSLContext;
+import org.jooq.Identity;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultConnectionProvider;
+import org.jooq.impl.DefaultRecordListenerProvider;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+import org.jooq.impl.UpdatableRecordImpl;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * With a dialect that runs INSERT .. RETURNING through executeQuery(), as PostgreSQL does, the returning inserts and
+ * the stored records are executed at once, after the pending batch
+ *
+ * @author Leo Tu
+ */
+public class BatchingConnectionTest {
+
+    private final List<String> executed = new ArrayList<>();
+
+    private DSLContext dsl;
+
+    @BeforeEach
+    public void init() {
+        MockConnection connection = new MockConnection(ctx -> {
+            if (ctx.batch()) {
+                executed.add("batch " + ctx.batchBindings().length + ": " + ctx.sql());
+                MockResult[] results = new MockResult[ctx.batchBindings().length];
+                for (int i = 0; i < results.length; i++) {
+                    results[i] = new MockResult(1, null);
+                }
+                return results;
+            }
+            executed.add(ctx.sql());
+            if (ctx.sql().contains("returning")) {
+                DSLContext create = DSL.using(SQLDialect.POSTGRES);
+                Result<Record1<Long>> result = create.newResult(Items.ITEMS.ID);
+                result.add(create.newRecord(Items.ITEMS.ID).values(42L));
+                return new MockResult[] { new MockResult(1, result) };
+            }
+            return new MockResult[] { new MockResult(1, null) };
+        });
+        TransactionBatch batch = new TransactionBatch(new DefaultConnectionProvider(connection), 100);
+        dsl = DSL.using(new DefaultConfiguration().set(SQLDialect.POSTGRES).set(batch.connection())
+                .set(new DefaultRecordListenerProvider(new RecordOperationListener())));
+    }
+
+    @Test
+    public void testReturning() {
+        dsl.insertInto(Items.ITEMS).set(Items.ITEMS.NAME, "a").execute();
+        dsl.insertInto(Items.ITEMS).set(Items.ITEMS.NAME, "b").execute();
+        Assertions.assertTrue(executed.isEmpty());
+
+        ItemsRecord returned = dsl.insertInto(Items.ITEMS).set(Items.ITEMS.NAME, "c").returning(Items.ITEMS.ID)
+                .fetchOne();
+        Assertions.assertEquals(42L, returned.getValue(Items.ITEMS.ID));
+        Assertions.assertEquals(2, executed.size());
+        Assertions.assertTrue(executed.get(0).startsWith("batch 2: insert"), executed.get(0));
+        Assertions.assertTrue(executed.get(1).contains("returning"), executed.get(1));
+    }
+
+    @Test
+    public void testStore() {
+        dsl.insertInto(Items.ITEMS).set(Items.ITEMS.NAME, "a").execute();
+        dsl.insertInto(Items.ITEMS).set(Items.ITEMS.NAME, "b").execute();
+
+        ItemsRecord record = dsl.newRecord(Items.ITEMS);
+        record.setValue(Items.ITEMS.NAME, "c");
+        Assertions.assertEquals(1, record.store());
+        Assertions.assertEquals(42L, record.getValue(Items.ITEMS.ID));
+        Assertions.assertEquals(0, record.store()); // nothing changed, not inserted twice
+        Assertions.assertEquals(2, executed.size());
+        Assertions.assertTrue(executed.get(0).startsWith("batch 2: insert"), executed.get(0));
+        Assertions.assertTrue(executed.get(1).contains("returning"), executed.get(1));
+
+        record.setValue(Items.ITEMS.NAME, "d");
+        Assertions.assertEquals(1, record.store());
+        Assertions.assertTrue(executed.get(2).startsWith("update"), executed.get(2));
+        Assertions.assertFalse(RecordOperationListener.isActive());
+    }
+
+    public static class Items extends TableImpl<ItemsRecord> {
+        private static final long serialVersionUID = 1L;
+
+        public static final Items ITEMS = new Items();
+
+        public final TableField<ItemsRecord, Long> ID = createField(DSL.name("id"),
+                SQLDataType.BIGINT.nullable(false).identity(true), this, "");
+
+        public final TableField<ItemsRecord, String> NAME = createField(DSL.name("name"), SQLDataType.VARCHAR(40),
+                this, "");
+
+        public Items() {
+            super(DSL.name("items"));
+        }
+
+        @Override
+        public Class<ItemsRecord> getRecordType() {
+            return ItemsRecord.class;
+        }
+
+        @Override
+        public Identity<ItemsRecord, Long> getIdentity() {
+            return Internal.createIdentity(this, ID);
+        }
+
+        @Override
+        public UniqueKey<ItemsRecord> getPrimaryKey() {
+            return Internal.createUniqueKey(this, "pk_items", ID);
+        }
+    }
+
+    public static class ItemsRecord extends UpdatableRecordImpl<ItemsRecord> {
+        private static final long serialVersionUID = 1L;
+
+        public ItemsRecord() {
+            super(Items.ITEMS);
+        }
+    }
+}
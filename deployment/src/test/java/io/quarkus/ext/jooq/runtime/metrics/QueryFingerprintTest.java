@@ -0,0 +1,41 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The literals, bind values and IN lists of any size share one fingerprint, the identifiers are kept
+ *
+ * @author Leo Tu
+ */
+public class QueryFingerprintTest {
+
+    @Test
+    public void testLiterals() {
+        Assertions.assertEquals("select * from t where id in (?+) and name = ?",
+                QueryFingerprint.of("select * from t where id in (1, 2, 3) and name = 'x'"));
+        Assertions.assertEquals("select * from t where name = ? and price > ?",
+                QueryFingerprint.of("select * from t where name = 'it''s, ok' and price > 12.50"));
+        Assertions.assertEquals("select col2 from t1 where id = ?",
+                QueryFingerprint.of("select col2 from t1 where id = 7"));
+        Assertions.assertEquals("", QueryFingerprint.of(null));
+    }
+
+    @Test
+    public void testBindValues() {
+        Assertions.assertEquals(QueryFingerprint.of("select * from t where id in (?) and (a = ?)"),
+                QueryFingerprint.of("select * from t where id in (?, ?, ?) and (a = ?)"));
+        Assertions.assertEquals("select * from t where id IN (?+)",
+                QueryFingerprint.of("select * from t where id IN (?)"));
+        Assertions.assertEquals("insert into t (a, b) values (?+)+",
+                QueryFingerprint.of("insert into t (a, b) values (?, ?), (?, ?), (?, ?)"));
+        Assertions.assertEquals("select * from t where id = ? and name = ?",
+                QueryFingerprint.of("select * from t where id = cast(? as int) and name = cast(? as varchar(40))"));
+    }
+
+    @Test
+    public void testWhitespace() {
+        Assertions.assertEquals("select a from t where b = ?",
+                QueryFingerprint.of("  select a\n  from t\r\n\twhere   b = 1  "));
+    }
+}
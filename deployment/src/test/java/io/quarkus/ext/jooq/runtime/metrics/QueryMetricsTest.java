@@ -0,0 +1,65 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteType;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The fingerprints beyond {@link QueryMetrics#MAX_FINGERPRINTS} are recorded as {@link QueryMetrics#OTHER}, and the
+ * listeners are reused per thread
+ *
+ * @author Leo Tu
+ */
+public class QueryMetricsTest {
+
+    @Test
+    public void testOverflow() {
+        QueryMetrics metrics = QueryMetrics.of("testOverflow");
+        QueryStats first = metrics.stats(ExecuteType.READ, "select * from t0 where id = 1");
+        Assertions.assertSame(first, metrics.stats(ExecuteType.READ, "select * from t0 where id = 2"));
+        Assertions.assertEquals("select * from t0 where id = ?", first.getFingerprint());
+
+        for (int i = 1; i < QueryMetrics.MAX_FINGERPRINTS; i++) {
+            metrics.stats(ExecuteType.READ, "select * from t" + i);
+        }
+        Assertions.assertEquals(QueryMetrics.MAX_FINGERPRINTS, metrics.getStats().size());
+
+        QueryStats other = metrics.stats(ExecuteType.READ, "select * from u1");
+        Assertions.assertEquals(QueryMetrics.OTHER, other.getFingerprint());
+        Assertions.assertSame(other, metrics.stats(ExecuteType.READ, "select * from u2"));
+        Assertions.assertNotSame(other, metrics.stats(ExecuteType.WRITE, "delete from u3"));
+        Assertions.assertEquals(QueryMetrics.MAX_FINGERPRINTS + 2, metrics.getStats().size());
+        // the known fingerprints are still recorded as such
+        Assertions.assertSame(first, metrics.stats(ExecuteType.READ, "select * from t0 where id = 3"));
+    }
+
+    @Test
+    public void testListenerPool() throws Exception {
+        QueryMetrics metrics = QueryMetrics.of("testListenerPool");
+        QueryMetricsListenerProvider provider = new QueryMetricsListenerProvider(metrics);
+        DSLContext dsl = DSL.using(new DefaultConfiguration().set(SQLDialect.H2)
+                .set(new MockConnection(ctx -> new MockResult[] { new MockResult(1, null) })).set(provider));
+
+        ExecuteListener listener = provider.provide();
+        provider.release((QueryMetricsListener) listener);
+        dsl.execute("delete from t where id = 1");
+        // the listener released by the execution is provided again
+        Assertions.assertSame(listener, provider.provide());
+        Assertions.assertNotSame(listener, provider.provide());
+        Assertions.assertNotSame(listener, CompletableFuture.supplyAsync(provider::provide).get());
+
+        dsl.execute("delete from t where id = 2");
+        QueryStats stats = metrics.stats(ExecuteType.WRITE, "delete from t where id = 3");
+        Assertions.assertEquals(2, stats.getExecutions());
+        Assertions.assertEquals(0, stats.getErrors());
+    }
+}
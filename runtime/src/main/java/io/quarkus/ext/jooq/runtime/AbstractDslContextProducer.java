@@ -5,15 +5,63 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.enterprise.inject.literal.NamedLiteral;
 import javax.inject.Qualifier;
 import javax.sql.DataSource;
 
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
+import org.jooq.Configuration;
 import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.RecordListenerProvider;
 import org.jooq.SQLDialect;
+import org.jooq.TransactionListenerProvider;
+import org.jooq.conf.RenderQuotedNames;
+import org.jooq.conf.Settings;
+import org.jooq.conf.SettingsTools;
 import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.impl.DefaultRecordListenerProvider;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.ext.jooq.runtime.async.AsyncDslContext;
+import io.quarkus.ext.jooq.runtime.async.AsyncExecutorProvider;
+import io.quarkus.ext.jooq.runtime.batch.RecordOperationListener;
+import io.quarkus.ext.jooq.runtime.batch.TransactionBatchingConnectionProvider;
+import io.quarkus.ext.jooq.runtime.cache.RequestCacheListener;
+import io.quarkus.ext.jooq.runtime.cache.ResultCache;
+import io.quarkus.ext.jooq.runtime.cache.ResultCacheListener;
+import io.quarkus.ext.jooq.runtime.export.ResultExports;
+import io.quarkus.ext.jooq.runtime.jfr.JfrConnectionProvider;
+import io.quarkus.ext.jooq.runtime.jfr.JfrExecuteListenerProvider;
+import io.quarkus.ext.jooq.runtime.jfr.JfrTransactionListener;
+import io.quarkus.ext.jooq.runtime.loader.BatchLoaders;
+import io.quarkus.ext.jooq.runtime.log.EventLoopGuardListener;
+import io.quarkus.ext.jooq.runtime.log.SlowQueryListenerProvider;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordMapperProvider;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordUnmapperProvider;
+import io.quarkus.ext.jooq.runtime.metrics.QueryMetrics;
+import io.quarkus.ext.jooq.runtime.metrics.QueryMetricsListenerProvider;
+import io.quarkus.ext.jooq.runtime.mirror.TableMirrorListener;
+import io.quarkus.ext.jooq.runtime.mirror.TableMirrors;
+import io.quarkus.ext.jooq.runtime.replica.ReplicaRoutingConnectionProvider;
+import io.quarkus.ext.jooq.runtime.replica.ReplicaRoutingListener;
+import io.quarkus.ext.jooq.runtime.spill.ResultSpills;
+import io.quarkus.ext.jooq.runtime.stream.QueryStreams;
+import io.quarkus.ext.jooq.runtime.writer.BatchWriter;
+import io.quarkus.runtime.LaunchMode;
 
 /**
  * Produces DSLContext
@@ -23,13 +71,87 @@ import org.jooq.impl.DSL;
 public abstract class AbstractDslContextProducer {
     private static final Logger log = Logger.getLogger(AbstractDslContextProducer.class);
 
-    public DSLContext createDslContext(String sqlDialect, DataSource dataSource, String customConfiguration) {
+    /**
+     * Name of the DSLContext configured by "quarkus.jooq.dialect", same as the default data source
+     */
+    public static final String DEFAULT_NAME = "<default>";
+
+    /**
+     * The {@link Configuration#data(Object)} key of the DSLContext name
+     */
+    public static final String CONTEXT_NAME = AbstractDslContextProducer.class.getName() + ".contextName";
+
+    private static final Map<String, SQLDialect> DIALECTS = new HashMap<>();
+
+    private static final Map<String, DslContextOptions> OPTIONS = new ConcurrentHashMap<>();
+
+    private static final DslContextOptions DEFAULT_OPTIONS = new DslContextOptions();
+    static {
+        for (String alias : new String[] { "PostgreSQL", "Postgres", "PgSQL", "PG" }) {
+            DIALECTS.put(alias.toUpperCase(), SQLDialect.POSTGRES);
+        }
+        DIALECTS.put("MYSQL", SQLDialect.MYSQL);
+        DIALECTS.put("MARIADB", SQLDialect.MARIADB);
+        DIALECTS.put("ORACLE", SQLDialect.DEFAULT);
+        DIALECTS.put("SQLSERVER", SQLDialect.DEFAULT);
+        DIALECTS.put("MSSQL", SQLDialect.DEFAULT);
+        DIALECTS.put("DB2", SQLDialect.DEFAULT);
+        DIALECTS.put("DERBY", SQLDialect.DERBY);
+        DIALECTS.put("HSQLDB", SQLDialect.HSQLDB);
+        DIALECTS.put("H2", SQLDialect.H2);
+        DIALECTS.put("FIREBIRD", SQLDialect.FIREBIRD);
+        DIALECTS.put("SQLITE", SQLDialect.SQLITE);
+        // DIALECTS.put("CUBRID", SQLDialect.CUBRID);
+    }
+
+    /**
+     * Resolves the "quarkus.jooq.dialect" value, called at build time by the deployment processor
+     */
+    public static SQLDialect resolveDialect(String sqlDialect) {
         Objects.requireNonNull(sqlDialect, "sqlDialect");
-        Objects.requireNonNull(dataSource, "dataSource");
+        SQLDialect dialect = DIALECTS.get(sqlDialect.toUpperCase());
+        if (dialect == null) {
+            log.warnv("Undefined sqlDialect: {0}", sqlDialect);
+            return SQLDialect.DEFAULT;
+        }
+        return dialect;
+    }
 
+    /**
+     * File "jooq-settings.xml" (or "-Dorg.jooq.settings") plus the extension defaults, called at build time by the
+     * deployment processor
+     */
+    public static Settings defaultSettings() {
+        return SettingsTools.defaultSettings()
+                .withRenderCatalog(false)
+                .withRenderSchema(false)
+                .withRenderFormatted(false)
+                .withRenderQuotedNames(RenderQuotedNames.EXPLICIT_DEFAULT_UNQUOTED)
+                .withQueryTimeout(60); // seconds
+    }
+
+    /**
+     * Static Init
+     */
+    public static void registerOptions(String name, DslContextOptions options) {
+        log.debugv("registerOptions: {0}, {1}", name, options);
+        OPTIONS.put(name, options);
+    }
+
+    /**
+     * @return the options recorded at static init, by DSLContext name
+     */
+    public static Map<String, DslContextOptions> getOptions() {
+        return Collections.unmodifiableMap(OPTIONS);
+    }
+
+    /**
+     * Loads "customConfiguration" by reflection. The generated producer instantiates it directly instead.
+     */
+    public DSLContext createDslContext(String sqlDialect, DataSource dataSource, String customConfiguration) {
+        Objects.requireNonNull(sqlDialect, "sqlDialect");
         if (customConfiguration == null || customConfiguration.isEmpty()) {
-            return createDslContext(sqlDialect, dataSource, new JooqCustomContext() {
-            });
+            return createDslContext(resolveDialect(sqlDialect), dataSource, defaultSettings(), null);
         } else {
             ClassLoader cl = Thread.currentThread().getContextClassLoader();
             if (cl == null) {
@@ -38,7 +160,7 @@ public abstract class AbstractDslContextProducer {
             try {
                 Class<?> clazz = cl.loadClass(customConfiguration);
                 JooqCustomContext instance = (JooqCustomContext) clazz.getDeclaredConstructor().newInstance();
-                return createDslContext(sqlDialect, dataSource, instance);
+                return createDslContext(resolveDialect(sqlDialect), dataSource, defaultSettings(), instance);
             } catch (Exception e) {
                 log.error(customConfiguration, e);
                 throw new RuntimeException(e);
@@ -49,46 +171,227 @@ public abstract class AbstractDslContextProducer {
     public DSLContext createDslContext(String sqlDialect, DataSource dataSource,
             JooqCustomContext customConfiguration) {
         Objects.requireNonNull(sqlDialect, "sqlDialect");
-        Objects.requireNonNull(dataSource, "dataSource");
         Objects.requireNonNull(customConfiguration, "customConfiguration");
-        return create(sqlDialect, dataSource, customConfiguration);
-    }
-
-    private DSLContext create(String sqlDialect, DataSource ds, JooqCustomContext customContext) {
-        DSLContext context;
-        if ("PostgreSQL".equalsIgnoreCase(sqlDialect) || "Postgres".equalsIgnoreCase(sqlDialect)
-                || "PgSQL".equalsIgnoreCase(sqlDialect) || "PG".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.POSTGRES);
-        } else if ("MySQL".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.MYSQL);
-        } else if ("MARIADB".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.MARIADB);
-        } else if ("Oracle".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.DEFAULT);
-        } else if ("SQLServer".equalsIgnoreCase(sqlDialect) || "MSSQL".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.DEFAULT);
-        } else if ("DB2".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.DEFAULT);
-        } else if ("Derby".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.DERBY);
-        } else if ("HSQLDB".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.HSQLDB);
-        } else if ("H2".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.H2);
-        } else if ("Firebird".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.FIREBIRD);
-        } else if ("SQLite".equalsIgnoreCase(sqlDialect)) {
-            context = DSL.using(ds, SQLDialect.SQLITE);
-            //        } else if ("CUBRID".equalsIgnoreCase(sqlDialect)) {
-            //            context = DSL.using(ds, SQLDialect.CUBRID);
-        } else {
-            log.warnv("Undefined sqlDialect: {0}", sqlDialect);
-            context = DSL.using(ds, SQLDialect.DEFAULT);
+        return createDslContext(resolveDialect(sqlDialect), dataSource, defaultSettings(), customConfiguration);
+    }
+
+    public DSLContext createDslContext(SQLDialect dialect, DataSource dataSource, Settings settings,
+            JooqCustomContext customContext) {
+        return createDslContext(DEFAULT_NAME, dialect, dataSource, settings, customContext);
+    }
+
+    public DSLContext createDslContext(String name, SQLDialect dialect, DataSource dataSource, Settings settings,
+            JooqCustomContext customContext) {
+        return createDslContext(name, dialect, dataSource, settings, customContext, new DataSource[0]);
+    }
+
+    /**
+     * Dialect and settings are constants resolved at build time
+     *
+     * @param name "&lt;default&gt;" or the "quarkus.jooq.[name]" of the DSLContext
+     * @param customContext nullable
+     * @param replicas the datasources of "quarkus.jooq.[name].replicas", in that order
+     */
+    public DSLContext createDslContext(String name, SQLDialect dialect, DataSource dataSource, Settings settings,
+            JooqCustomContext customContext, DataSource[] replicas) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(dialect, "dialect");
+        Objects.requireNonNull(dataSource, "dataSource");
+        Objects.requireNonNull(settings, "settings");
+        Objects.requireNonNull(replicas, "replicas");
+        DSLContext context = DSL.using(dataSource, dialect, settings);
+        if (!PojoRecordMapperProvider.isEmpty()) {
+            context.configuration().set(new PojoRecordMapperProvider(context.configuration()));
+        }
+        if (!PojoRecordUnmapperProvider.isEmpty()) {
+            context.configuration().set(new PojoRecordUnmapperProvider(context.configuration()));
+        }
+        if (customContext != null) {
+            customContext.apply(context.configuration());
+        }
+        DslContextOptions options = OPTIONS.getOrDefault(name, DEFAULT_OPTIONS);
+        Configuration configuration = context.configuration();
+        configuration.data(CONTEXT_NAME, name);
+        if (replicas.length > 0) {
+            ReplicaRoutingConnectionProvider routing = new ReplicaRoutingConnectionProvider(name,
+                    configuration.connectionProvider(), options.getReplicas(), replicas, options.getReplicaSelection());
+            configuration.set(routing);
+            addExecuteListener(configuration, new DefaultExecuteListenerProvider(new ReplicaRoutingListener(routing)));
+        }
+        boolean optimisticLocking = Boolean.TRUE.equals(configuration.settings().isExecuteWithOptimisticLocking());
+        if (options.isTransactionBatching() && optimisticLocking) {
+            // the batched executions have no update count to check the record versions against
+            log.warnv("transaction-batching ignored with executeWithOptimisticLocking: {0}", name);
+        } else if (options.isTransactionBatching()) {
+            configuration.set(new TransactionBatchingConnectionProvider(name, configuration.connectionProvider(),
+                    options.getTransactionBatchSize()));
+            addRecordListener(configuration, new DefaultRecordListenerProvider(new RecordOperationListener()));
         }
-        customContext.apply(context.configuration());
+        if (options.isAsyncExecutor()) {
+            configuration.set(new AsyncExecutorProvider(name));
+        }
+        if (options.isMetrics()) {
+            addExecuteListener(configuration, new QueryMetricsListenerProvider(QueryMetrics.of(name)));
+        }
+        if (options.getSlowQueryThresholdNanos() >= 0 && options.getSlowQuerySampleRate() > 0) {
+            addExecuteListener(configuration, new SlowQueryListenerProvider(name,
+                    options.getSlowQueryThresholdNanos(), options.getSlowQuerySampleRate()));
+        }
+        List<ExecuteListenerProvider> cacheProviders = new ArrayList<>(2); // not for the streamed results
+        if (options.isRequestCache()) { // before the result cache, served first
+            ExecuteListenerProvider provider = new DefaultExecuteListenerProvider(new RequestCacheListener(name));
+            addExecuteListener(configuration, provider);
+            cacheProviders.add(provider);
+        }
+        if (options.getResultCacheTtlNanos() >= 0) {
+            ResultCache cache = ResultCache.create(name, options.getResultCacheTtlNanos(),
+                    options.getResultCacheMaxSize());
+            ResultCacheListener listener = new ResultCacheListener(cache);
+            ExecuteListenerProvider provider = new DefaultExecuteListenerProvider(listener);
+            addExecuteListener(configuration, provider);
+            cacheProviders.add(provider);
+            addTransactionListener(configuration, listener::getTransactionListener);
+        }
+        if (!options.getMirroredTables().isEmpty()) {
+            TableMirrors mirrors = TableMirrors.create(name, context, options.getMirroredTables(),
+                    options.getMirrorRefreshIntervalNanos());
+            TableMirrorListener listener = new TableMirrorListener(mirrors);
+            addExecuteListener(configuration, new DefaultExecuteListenerProvider(listener));
+            addTransactionListener(configuration, listener::getTransactionListener);
+        }
+        if (options.isJfr()) {
+            configuration.set(new JfrConnectionProvider(name, configuration.connectionProvider()));
+            addExecuteListener(configuration, new JfrExecuteListenerProvider(name));
+            addTransactionListener(configuration, () -> new JfrTransactionListener(name));
+        }
+        EventLoopGuard guard = options.getEventLoopGuard() != null ? options.getEventLoopGuard()
+                : LaunchMode.current() == LaunchMode.NORMAL ? EventLoopGuard.OFF : EventLoopGuard.WARN;
+        if (guard != EventLoopGuard.OFF) { // last, the others have started when it fails
+            addExecuteListener(configuration,
+                    new DefaultExecuteListenerProvider(new EventLoopGuardListener(name, guard)));
+        }
+        registerHelpers(name, context, options, cacheProviders);
         return context;
     }
 
+    /**
+     * Registers the BatchLoaders, QueryStreams, ResultExports and ResultSpills of the DSLContext under its name,
+     * replacing those of a previous DSLContext of that name
+     *
+     * @param cacheProviders the execute listeners that the streamed results bypass
+     */
+    protected void registerHelpers(String name, DSLContext context, DslContextOptions options,
+            List<ExecuteListenerProvider> cacheProviders) {
+        BatchLoaders.create(name, context, options.getBatchLoaderWindowNanos(), options.getBatchLoaderMaxSize());
+        QueryStreams streams = QueryStreams.create(name, context, options.getStreamFetchSize(), cacheProviders);
+        ResultExports.create(name, streams);
+        ResultSpills.create(name, context, streams, options.getSpillMaxRows(), options.getSpillMaxBytes(),
+                options.getSpillDirectory());
+    }
+
+    /**
+     * The BatchWriter of the DSLContext bean of that name
+     */
+    public BatchWriter createBatchWriter(String name) {
+        DSLContext context = lookupDslContext(name);
+        DslContextOptions options = OPTIONS.getOrDefault(name, DEFAULT_OPTIONS);
+        return new BatchWriter(name, context, options.getBatchWriterBatchSize(),
+                options.getBatchWriterFlushIntervalNanos(), options.getBatchWriterQueueSize());
+    }
+
+    /**
+     * The AsyncDslContext of the DSLContext bean of that name, as many threads as the datasource has connections
+     * 
+     * @param dataSourceName null for the default datasource
+     */
+    public AsyncDslContext createAsyncDslContext(String name, String dataSourceName) {
+        DSLContext context = lookupDslContext(name);
+        return new AsyncDslContext(name, context, maxPoolSize(dataSourceName));
+    }
+
+    private DSLContext lookupDslContext(String name) {
+        Objects.requireNonNull(name, "name");
+        return DEFAULT_NAME.equals(name) ? Arc.container().instance(DSLContext.class).get()
+                : Arc.container().instance(DSLContext.class, NamedLiteral.of(name)).get();
+    }
+
+    /**
+     * The DSLContext beans are created lazily, by their client proxy, and only then register their helpers
+     * (BatchLoaders, QueryStreams, ...): creates the DSLContext bean of that name if not done yet
+     * 
+     * @return false if there is no DSLContext bean of that name, or the container is not running
+     */
+    public static boolean createDslContextBean(String name) {
+        Objects.requireNonNull(name, "name");
+        ArcContainer container = Arc.container();
+        if (container == null) {
+            return false;
+        }
+        DSLContext context = DEFAULT_NAME.equals(name) ? container.instance(DSLContext.class).get()
+                : container.instance(DSLContext.class, NamedLiteral.of(name)).get();
+        if (context == null) {
+            return false;
+        }
+        context.configuration(); // the client proxy creates the DSLContext
+        return true;
+    }
+
+    /**
+     * @return the "jdbc.max-size" of the datasource of a DSLContext created by this producer, Integer.MAX_VALUE for
+     *         any other DSLContext
+     */
+    public static int maxConnections(DSLContext dsl) {
+        Object name = dsl.configuration().data(CONTEXT_NAME);
+        if (name == null) {
+            return Integer.MAX_VALUE;
+        }
+        DslContextOptions options = OPTIONS.get(name);
+        return maxPoolSize(DEFAULT_NAME.equals(name) || options == null ? null : options.getDataSource());
+    }
+
+    /**
+     * "quarkus.datasource.[name.]jdbc.max-size", 20 by default
+     */
+    static int maxPoolSize(String dataSourceName) {
+        Config config = ConfigProvider.getConfig();
+        if (dataSourceName == null) {
+            return config.getOptionalValue("quarkus.datasource.jdbc.max-size", Integer.class).orElse(20);
+        }
+        return config.getOptionalValue("quarkus.datasource." + dataSourceName + ".jdbc.max-size", Integer.class)
+                .orElseGet(() -> config.getOptionalValue(
+                        "quarkus.datasource.\"" + dataSourceName + "\".jdbc.max-size", Integer.class).orElse(20));
+    }
+
+    /**
+     * Appended after the listeners of the custom context, which may have replaced them
+     */
+    protected static void addExecuteListener(Configuration configuration, ExecuteListenerProvider provider) {
+        ExecuteListenerProvider[] providers = configuration.executeListenerProviders();
+        ExecuteListenerProvider[] all = Arrays.copyOf(providers, providers.length + 1);
+        all[providers.length] = provider;
+        configuration.set(all);
+    }
+
+    /**
+     * Appended after the listeners of the custom context, which may have replaced them
+     */
+    protected static void addRecordListener(Configuration configuration, RecordListenerProvider provider) {
+        RecordListenerProvider[] providers = configuration.recordListenerProviders();
+        RecordListenerProvider[] all = Arrays.copyOf(providers, providers.length + 1);
+        all[providers.length] = provider;
+        configuration.set(all);
+    }
+
+    /**
+     * Appended after the listeners of the custom context, which may have replaced them
+     */
+    protected static void addTransactionListener(Configuration configuration, TransactionListenerProvider provider) {
+        TransactionListenerProvider[] providers = configuration.transactionListenerProviders();
+        TransactionListenerProvider[] all = Arrays.copyOf(providers, providers.length + 1);
+        all[providers.length] = provider;
+        configuration.set(all);
+    }
+
     /**
      * CDI: Ambiguous dependencies
      */
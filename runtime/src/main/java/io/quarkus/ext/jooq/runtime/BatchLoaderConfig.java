@@ -0,0 +1,32 @@
+package io.quarkus.ext.jooq.runtime;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * "quarkus.jooq.[name].batch-loader.*"
+ * 
+ * @author Leo Tu
+ */
+@ConfigGroup
+public class BatchLoaderConfig {
+
+    /**
+     * How long the primary key lookups are collected before they are sent as one query
+     */
+    @ConfigItem(defaultValue = "0.002S")
+    public Duration window;
+
+    /**
+     * Maximum number of keys in one query, a full batch is sent without waiting for the window
+     */
+    @ConfigItem(defaultValue = "500")
+    public int maxSize;
+
+    @Override
+    public String toString() {
+        return super.toString() + "[window=" + window + ", maxSize=" + maxSize + "]";
+    }
+}
@@ -0,0 +1,39 @@
+package io.quarkus.ext.jooq.runtime;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * "quarkus.jooq.[name].batch-writer.*"
+ * 
+ * @author Leo Tu
+ */
+@ConfigGroup
+public class BatchWriterConfig {
+
+    /**
+     * Maximum number of records written by one flush, in one transaction
+     */
+    @ConfigItem(defaultValue = "500")
+    public int batchSize;
+
+    /**
+     * How long the first queued record waits for others before it is flushed
+     */
+    @ConfigItem(defaultValue = "0.01S")
+    public Duration flushInterval;
+
+    /**
+     * Capacity of the queue, the callers block once it is full
+     */
+    @ConfigItem(defaultValue = "10000")
+    public int queueSize;
+
+    @Override
+    public String toString() {
+        return super.toString() + "[batchSize=" + batchSize + ", flushInterval=" + flushInterval + ", queueSize="
+                + queueSize + "]";
+    }
+}
@@ -0,0 +1,340 @@
+package io.quarkus.ext.jooq.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * The runtime part of a "quarkus.jooq.*" config, recorded at static init for every produced DSLContext
+ * 
+ * @author Leo Tu
+ */
+public class DslContextOptions {
+
+    private String dataSource;
+
+    private List<String> replicas = new ArrayList<>();
+
+    private ReplicaSelection replicaSelection = ReplicaSelection.ROUND_ROBIN;
+
+    private boolean transactionBatching;
+
+    private int transactionBatchSize = 1000;
+
+    private boolean asyncExecutor;
+
+    private EventLoopGuard eventLoopGuard;
+
+    private boolean metrics;
+
+    private long slowQueryThresholdNanos = -1;
+
+    private double slowQuerySampleRate = 1.0;
+
+    private boolean jfr = true;
+
+    private long resultCacheTtlNanos = -1;
+
+    private long resultCacheMaxSize;
+
+    private boolean requestCache;
+
+    private long batchLoaderWindowNanos = 2_000_000;
+
+    private int batchLoaderMaxSize = 500;
+
+    private int batchWriterBatchSize = 500;
+
+    private long batchWriterFlushIntervalNanos = 10_000_000;
+
+    private int batchWriterQueueSize = 10000;
+
+    private int streamFetchSize = 1000;
+
+    private int spillMaxRows = 100000;
+
+    private long spillMaxBytes = 64L * 1024 * 1024;
+
+    private String spillDirectory;
+
+    private List<String> mirroredTables = new ArrayList<>();
+
+    private long mirrorRefreshIntervalNanos = -1;
+
+    public static DslContextOptions of(JooqItemConfig itemConfig) {
+        DslContextOptions options = new DslContextOptions();
+        itemConfig.datasource.ifPresent(options::setDataSource);
+        itemConfig.replicas.ifPresent(replicas -> options.setReplicas(new ArrayList<>(replicas)));
+        options.setReplicaSelection(itemConfig.replicaSelection);
+        options.setTransactionBatching(itemConfig.transactionBatching);
+        options.setTransactionBatchSize(itemConfig.transactionBatchSize);
+        options.setAsyncExecutor(itemConfig.asyncExecutor);
+        itemConfig.eventLoopGuard.ifPresent(options::setEventLoopGuard);
+        options.setMetrics(itemConfig.metrics);
+        itemConfig.slowQueryThreshold.ifPresent(threshold -> options.setSlowQueryThresholdNanos(threshold.toNanos()));
+        if (!(itemConfig.slowQuerySampleRate >= 0.0 && itemConfig.slowQuerySampleRate <= 1.0)) {
+            throw new ConfigurationException(
+                    "slow-query-sample-rate must be between 0 and 1: " + itemConfig.slowQuerySampleRate);
+        }
+        options.setSlowQuerySampleRate(itemConfig.slowQuerySampleRate);
+        options.setJfr(itemConfig.jfr);
+        if (itemConfig.resultCache.enabled) {
+            options.setResultCacheTtlNanos(itemConfig.resultCache.ttl.toNanos());
+            options.setResultCacheMaxSize(itemConfig.resultCache.maxSize);
+        }
+        options.setRequestCache(itemConfig.requestCache);
+        options.setBatchLoaderWindowNanos(itemConfig.batchLoader.window.toNanos());
+        options.setBatchLoaderMaxSize(itemConfig.batchLoader.maxSize);
+        options.setBatchWriterBatchSize(itemConfig.batchWriter.batchSize);
+        options.setBatchWriterFlushIntervalNanos(itemConfig.batchWriter.flushInterval.toNanos());
+        options.setBatchWriterQueueSize(itemConfig.batchWriter.queueSize);
+        options.setStreamFetchSize(itemConfig.streamFetchSize);
+        options.setSpillMaxRows(itemConfig.spill.maxRows);
+        options.setSpillMaxBytes(itemConfig.spill.maxBytes.asLongValue());
+        itemConfig.spill.directory.ifPresent(options::setSpillDirectory);
+        itemConfig.mirroredTables.ifPresent(tables -> options.setMirroredTables(new ArrayList<>(tables)));
+        itemConfig.mirrorRefreshInterval.ifPresent(interval -> options.setMirrorRefreshIntervalNanos(interval.toNanos()));
+        return options;
+    }
+
+    /**
+     * @return the datasource name of a named DSLContext, null if not configured
+     */
+    public String getDataSource() {
+        return dataSource;
+    }
+
+    public void setDataSource(String dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return the datasource names of the replicas
+     */
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<String> replicas) {
+        this.replicas = replicas;
+    }
+
+    public ReplicaSelection getReplicaSelection() {
+        return replicaSelection;
+    }
+
+    public void setReplicaSelection(ReplicaSelection replicaSelection) {
+        this.replicaSelection = replicaSelection;
+    }
+
+    public boolean isTransactionBatching() {
+        return transactionBatching;
+    }
+
+    public void setTransactionBatching(boolean transactionBatching) {
+        this.transactionBatching = transactionBatching;
+    }
+
+    public int getTransactionBatchSize() {
+        return transactionBatchSize;
+    }
+
+    public void setTransactionBatchSize(int transactionBatchSize) {
+        this.transactionBatchSize = transactionBatchSize;
+    }
+
+    public boolean isAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public void setAsyncExecutor(boolean asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return null for the default of the launch mode
+     */
+    public EventLoopGuard getEventLoopGuard() {
+        return eventLoopGuard;
+    }
+
+    public void setEventLoopGuard(EventLoopGuard eventLoopGuard) {
+        this.eventLoopGuard = eventLoopGuard;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return -1 if the slow query log is disabled
+     */
+    public long getSlowQueryThresholdNanos() {
+        return slowQueryThresholdNanos;
+    }
+
+    public void setSlowQueryThresholdNanos(long slowQueryThresholdNanos) {
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+    }
+
+    public double getSlowQuerySampleRate() {
+        return slowQuerySampleRate;
+    }
+
+    public void setSlowQuerySampleRate(double slowQuerySampleRate) {
+        this.slowQuerySampleRate = slowQuerySampleRate;
+    }
+
+    public boolean isJfr() {
+        return jfr;
+    }
+
+    public void setJfr(boolean jfr) {
+        this.jfr = jfr;
+    }
+
+    /**
+     * @return -1 if the result cache is disabled
+     */
+    public long getResultCacheTtlNanos() {
+        return resultCacheTtlNanos;
+    }
+
+    public void setResultCacheTtlNanos(long resultCacheTtlNanos) {
+        this.resultCacheTtlNanos = resultCacheTtlNanos;
+    }
+
+    public long getResultCacheMaxSize() {
+        return resultCacheMaxSize;
+    }
+
+    public void setResultCacheMaxSize(long resultCacheMaxSize) {
+        this.resultCacheMaxSize = resultCacheMaxSize;
+    }
+
+    public boolean isRequestCache() {
+        return requestCache;
+    }
+
+    public void setRequestCache(boolean requestCache) {
+        this.requestCache = requestCache;
+    }
+
+    public long getBatchLoaderWindowNanos() {
+        return batchLoaderWindowNanos;
+    }
+
+    public void setBatchLoaderWindowNanos(long batchLoaderWindowNanos) {
+        this.batchLoaderWindowNanos = batchLoaderWindowNanos;
+    }
+
+    public int getBatchLoaderMaxSize() {
+        return batchLoaderMaxSize;
+    }
+
+    public void setBatchLoaderMaxSize(int batchLoaderMaxSize) {
+        this.batchLoaderMaxSize = batchLoaderMaxSize;
+    }
+
+    public int getBatchWriterBatchSize() {
+        return batchWriterBatchSize;
+    }
+
+    public void setBatchWriterBatchSize(int batchWriterBatchSize) {
+        this.batchWriterBatchSize = batchWriterBatchSize;
+    }
+
+    public long getBatchWriterFlushIntervalNanos() {
+        return batchWriterFlushIntervalNanos;
+    }
+
+    public void setBatchWriterFlushIntervalNanos(long batchWriterFlushIntervalNanos) {
+        this.batchWriterFlushIntervalNanos = batchWriterFlushIntervalNanos;
+    }
+
+    public int getBatchWriterQueueSize() {
+        return batchWriterQueueSize;
+    }
+
+    public void setBatchWriterQueueSize(int batchWriterQueueSize) {
+        this.batchWriterQueueSize = batchWriterQueueSize;
+    }
+
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    public void setStreamFetchSize(int streamFetchSize) {
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    public int getSpillMaxRows() {
+        return spillMaxRows;
+    }
+
+    public void setSpillMaxRows(int spillMaxRows) {
+        this.spillMaxRows = spillMaxRows;
+    }
+
+    public long getSpillMaxBytes() {
+        return spillMaxBytes;
+    }
+
+    public void setSpillMaxBytes(long spillMaxBytes) {
+        this.spillMaxBytes = spillMaxBytes;
+    }
+
+    /**
+     * @return null for java.io.tmpdir
+     */
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * @return the class names of the mirrored tables
+     */
+    public List<String> getMirroredTables() {
+        return mirroredTables;
+    }
+
+    public void setMirroredTables(List<String> mirroredTables) {
+        this.mirroredTables = mirroredTables;
+    }
+
+    /**
+     * @return -1 if the mirrored tables are only reloaded after writes
+     */
+    public long getMirrorRefreshIntervalNanos() {
+        return mirrorRefreshIntervalNanos;
+    }
+
+    public void setMirrorRefreshIntervalNanos(long mirrorRefreshIntervalNanos) {
+        this.mirrorRefreshIntervalNanos = mirrorRefreshIntervalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[dataSource=" + dataSource + ", replicas=" + replicas + ", replicaSelection=" + replicaSelection
+                + ", transactionBatching=" + transactionBatching + ", transactionBatchSize="
+                + transactionBatchSize + ", asyncExecutor=" + asyncExecutor + ", eventLoopGuard=" + eventLoopGuard
+                + ", metrics=" + metrics + ", slowQueryThresholdNanos=" + slowQueryThresholdNanos
+                + ", slowQuerySampleRate=" + slowQuerySampleRate + ", jfr=" + jfr + ", resultCacheTtlNanos="
+                + resultCacheTtlNanos + ", resultCacheMaxSize=" + resultCacheMaxSize + ", requestCache=" + requestCache
+                + ", batchLoaderWindowNanos=" + batchLoaderWindowNanos + ", batchLoaderMaxSize=" + batchLoaderMaxSize
+                + ", batchWriterBatchSize=" + batchWriterBatchSize + ", batchWriterFlushIntervalNanos="
+                + batchWriterFlushIntervalNanos + ", batchWriterQueueSize=" + batchWriterQueueSize + ", streamFetchSize="
+                + streamFetchSize + ", spillMaxRows=" + spillMaxRows + ", spillMaxBytes=" + spillMaxBytes
+                + ", spillDirectory=" + spillDirectory + ", mirroredTables=" + mirroredTables
+                + ", mirrorRefreshIntervalNanos=" + mirrorRefreshIntervalNanos + "]";
+    }
+}
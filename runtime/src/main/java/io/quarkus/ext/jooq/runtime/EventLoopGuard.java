@@ -0,0 +1,21 @@
+package io.quarkus.ext.jooq.runtime;
+
+/**
+ * "quarkus.jooq.[name].event-loop-guard", what to do when a query runs on an IO thread
+ * 
+ * @author Leo Tu
+ */
+public enum EventLoopGuard {
+
+    OFF,
+
+    /**
+     * Logs a warning with the call site
+     */
+    WARN,
+
+    /**
+     * Throws an IllegalStateException before the query is executed
+     */
+    FAIL;
+}
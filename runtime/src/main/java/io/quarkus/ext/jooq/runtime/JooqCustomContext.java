@@ -2,7 +2,6 @@ package io.quarkus.ext.jooq.runtime;
 
 import org.jboss.logging.Logger;
 import org.jooq.Configuration;
-import org.jooq.conf.RenderQuotedNames;
 
 /**
  * Custom Configuration
@@ -13,14 +12,9 @@ public interface JooqCustomContext {
     static final Logger LOGGER = Logger.getLogger(JooqCustomContext.class);
 
     /**
-     * File "jooq-settings.xml"
+     * Called once the DSLContext has been created. The settings ("jooq-settings.xml" and the extension defaults) are
+     * already resolved at build time, see {@link AbstractDslContextProducer#defaultSettings()}
      */
     default public void apply(Configuration configuration) {
-        configuration.settings()
-                .withRenderCatalog(false)
-                .withRenderSchema(false)
-                .withRenderFormatted(false)
-                .withRenderQuotedNames(RenderQuotedNames.EXPLICIT_DEFAULT_UNQUOTED)
-                .withQueryTimeout(60); // seconds
     }
 }
@@ -1,5 +1,7 @@
 package io.quarkus.ext.jooq.runtime;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import io.quarkus.runtime.annotations.ConfigGroup;
@@ -24,6 +26,18 @@ public class JooqItemConfig {
     @ConfigItem
     public Optional<String> datasource;
 
+    /**
+     * The replica datasources of "datasource", e.g. "r1,r2". The SELECTs outside of transactions read from them.
+     */
+    @ConfigItem
+    public Optional<List<String>> replicas;
+
+    /**
+     * How a replica is chosen for a read: round-robin or least-latency
+     */
+    @ConfigItem(defaultValue = "round-robin")
+    public ReplicaSelection replicaSelection;
+
     /**
      * The jOOQ configuration
      */
@@ -36,10 +50,122 @@ public class JooqItemConfig {
     @ConfigItem
     public Optional<String> configurationInject;
 
+    /**
+     * Buffers the consecutive executions of the same DML statement inside a JTA transaction, and sends them as one
+     * JDBC batch before any other statement, at commit, or at "transaction-batch-size". Their update count is
+     * Statement.SUCCESS_NO_INFO. DML with RETURNING and the UpdatableRecord executions are not batched. Ignored with
+     * the executeWithOptimisticLocking setting.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean transactionBatching;
+
+    /**
+     * Maximum number of statements in one transaction batch
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int transactionBatchSize;
+
+    /**
+     * Runs fetchAsync and executeAsync on virtual threads (JDK 21+) or a ManagedExecutor without the JTA transaction,
+     * instead of ForkJoinPool.commonPool()
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean asyncExecutor;
+
+    /**
+     * What to do when a query runs on a Vert.x event loop: off, warn (with the call site) or fail. By default warn in
+     * dev and test mode, off in production.
+     */
+    @ConfigItem
+    public Optional<EventLoopGuard> eventLoopGuard;
+
+    /**
+     * Records per query latency metrics (render, prepare, execute and fetch phases), see
+     * io.quarkus.ext.jooq.runtime.metrics.QueryMetrics
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean metrics;
+
+    /**
+     * Statements slower than this are logged under the "io.quarkus.ext.jooq.sql" category, e.g. "0.5S" or "2" (seconds)
+     */
+    @ConfigItem
+    public Optional<Duration> slowQueryThreshold;
+
+    /**
+     * The fraction of the slow statements that is logged, between 0 and 1, checked at build time
+     */
+    @ConfigItem(defaultValue = "1.0")
+    public double slowQuerySampleRate;
+
+    /**
+     * Emits the "jOOQ" Java Flight Recorder events (query executed, rows fetched, connection acquired, transaction
+     * committed), close to free while no recording is running
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean jfr;
+
+    /**
+     * The second-level result cache
+     */
+    @ConfigItem
+    public ResultCacheConfig resultCache;
+
+    /**
+     * Memoizes the SELECT results within one transaction, or one CDI request outside of transactions
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean requestCache;
+
+    /**
+     * Batched primary key lookups, see BatchLoaders
+     */
+    @ConfigItem
+    public BatchLoaderConfig batchLoader;
+
+    /**
+     * The injectable BatchWriter
+     */
+    @ConfigItem
+    public BatchWriterConfig batchWriter;
+
+    /**
+     * Rows read at a time by the streams of QueryStreams, where the driver supports it
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int streamFetchSize;
+
+    /**
+     * The results of ResultSpills
+     */
+    @ConfigItem
+    public SpillConfig spill;
+
+    /**
+     * jOOQ generated table classes kept in memory, e.g. "x.tables.QDepartments,x.tables.QTitles", see
+     * io.quarkus.ext.jooq.runtime.mirror.TableMirrors
+     */
+    @ConfigItem
+    public Optional<List<String>> mirroredTables;
+
+    /**
+     * Reload interval of the mirrored tables, by default they are only reloaded after the writes executed through this
+     * DSLContext
+     */
+    @ConfigItem
+    public Optional<Duration> mirrorRefreshInterval;
+
     @Override
     public String toString() {
-        return super.toString() + "[dialect=" + dialect + ", datasource=" + datasource + ", configuration="
-                + configuration + ", configurationInject=" + configurationInject + "]";
+        return super.toString() + "[dialect=" + dialect + ", datasource=" + datasource + ", replicas=" + replicas
+                + ", replicaSelection=" + replicaSelection + ", configuration=" + configuration
+                + ", configurationInject=" + configurationInject + ", transactionBatching=" + transactionBatching
+                + ", transactionBatchSize=" + transactionBatchSize + ", asyncExecutor=" + asyncExecutor
+                + ", eventLoopGuard=" + eventLoopGuard + ", metrics=" + metrics + ", slowQueryThreshold="
+                + slowQueryThreshold + ", slowQuerySampleRate=" + slowQuerySampleRate + ", jfr=" + jfr
+                + ", resultCache=" + resultCache + ", requestCache=" + requestCache + ", batchLoader=" + batchLoader
+                + ", batchWriter=" + batchWriter + ", streamFetchSize=" + streamFetchSize + ", spill=" + spill
+                + ", mirroredTables=" + mirroredTables + ", mirrorRefreshInterval=" + mirrorRefreshInterval + "]";
     }
 
 }
@@ -4,6 +4,12 @@ import org.jboss.logging.Logger;
 
 import io.quarkus.arc.runtime.BeanContainer;
 import io.quarkus.arc.runtime.BeanContainerListener;
+import io.quarkus.ext.jooq.runtime.mapper.AbstractPojoRecordMapper;
+import io.quarkus.ext.jooq.runtime.mapper.AbstractPojoRecordUnmapper;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordMapperProvider;
+import io.quarkus.ext.jooq.runtime.mapper.PojoRecordUnmapperProvider;
+import io.quarkus.ext.jooq.runtime.table.JooqTables;
+import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.annotations.Recorder;
 
 /**
@@ -37,4 +43,32 @@ public class JooqTemplate {
         };
     }
 
+    /**
+     * Static Init: the mappers generated at build time for the jOOQ POJOs
+     */
+    public void registerRecordMapper(RuntimeValue<AbstractPojoRecordMapper<?>> mapper) {
+        PojoRecordMapperProvider.register(mapper.getValue());
+    }
+
+    /**
+     * Static Init: the unmappers generated at build time for the jOOQ POJOs
+     */
+    public void registerRecordUnmapper(RuntimeValue<AbstractPojoRecordUnmapper<?>> unmapper) {
+        PojoRecordUnmapperProvider.register(unmapper.getValue());
+    }
+
+    /**
+     * Static Init: the jOOQ generated tables, instantiated on first use
+     */
+    public void registerTable(String tableClassName) {
+        JooqTables.register(tableClassName);
+    }
+
+    /**
+     * Static Init: the runtime options of every configured DSLContext
+     */
+    public void registerOptions(String name, DslContextOptions options) {
+        AbstractDslContextProducer.registerOptions(name, options);
+    }
+
 }
@@ -0,0 +1,19 @@
+package io.quarkus.ext.jooq.runtime;
+
+/**
+ * "quarkus.jooq.[name].replica-selection", which replica datasource serves the next read
+ * 
+ * @author Leo Tu
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Each replica in turn
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The replica with the lowest recent latency, weighted by its connections in use
+     */
+    LEAST_LATENCY;
+}
@@ -0,0 +1,38 @@
+package io.quarkus.ext.jooq.runtime;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * "quarkus.jooq.[name].result-cache.*"
+ * 
+ * @author Leo Tu
+ */
+@ConfigGroup
+public class ResultCacheConfig {
+
+    /**
+     * Caches the results of the SELECT statements of this DSLContext, invalidated by the DML executed through it
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * Time to live of a cached result, the upper bound of staleness for writes that do not go through this DSLContext
+     */
+    @ConfigItem(defaultValue = "60S")
+    public Duration ttl;
+
+    /**
+     * Bound of the cache in result cells (rows x columns), larger results are not cached
+     */
+    @ConfigItem(defaultValue = "1000000")
+    public long maxSize;
+
+    @Override
+    public String toString() {
+        return super.toString() + "[enabled=" + enabled + ", ttl=" + ttl + ", maxSize=" + maxSize + "]";
+    }
+}
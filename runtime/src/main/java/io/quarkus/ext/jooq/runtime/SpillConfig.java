@@ -0,0 +1,40 @@
+package io.quarkus.ext.jooq.runtime;
+
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+/**
+ * "quarkus.jooq.[name].spill.*"
+ * 
+ * @author Leo Tu
+ */
+@ConfigGroup
+public class SpillConfig {
+
+    /**
+     * Maximum number of rows kept in the heap, the next ones are written to a temporary file
+     */
+    @ConfigItem(defaultValue = "100000")
+    public int maxRows;
+
+    /**
+     * Estimated size of the rows kept in the heap, the next ones are written to a temporary file
+     */
+    @ConfigItem(defaultValue = "64M")
+    public MemorySize maxBytes;
+
+    /**
+     * Directory of the temporary files, java.io.tmpdir by default
+     */
+    @ConfigItem
+    public Optional<String> directory;
+
+    @Override
+    public String toString() {
+        return super.toString() + "[maxRows=" + maxRows + ", maxBytes=" + maxBytes.asLongValue() + ", directory="
+                + directory + "]";
+    }
+}
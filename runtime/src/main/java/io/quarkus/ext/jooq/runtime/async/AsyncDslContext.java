@@ -0,0 +1,161 @@
+package io.quarkus.ext.jooq.runtime.async;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.TransactionalCallable;
+import org.jooq.TransactionalRunnable;
+
+/**
+ * Runs the blocking work of a DSLContext on its own executor and returns a CompletionStage, injected per DSLContext:
+ * 
+ * <pre>
+ * &#64;Inject
+ * &#64;DslContextQualifier("dsl1")
+ * AsyncDslContext async;
+ * 
+ * CompletionStage&lt;Result&lt;Record&gt;&gt; employees = async.fetch(dsl1.selectFrom(QEmployees.$));
+ * Uni&lt;Result&lt;Record&gt;&gt; uni = Uni.createFrom().completionStage(employees);
+ * </pre>
+ * 
+ * The executor runs at most as many tasks as the "jdbc.max-size" of the datasource, the others wait in its queue
+ * instead of waiting for a connection. The stages complete on the executor threads.
+ * 
+ * @author Leo Tu
+ */
+public final class AsyncDslContext implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(AsyncDslContext.class);
+
+    private static final Set<AsyncDslContext> CONTEXTS = ConcurrentHashMap.newKeySet();
+
+    private final String contextName;
+
+    private final DSLContext dsl;
+
+    private final ThreadPoolExecutor executor;
+
+    public AsyncDslContext(String contextName, DSLContext dsl, int maxConcurrency) {
+        this.contextName = contextName;
+        this.dsl = dsl;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "jooq-async-" + contextName + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        CONTEXTS.add(this);
+        log.debugv("{0}: maxConcurrency={1}", contextName, maxConcurrency);
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public DSLContext getDsl() {
+        return dsl;
+    }
+
+    public int getMaxConcurrency() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return number of the tasks running
+     */
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return number of the tasks waiting for a thread
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public <T> CompletionStage<T> call(Function<DSLContext, T> work) {
+        return CompletableFuture.supplyAsync(() -> work.apply(dsl), executor);
+    }
+
+    public CompletionStage<Void> run(Consumer<DSLContext> work) {
+        return CompletableFuture.runAsync(() -> work.accept(dsl), executor);
+    }
+
+    public <R extends Record> CompletionStage<Result<R>> fetch(ResultQuery<R> query) {
+        return call(context -> context.fetch(query));
+    }
+
+    /**
+     * @return completes with null if there is no row
+     */
+    public <R extends Record> CompletionStage<R> fetchOne(ResultQuery<R> query) {
+        return call(context -> context.fetchOne(query));
+    }
+
+    public <E> CompletionStage<List<E>> fetchInto(ResultQuery<?> query, Class<? extends E> type) {
+        return call(context -> context.fetch(query).into(type));
+    }
+
+    /**
+     * @param query attached to the DSLContext
+     * @return completes with the update count
+     */
+    public CompletionStage<Integer> execute(Query query) {
+        return CompletableFuture.supplyAsync(query::execute, executor);
+    }
+
+    public <T> CompletionStage<T> transactionResult(TransactionalCallable<T> transactional) {
+        return call(context -> context.transactionResult(transactional));
+    }
+
+    public CompletionStage<Void> transaction(TransactionalRunnable transactional) {
+        return run(context -> context.transaction(transactional));
+    }
+
+    /**
+     * Lets the running and queued tasks finish
+     */
+    @Override
+    public void close() {
+        CONTEXTS.remove(this);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debugv("close: {0}", contextName);
+    }
+
+    /**
+     * Closes all the contexts, at shutdown
+     */
+    public static void closeAll() {
+        for (AsyncDslContext context : CONTEXTS) {
+            context.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[contextName=" + contextName + ", maxConcurrency=" + getMaxConcurrency()
+                + ", active=" + getActive() + ", queued=" + getQueued() + "]";
+    }
+}
@@ -0,0 +1,20 @@
+package io.quarkus.ext.jooq.runtime.async;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import io.quarkus.runtime.ShutdownEvent;
+
+/**
+ * Lets the queued tasks finish before the data sources are closed, then shuts down the executors of fetchAsync
+ * 
+ * @author Leo Tu
+ */
+@Singleton
+public class AsyncDslContextLifecycle {
+
+    void onStop(@Observes ShutdownEvent event) {
+        AsyncDslContext.closeAll();
+        AsyncExecutorProvider.shutdown();
+    }
+}
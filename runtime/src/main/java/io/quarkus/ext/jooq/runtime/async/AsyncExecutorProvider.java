@@ -0,0 +1,110 @@
+package io.quarkus.ext.jooq.runtime.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.logging.Logger;
+import org.jooq.ExecutorProvider;
+
+import io.quarkus.runtime.ExecutorRecorder;
+
+/**
+ * Runs jOOQ's fetchAsync and executeAsync, "quarkus.jooq.[name].async-executor=true", instead of
+ * ForkJoinPool.commonPool() where blocking JDBC calls starve the parallel streams: a new virtual thread per task on
+ * JDK 21+, otherwise a ManagedExecutor which propagates the CDI context but not the JTA transaction. The context
+ * propagation dependency is optional, without it the tasks run on the Quarkus executor.
+ * 
+ * @author Leo Tu
+ */
+public class AsyncExecutorProvider implements ExecutorProvider {
+    private static final Logger log = Logger.getLogger(AsyncExecutorProvider.class);
+
+    private static final boolean CONTEXT_PROPAGATION = isPresent("org.eclipse.microprofile.context.ManagedExecutor");
+
+    private static volatile ExecutorService virtualThreadExecutor;
+
+    private final String contextName;
+
+    private volatile Executor executor;
+
+    public AsyncExecutorProvider(String contextName) {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public Executor provide() {
+        Executor current = executor;
+        if (current == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = resolve();
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+
+    private Executor resolve() {
+        Executor virtual = virtualThreadExecutor();
+        if (virtual != null) {
+            log.debugv("{0}: virtual threads", contextName);
+            return virtual;
+        }
+        if (CONTEXT_PROPAGATION) {
+            try {
+                Executor managed = ManagedExecutors.create();
+                log.debugv("{0}: ManagedExecutor", contextName);
+                return managed;
+            } catch (IllegalStateException e) {
+                log.debugv("{0}: no context propagation, {1}", contextName, e);
+            }
+        }
+        log.debugv("{0}: Quarkus executor", contextName);
+        return ExecutorRecorder.getCurrent();
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, AsyncExecutorProvider.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Shuts down the ManagedExecutors built for the DSLContexts
+     */
+    static void shutdown() {
+        if (CONTEXT_PROPAGATION) {
+            ManagedExecutors.shutdownAll();
+        }
+    }
+
+    /**
+     * @return null before JDK 21
+     */
+    static ExecutorService virtualThreadExecutor() {
+        ExecutorService current = virtualThreadExecutor;
+        if (current == null) {
+            synchronized (AsyncExecutorProvider.class) {
+                if (virtualThreadExecutor == null) {
+                    try {
+                        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                        virtualThreadExecutor = (ExecutorService) method.invoke(null);
+                    } catch (NoSuchMethodException e) {
+                        return null;
+                    } catch (ReflectiveOperationException e) {
+                        log.warnv("Virtual threads unavailable: {0}", e);
+                        return null;
+                    }
+                }
+                current = virtualThreadExecutor;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,42 @@
+package io.quarkus.ext.jooq.runtime.async;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+
+/**
+ * The ManagedExecutors of the DSLContexts, only loaded by {@link AsyncExecutorProvider} once the context propagation
+ * API is known to be present. The JTA transaction is cleared, not propagated: a task runs outside of the transaction
+ * of the caller, on connections of its own, as fetchAsync does with the common pool.
+ *
+ * @author Leo Tu
+ */
+final class ManagedExecutors {
+
+    private static final List<ManagedExecutor> EXECUTORS = new CopyOnWriteArrayList<>();
+
+    private ManagedExecutors() {
+    }
+
+    /**
+     * @throws IllegalStateException if no context propagation implementation is available
+     */
+    static ExecutorService create() {
+        ManagedExecutor executor = ManagedExecutor.builder()
+                .propagated(ThreadContext.ALL_REMAINING)
+                .cleared(ThreadContext.TRANSACTION)
+                .build();
+        EXECUTORS.add(executor);
+        return executor;
+    }
+
+    static void shutdownAll() {
+        for (ManagedExecutor executor : EXECUTORS) {
+            executor.shutdown();
+        }
+        EXECUTORS.clear();
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+import org.jooq.tools.jdbc.DefaultConnection;
+
+import io.quarkus.ext.jooq.runtime.metrics.QueryFingerprint;
+
+/**
+ * Prepares the plain DML as statements of the transaction batch, and executes the batch before preparing anything
+ * else. DML with a RETURNING clause, which some dialects run through executeQuery(), and the executions of the
+ * UpdatableRecords, which need their update count, are not batched.
+ * 
+ * @author Leo Tu
+ */
+final class BatchingConnection extends DefaultConnection {
+
+    private static final Pattern DML = Pattern.compile("^\\s*(insert|update|delete|merge)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern RETURNING = Pattern.compile("\\breturning\\b", Pattern.CASE_INSENSITIVE);
+
+    private final TransactionBatch batch;
+
+    BatchingConnection(Connection delegate, TransactionBatch batch) {
+        super(delegate);
+        this.batch = batch;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        if (DML.matcher(sql).find() && !RecordOperationListener.isActive()
+                && !RETURNING.matcher(QueryFingerprint.of(sql)).find()) {
+            return new BatchingStatement(batch.statement(getDelegate(), sql), batch);
+        }
+        batch.flush();
+        return super.prepareStatement(sql);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        batch.flush();
+        return super.createStatement();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        batch.flush();
+        return super.createStatement(resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+            throws SQLException {
+        batch.flush();
+        return super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        batch.flush();
+        return super.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        batch.flush();
+        return super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        batch.flush();
+        return super.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        batch.flush();
+        return super.prepareStatement(sql, columnIndexes);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        batch.flush();
+        return super.prepareStatement(sql, columnNames);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        batch.flush();
+        return super.prepareCall(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        batch.flush();
+        return super.prepareCall(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+            int resultSetHoldability) throws SQLException {
+        batch.flush();
+        return super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    /**
+     * The transaction batch releases the connection
+     */
+    @Override
+    public void close() throws SQLException {
+    }
+}
@@ -0,0 +1,75 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.jooq.tools.jdbc.DefaultPreparedStatement;
+
+/**
+ * An execution adds the bound values to the batch, the update count is not known and reported as
+ * {@link Statement#SUCCESS_NO_INFO}
+ * 
+ * @author Leo Tu
+ */
+final class BatchingStatement extends DefaultPreparedStatement {
+
+    private final TransactionBatch batch;
+
+    /**
+     * The update count of the last execution has not been read by getMoreResults()
+     */
+    private boolean executed;
+
+    BatchingStatement(PreparedStatement delegate, TransactionBatch batch) {
+        super(delegate);
+        this.batch = batch;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        getDelegate().addBatch();
+        batch.added();
+        executed = true;
+        return Statement.SUCCESS_NO_INFO;
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return executeUpdate();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        executeUpdate();
+        return false;
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return executed ? Statement.SUCCESS_NO_INFO : -1;
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        executed = false;
+        return false;
+    }
+
+    /**
+     * Executes the pending batch, then this execution on its own
+     */
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        batch.execute();
+        return getDelegate().executeQuery();
+    }
+
+    /**
+     * The transaction batch closes the statement
+     */
+    @Override
+    public void close() throws SQLException {
+    }
+}
@@ -0,0 +1,67 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import org.jooq.RecordContext;
+import org.jooq.impl.DefaultRecordListener;
+
+/**
+ * Marks the thread while an UpdatableRecord is stored, inserted, updated or deleted: jOOQ reads the update count of
+ * these executions to reset the changed flags and to fetch the keys, so they are never batched.
+ *
+ * @author Leo Tu
+ */
+public class RecordOperationListener extends DefaultRecordListener {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    static boolean isActive() {
+        return DEPTH.get()[0] > 0;
+    }
+
+    @Override
+    public void storeStart(RecordContext ctx) {
+        DEPTH.get()[0]++;
+    }
+
+    @Override
+    public void storeEnd(RecordContext ctx) {
+        DEPTH.get()[0]--;
+    }
+
+    @Override
+    public void insertStart(RecordContext ctx) {
+        DEPTH.get()[0]++;
+    }
+
+    @Override
+    public void insertEnd(RecordContext ctx) {
+        DEPTH.get()[0]--;
+    }
+
+    @Override
+    public void updateStart(RecordContext ctx) {
+        DEPTH.get()[0]++;
+    }
+
+    @Override
+    public void updateEnd(RecordContext ctx) {
+        DEPTH.get()[0]--;
+    }
+
+    @Override
+    public void deleteStart(RecordContext ctx) {
+        DEPTH.get()[0]++;
+    }
+
+    @Override
+    public void deleteEnd(RecordContext ctx) {
+        DEPTH.get()[0]--;
+    }
+
+    /**
+     * No end event follows a failure
+     */
+    @Override
+    public void exception(RecordContext ctx) {
+        DEPTH.get()[0] = 0;
+    }
+}
@@ -0,0 +1,124 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.jboss.logging.Logger;
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+
+/**
+ * The DML statements buffered by one JTA transaction. Consecutive executions of the same DML are added to one JDBC
+ * batch, which is executed before any other statement, when it reaches the batch size, and before the commit.
+ * 
+ * @author Leo Tu
+ */
+final class TransactionBatch implements JtaTransactions.Completion {
+    private static final Logger log = Logger.getLogger(TransactionBatch.class);
+
+    private final ConnectionProvider provider;
+
+    private final int batchSize;
+
+    private BatchingConnection connection;
+
+    private String sql;
+
+    private PreparedStatement statement;
+
+    private int count;
+
+    TransactionBatch(ConnectionProvider provider, int batchSize) {
+        this.provider = provider;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * One connection for the whole transaction, as the buffered statements outlive the executions
+     */
+    BatchingConnection connection() {
+        if (connection == null) {
+            connection = new BatchingConnection(provider.acquire(), this);
+        }
+        return connection;
+    }
+
+    /**
+     * @return the statement of the current batch, a new batch if the SQL differs
+     */
+    PreparedStatement statement(Connection delegate, String sql) throws SQLException {
+        if (!sql.equals(this.sql)) {
+            flush();
+            this.statement = delegate.prepareStatement(sql);
+            this.sql = sql;
+        }
+        return statement;
+    }
+
+    void added() throws SQLException {
+        if (++count >= batchSize) {
+            execute();
+        }
+    }
+
+    /**
+     * Executes and closes the current batch
+     */
+    void flush() throws SQLException {
+        if (statement == null) {
+            return;
+        }
+        try {
+            execute();
+        } finally {
+            PreparedStatement closing = statement;
+            statement = null;
+            sql = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Executes the current batch, the statement stays open
+     */
+    void execute() throws SQLException {
+        if (count == 0) {
+            return;
+        }
+        int size = count;
+        count = 0;
+        statement.executeBatch();
+        log.debugv("execute: {0}, size: {1}", sql, size);
+    }
+
+    @Override
+    public void beforeCompletion() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            throw new DataAccessException("Transaction batch failed", e); // marks the transaction for rollback
+        }
+    }
+
+    @Override
+    public void afterCompletion(boolean committed) {
+        if (statement != null) { // rolled back, or failed
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.debugv("afterCompletion: {0}", e);
+            }
+            statement = null;
+        }
+        if (connection != null) {
+            provider.release(connection.getDelegate());
+            connection = null;
+        }
+        if (!committed) {
+            log.debugv("afterCompletion: {0}, rolled back", sql);
+        }
+    }
+}
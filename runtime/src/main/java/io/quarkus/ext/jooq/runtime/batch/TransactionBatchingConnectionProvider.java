@@ -0,0 +1,50 @@
+package io.quarkus.ext.jooq.runtime.batch;
+
+import java.sql.Connection;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+
+/**
+ * Inside a JTA transaction, hands out the connection of the transaction batch, "quarkus.jooq.[name].transaction-batching".
+ * Outside of transactions the connections are the ones of the wrapped provider.
+ * 
+ * @author Leo Tu
+ */
+public class TransactionBatchingConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider delegate;
+
+    private final String resourceKey;
+
+    private final int batchSize;
+
+    public TransactionBatchingConnectionProvider(String contextName, ConnectionProvider delegate, int batchSize) {
+        this.delegate = delegate;
+        this.resourceKey = TransactionBatchingConnectionProvider.class.getName() + "." + contextName;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        if (!JtaTransactions.isActive()) {
+            return delegate.acquire();
+        }
+        TransactionBatch batch = (TransactionBatch) JtaTransactions.getResource(resourceKey);
+        if (batch == null) {
+            batch = new TransactionBatch(delegate, batchSize);
+            JtaTransactions.putResource(resourceKey, batch, batch);
+        }
+        return batch.connection();
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        if (!(connection instanceof BatchingConnection)) {
+            delegate.release(connection);
+        }
+        // else released by the transaction batch once the transaction completes
+    }
+}
@@ -0,0 +1,87 @@
+package io.quarkus.ext.jooq.runtime.bulk;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jooq.LoaderError;
+
+/**
+ * The outcome of a bulk load, summed over all the writers
+ * 
+ * @author Leo Tu
+ */
+public final class BulkLoadResult {
+
+    private final String tableName;
+
+    private final int processed;
+
+    private final int stored;
+
+    private final int ignored;
+
+    private final List<LoaderError> errors;
+
+    private final long elapsedNanos;
+
+    BulkLoadResult(String tableName, int processed, int stored, int ignored, List<LoaderError> errors,
+            long elapsedNanos) {
+        this.tableName = tableName;
+        this.processed = processed;
+        this.stored = stored;
+        this.ignored = ignored;
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return number of the rows read from the source
+     */
+    public int getProcessed() {
+        return processed;
+    }
+
+    /**
+     * @return number of the rows written
+     */
+    public int getStored() {
+        return stored;
+    }
+
+    /**
+     * @return number of the rows skipped, duplicate keys or errors
+     */
+    public int getIgnored() {
+        return ignored;
+    }
+
+    /**
+     * @return the errors, their row index counts from the start of the part of the file of their writer
+     */
+    public List<LoaderError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return rows written per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : stored * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[tableName=" + tableName + ", processed=" + processed + ", stored=" + stored
+                + ", ignored=" + ignored + ", errors=" + errors.size() + ", elapsedNanos=" + elapsedNanos
+                + ", rowsPerSecond=" + Math.round(getRowsPerSecond()) + "]";
+    }
+}
@@ -0,0 +1,464 @@
+package io.quarkus.ext.jooq.runtime.bulk;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Loader;
+import org.jooq.LoaderError;
+import org.jooq.LoaderLoadStep;
+import org.jooq.LoaderOptionsStep;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConnectionProvider;
+
+/**
+ * Streams a CSV or JSON file into a table with jOOQ's Loader, the file being read through memory mapped windows
+ * instead of being loaded in the heap:
+ * 
+ * <pre>
+ * BulkLoadResult result = BulkLoader.into(dsl1, QSalaries.$).commitSize(10000).batchSize(1000).writers(4)
+ *         .loadCSV(Paths.get("salaries.csv"));
+ * </pre>
+ * 
+ * Every writer runs on its own connection, commits every "commitSize" rows and inserts with JDBC batches of
+ * "batchSize" rows. With several writers a CSV file is split at line boundaries, so its quoted values must not
+ * contain line breaks. A JSON file is always loaded by one writer.
+ * 
+ * @author Leo Tu
+ */
+public final class BulkLoader<R extends Record> {
+    private static final Logger log = Logger.getLogger(BulkLoader.class);
+
+    /**
+     * Smaller files are not split between all the writers
+     */
+    private static final long MIN_PART_SIZE = 1024 * 1024;
+
+    private final DSLContext dsl;
+
+    private final Table<R> table;
+
+    private int commitSize = 10_000;
+
+    private int batchSize = 1_000;
+
+    private int writers = 1;
+
+    private Charset charset = StandardCharsets.UTF_8;
+
+    private boolean header = true;
+
+    private char separator = ',';
+
+    private char quote = '"';
+
+    private String nullString;
+
+    private Field<?>[] fields;
+
+    private boolean onDuplicateKeyIgnore;
+
+    private boolean onDuplicateKeyUpdate;
+
+    private boolean onErrorIgnore;
+
+    private BulkLoader(DSLContext dsl, Table<R> table) {
+        this.dsl = dsl;
+        this.table = table;
+    }
+
+    public static <R extends Record> BulkLoader<R> into(DSLContext dsl, Table<R> table) {
+        return new BulkLoader<>(dsl, table);
+    }
+
+    /**
+     * Rows per transaction of a writer, 10000 by default
+     */
+    public BulkLoader<R> commitSize(int commitSize) {
+        this.commitSize = commitSize;
+        return this;
+    }
+
+    /**
+     * Rows per JDBC batch, 1000 by default
+     */
+    public BulkLoader<R> batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Parallel writers, each with its own connection, 1 by default
+     */
+    public BulkLoader<R> writers(int writers) {
+        this.writers = Math.max(1, writers);
+        return this;
+    }
+
+    /**
+     * UTF-8 by default
+     */
+    public BulkLoader<R> charset(Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Whether the first CSV line holds the column names, true by default
+     */
+    public BulkLoader<R> header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    public BulkLoader<R> separator(char separator) {
+        this.separator = separator;
+        return this;
+    }
+
+    public BulkLoader<R> quote(char quote) {
+        this.quote = quote;
+        return this;
+    }
+
+    /**
+     * The CSV value read as NULL
+     */
+    public BulkLoader<R> nullString(String nullString) {
+        this.nullString = nullString;
+        return this;
+    }
+
+    /**
+     * The target of each column of the source, by default the columns named by the CSV header or the JSON source,
+     * otherwise all the fields of the table in order
+     */
+    public BulkLoader<R> fields(Field<?>... fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    /**
+     * Skips the rows whose key already exists, inserted one by one as jOOQ cannot batch them
+     */
+    public BulkLoader<R> onDuplicateKeyIgnore() {
+        this.onDuplicateKeyIgnore = true;
+        this.onDuplicateKeyUpdate = false;
+        return this;
+    }
+
+    public BulkLoader<R> onDuplicateKeyUpdate() {
+        this.onDuplicateKeyUpdate = true;
+        this.onDuplicateKeyIgnore = false;
+        return this;
+    }
+
+    /**
+     * Skips the failing rows instead of stopping the writer
+     */
+    public BulkLoader<R> onErrorIgnore() {
+        this.onErrorIgnore = true;
+        return this;
+    }
+
+    public BulkLoadResult loadCSV(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            Field<?>[] targets = fields;
+            if (header) {
+                byte[] line = readLine(channel, 0);
+                offset = line.length;
+                if (targets == null) {
+                    targets = resolve(parseHeader(new String(line, charset)));
+                }
+            }
+            if (targets == null) {
+                targets = table.fields();
+            }
+            long[] bounds = split(channel, offset, size);
+            Field<?>[] csvFields = targets;
+            List<Loader<R>> loaders = run(bounds.length - 1, i -> write(options -> options
+                    .loadCSV(new MappedFileInputStream(channel, bounds[i], bounds[i + 1]), charset)
+                    .fields(csvFields).ignoreRows(0).separator(separator).quote(quote).nullString(nullString)));
+            return result(loaders, start);
+        }
+    }
+
+    /**
+     * A top level array of rows, or the format of jOOQ's formatJSON(). A row is an array of values, or an object of
+     * column name to value.
+     */
+    public BulkLoadResult loadJSON(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            JsonRowIterator rows = new JsonRowIterator(new BufferedReader(
+                    new InputStreamReader(new MappedFileInputStream(channel, 0, channel.size()), charset)));
+            rows.hasNext(); // reads up to the first row, and the "fields" before it
+            Field<?>[] targets = fields;
+            String[] keys = null;
+            if (targets == null && !rows.getFieldNames().isEmpty()) {
+                targets = resolve(rows.getFieldNames().toArray(new String[0]));
+            } else if (targets == null && rows.hasNext() && rows.peek() instanceof Map) {
+                keys = ((Map<?, ?>) rows.peek()).keySet().toArray(new String[0]);
+                targets = resolve(keys);
+            } else if (targets == null) {
+                targets = table.fields();
+            }
+            if (keys == null) {
+                keys = Arrays.stream(targets).map(field -> field == null ? null : field.getName())
+                        .toArray(String[]::new);
+            }
+            Field<?>[] jsonFields = targets;
+            ArrayIterator arrays = new ArrayIterator(rows, keys);
+            List<Loader<R>> loaders = run(1,
+                    i -> write(options -> options.loadArrays(arrays).fields(jsonFields)));
+            return result(loaders, start);
+        }
+    }
+
+    private List<Loader<R>> run(int parts, Part<R> part) {
+        if (parts == 1) {
+            return Arrays.asList(part.write(0));
+        }
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parts, runnable -> {
+            Thread thread = new Thread(runnable, "jooq-bulk-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Loader<R>>> futures = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> part.write(index)));
+            }
+            List<Loader<R>> loaders = new ArrayList<>(parts);
+            Throwable failure = null;
+            for (Future<Loader<R>> future : futures) {
+                try {
+                    loaders.add(future.get());
+                } catch (ExecutionException e) {
+                    failure = failure == null ? e.getCause() : failure;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DataAccessException("Bulk load interrupted: " + table.getName(), e);
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure != null) {
+                throw new DataAccessException("Bulk load failed: " + table.getName(), failure);
+            }
+            return loaders;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * One writer: its own connection, committed every "commitSize" rows
+     */
+    private Loader<R> write(Source<R> source) {
+        return dsl.connectionResult(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                DSLContext writer = DSL.using(dsl.configuration().derive(new DefaultConnectionProvider(connection)));
+                LoaderOptionsStep<R> options = writer.loadInto(table).commitAfter(commitSize);
+                if (onDuplicateKeyIgnore) {
+                    options = options.onDuplicateKeyIgnore().batchNone(); // jOOQ counts the ignored rows one by one
+                } else {
+                    options = options.batchAfter(batchSize);
+                }
+                if (onDuplicateKeyUpdate) {
+                    options = options.onDuplicateKeyUpdate();
+                }
+                if (onErrorIgnore) {
+                    options = options.onErrorIgnore();
+                }
+                return source.apply(options).execute();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private BulkLoadResult result(List<Loader<R>> loaders, long start) {
+        int processed = 0;
+        int stored = 0;
+        int ignored = 0;
+        List<LoaderError> errors = new ArrayList<>();
+        for (Loader<R> loader : loaders) {
+            processed += loader.processed();
+            stored += loader.stored();
+            ignored += loader.ignored();
+            errors.addAll(loader.errors());
+        }
+        BulkLoadResult result = new BulkLoadResult(table.getName(), processed, stored, ignored, errors,
+                System.nanoTime() - start);
+        log.infov("Bulk load {0}: {1} rows stored in {2} ms, {3} rows/s, {4} ignored, {5} errors", table.getName(),
+                String.valueOf(stored), String.valueOf(result.getElapsedNanos() / 1_000_000),
+                String.valueOf(Math.round(result.getRowsPerSecond())), String.valueOf(ignored), errors.size());
+        return result;
+    }
+
+    /**
+     * Start offsets of the parts of the file, each at the beginning of a line, followed by the end of the file
+     */
+    private long[] split(FileChannel channel, long offset, long size) throws IOException {
+        long length = size - offset;
+        int parts = (int) Math.max(1, Math.min(writers, length / MIN_PART_SIZE + 1));
+        List<Long> bounds = new ArrayList<>(parts + 1);
+        bounds.add(offset);
+        for (int i = 1; i < parts; i++) {
+            long position = offset + length * i / parts;
+            long lineStart = position + readLine(channel, position).length;
+            if (lineStart > bounds.get(bounds.size() - 1) && lineStart < size) {
+                bounds.add(lineStart);
+            }
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * @return the bytes from the position up to and including the next line feed
+     */
+    private static byte[] readLine(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long current = position;
+        while (true) {
+            buffer.clear();
+            int n = channel.read(buffer, current);
+            if (n <= 0) {
+                return line.toByteArray();
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buffer.get(i);
+                line.write(b);
+                if (b == '\n') {
+                    return line.toByteArray();
+                }
+            }
+            current += n;
+        }
+    }
+
+    private String[] parseHeader(String line) {
+        String trimmed = line.replace("\uFEFF", "").replaceAll("[\r\n]+$", "");
+        List<String> names = new ArrayList<>();
+        StringBuilder name = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == quote) {
+                quoted = !quoted;
+            } else if (c == separator && !quoted) {
+                names.add(name.toString().trim());
+                name.setLength(0);
+            } else {
+                name.append(c);
+            }
+        }
+        names.add(name.toString().trim());
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Column names to fields of the table, ignoring case, null for the unknown columns (skipped by the loader)
+     */
+    private Field<?>[] resolve(String[] names) {
+        Field<?>[] resolved = new Field<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Field<?> field = table.field(names[i]);
+            if (field == null) {
+                for (Field<?> candidate : table.fields()) {
+                    if (candidate.getName().equalsIgnoreCase(names[i])) {
+                        field = candidate;
+                        break;
+                    }
+                }
+            }
+            if (field == null) {
+                log.debugv("resolve: {0}, unknown column skipped: {1}", table.getName(), names[i]);
+            }
+            resolved[i] = field;
+        }
+        return resolved;
+    }
+
+    @FunctionalInterface
+    private interface Source<R extends Record> {
+
+        LoaderLoadStep<R> apply(LoaderOptionsStep<R> options) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Part<R extends Record> {
+
+        Loader<R> write(int index);
+    }
+
+    /**
+     * The JSON rows as arrays of values, the values of the object rows in the order of the keys
+     */
+    private static final class ArrayIterator implements Iterator<Object[]> {
+
+        private final JsonRowIterator rows;
+
+        private final String[] keys;
+
+        ArrayIterator(JsonRowIterator rows, String[] keys) {
+            this.rows = rows;
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public Object[] next() {
+            Object row = rows.next();
+            if (row instanceof List) {
+                return ((List<?>) row).toArray();
+            }
+            Map<?, ?> values = (Map<?, ?>) row;
+            Object[] array = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                array[i] = values.get(keys[i]);
+            }
+            return array;
+        }
+    }
+}
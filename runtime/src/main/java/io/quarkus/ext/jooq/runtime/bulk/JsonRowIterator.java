@@ -0,0 +1,194 @@
+package io.quarkus.ext.jooq.runtime.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.jooq.exception.DataAccessException;
+import org.jooq.tools.json.ContentHandler;
+import org.jooq.tools.json.JSONParser;
+import org.jooq.tools.json.ParseException;
+
+/**
+ * Pulls the rows of a JSON document one at a time, by pausing the parser after every row. The rows are either the
+ * elements of a top level array, or of the "records" array of the format written by jOOQ's formatJSON(), whose
+ * "fields" names are collected on the way. A row is a List of values, or a Map of column name to value.
+ * 
+ * @author Leo Tu
+ */
+final class JsonRowIterator implements Iterator<Object>, ContentHandler {
+
+    private final JSONParser parser = new JSONParser();
+
+    private final Reader reader;
+
+    private final List<String> fieldNames = new ArrayList<>();
+
+    private boolean started;
+
+    private boolean done;
+
+    private Object next;
+
+    private int depth;
+
+    private int recordsDepth = -1;
+
+    private int fieldsDepth = -1;
+
+    private String key;
+
+    private List<Object> array;
+
+    private Map<String, Object> object;
+
+    JsonRowIterator(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the "fields" names of the document, read so far
+     */
+    List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                parser.parse(reader, this, started);
+                started = true;
+            } catch (ParseException e) {
+                throw new DataAccessException("Invalid JSON: " + e, e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * @return the row next() would return, null if none
+     */
+    Object peek() {
+        return hasNext() ? next : null;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void startJSON() {
+    }
+
+    @Override
+    public void endJSON() {
+        done = true;
+    }
+
+    @Override
+    public boolean startObject() {
+        depth++;
+        if (isRow()) {
+            object = new LinkedHashMap<>();
+        } else {
+            checkNotNested();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        boolean row = object != null && isRow();
+        depth--;
+        if (row) {
+            next = object;
+            object = null;
+            return false; // pause
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        this.key = key;
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        depth++;
+        if (depth == 1) {
+            recordsDepth = 1;
+        } else if (depth == 2 && "records".equals(key) && object == null) {
+            recordsDepth = 2;
+        } else if (depth == 2 && "fields".equals(key) && object == null) {
+            fieldsDepth = 2;
+        } else if (isRow()) {
+            array = new ArrayList<>();
+        } else {
+            checkNotNested();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        boolean row = array != null && isRow();
+        if (depth == recordsDepth) {
+            recordsDepth = -1;
+        } else if (depth == fieldsDepth) {
+            fieldsDepth = -1;
+        }
+        depth--;
+        if (row) {
+            next = array;
+            array = null;
+            return false; // pause
+        }
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        if (array != null) {
+            array.add(value);
+        } else if (object != null) {
+            object.put(key, value);
+        } else if (fieldsDepth > 0 && depth == fieldsDepth) {
+            fieldNames.add(String.valueOf(value));
+        } else if (fieldsDepth > 0 && depth == fieldsDepth + 1 && "name".equals(key)) {
+            fieldNames.add(String.valueOf(value));
+        }
+        return true;
+    }
+
+    private boolean isRow() {
+        return recordsDepth > 0 && depth == recordsDepth + 1;
+    }
+
+    private void checkNotNested() {
+        if (array != null || object != null) {
+            throw new DataAccessException("Nested JSON values are not supported in a row");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.Set;
+
+import org.jooq.ExecuteContext;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DefaultExecuteListener;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+
+/**
+ * First-level memoization, "quarkus.jooq.[name].request-cache=true": an identical SELECT with identical bind values
+ * returns the result already fetched within the same JTA transaction or, outside of transactions, the same CDI
+ * request. Any other statement of the DSLContext drops the results read from the tables it touches. Without an active
+ * transaction or request nothing is memoized.
+ * 
+ * @author Leo Tu
+ */
+public class RequestCacheListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final String contextName;
+
+    private final String resourceKey;
+
+    private transient volatile RequestResultCaches requestCaches;
+
+    public RequestCacheListener(String contextName) {
+        this.contextName = contextName;
+        this.resourceKey = RequestCacheListener.class.getName() + "." + contextName;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        ScopedResultCache cache = scope();
+        if (cache == null) {
+            return;
+        }
+        if (ResultCacheListener.isWrite(ctx)) {
+            cache.invalidate(ResultCacheListener.writtenTables(ctx));
+            return;
+        }
+        ResultCacheStatement.unwrapExecuted(ctx);
+        String sql = ctx.sql();
+        Query query = ctx.query();
+        if (ctx.statement() == null || query == null || SqlTables.isLocking(sql)
+                || ResultCacheStatement.isServed(ctx)) {
+            return;
+        }
+        ResultCache.Key key = new ResultCache.Key(sql, query.getBindValues().toArray());
+        Result<Record> result = cache.get(key);
+        if (result != null) {
+            ResultCacheStatement.of(ctx).serve(result);
+        } else {
+            Set<String> tables = SqlTables.of(sql);
+            if (!tables.isEmpty()) {
+                ResultCacheStatement.of(ctx).onResult(fetched -> cache.put(key, fetched, tables));
+            }
+        }
+    }
+
+    /**
+     * @return null if neither a transaction nor a request is active
+     */
+    private ScopedResultCache scope() {
+        ArcContainer container = Arc.container();
+        if (container == null) {
+            return null;
+        }
+        if (JtaTransactions.isActive()) {
+            ScopedResultCache cache = (ScopedResultCache) JtaTransactions.getResource(resourceKey);
+            if (cache == null) {
+                cache = new ScopedResultCache();
+                JtaTransactions.putResource(resourceKey, cache, null);
+            }
+            return cache;
+        }
+        if (container.requestContext().isActive()) {
+            RequestResultCaches caches = requestCaches;
+            if (caches == null) {
+                caches = requestCaches = container.instance(RequestResultCaches.class).get(); // client proxy
+            }
+            return caches.get(contextName);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.RequestScoped;
+
+/**
+ * The request scoped results of every DSLContext with "quarkus.jooq.[name].request-cache=true", added as a bean only
+ * if one has
+ * 
+ * @author Leo Tu
+ */
+@RequestScoped
+public class RequestResultCaches {
+
+    private final Map<String, ScopedResultCache> caches = new ConcurrentHashMap<>();
+
+    ScopedResultCache get(String contextName) {
+        return caches.computeIfAbsent(contextName, name -> new ScopedResultCache());
+    }
+}
@@ -0,0 +1,239 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
+
+import io.quarkus.ext.jooq.runtime.table.JooqTables;
+
+/**
+ * Second-level result cache of one DSLContext, "quarkus.jooq.[name].result-cache.enabled=true". The SELECT results
+ * are keyed by SQL plus bind values and expire after the TTL. The DML executed through the DSLContext evicts the
+ * results read from the tables it touches, tables being the jOOQ generated ones.
+ * 
+ * The cache is bounded in cells (rows x columns), the oldest results are evicted first. The lookups are lock free,
+ * the changes are serialized on the insertion order of the entries.
+ * 
+ * @author Leo Tu
+ */
+public final class ResultCache {
+
+    private static final Map<String, ResultCache> CONTEXTS = new ConcurrentHashMap<>();
+
+    private final String contextName;
+
+    private final long ttlNanos;
+
+    private final long maxSize;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Same entries as "entries", oldest first, guards the changes of both
+     */
+    private final LinkedHashMap<Key, Entry> order = new LinkedHashMap<>();
+
+    private volatile long size;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private ResultCache(String contextName, long ttlNanos, long maxSize) {
+        this.contextName = contextName;
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+    }
+
+    public static ResultCache create(String contextName, long ttlNanos, long maxSize) {
+        ResultCache cache = new ResultCache(contextName, ttlNanos, maxSize);
+        CONTEXTS.put(contextName, cache);
+        return cache;
+    }
+
+    /**
+     * @return null if the DSLContext has no result cache
+     */
+    public static ResultCache of(String contextName) {
+        return CONTEXTS.get(contextName);
+    }
+
+    public static Collection<ResultCache> all() {
+        return Collections.unmodifiableCollection(CONTEXTS.values());
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public int getEntries() {
+        return entries.size();
+    }
+
+    /**
+     * In cells, rows x columns
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * For writes done behind the back of the DSLContext
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (order) {
+            order.clear();
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @param tables qualified table names, see {@link JooqTables#nameOf(Table)}
+     */
+    public void invalidate(Set<String> tables) {
+        generation.incrementAndGet();
+        synchronized (order) {
+            for (Iterator<Entry> it = order.values().iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                if (!Collections.disjoint(entry.tables, tables)) {
+                    it.remove();
+                    entries.remove(entry.key);
+                    size -= entry.weight;
+                }
+            }
+        }
+    }
+
+    Result<Record> get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expires > 0) {
+            remove(entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Incremented by every invalidation: a result read while a write was executing is not cached
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    void put(Key key, Result<Record> result, Set<String> tables, long readGeneration) {
+        long weight = (long) result.size() * result.fields().length;
+        if (weight > maxSize || generation.get() != readGeneration) {
+            return;
+        }
+        Entry entry = new Entry(key, result, tables, System.nanoTime() + ttlNanos, Math.max(weight, 1));
+        synchronized (order) {
+            if (generation.get() != readGeneration) { // invalidated meanwhile
+                return;
+            }
+            Entry previous = order.remove(key); // re-inserted last
+            if (previous != null) {
+                size -= previous.weight;
+            }
+            order.put(key, entry);
+            entries.put(key, entry);
+            size += entry.weight;
+            for (Iterator<Entry> it = order.values().iterator(); size > maxSize && it.hasNext();) {
+                Entry eldest = it.next();
+                it.remove();
+                entries.remove(eldest.key);
+                size -= eldest.weight;
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        synchronized (order) {
+            if (order.remove(entry.key, entry)) {
+                entries.remove(entry.key);
+                size -= entry.weight;
+            }
+        }
+    }
+
+    static final class Key {
+
+        private final String sql;
+
+        private final Object[] binds;
+
+        private final int hash;
+
+        Key(String sql, Object[] binds) {
+            this.sql = sql;
+            this.binds = binds;
+            this.hash = 31 * sql.hashCode() + Arrays.deepHashCode(binds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && sql.equals(other.sql) && Arrays.deepEquals(binds, other.binds);
+        }
+    }
+
+    private static final class Entry {
+
+        final Key key;
+
+        final Result<Record> result;
+
+        final Set<String> tables;
+
+        final long expires;
+
+        final long weight;
+
+        Entry(Key key, Result<Record> result, Set<String> tables, long expires, long weight) {
+            this.key = key;
+            this.result = result;
+            this.tables = tables;
+            this.expires = expires;
+            this.weight = weight;
+        }
+    }
+}
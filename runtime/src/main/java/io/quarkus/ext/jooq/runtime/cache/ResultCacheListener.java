@@ -0,0 +1,179 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionListener;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultTransactionListener;
+
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+
+/**
+ * Serves cacheable SELECTs from the {@link ResultCache}, see {@link ResultCacheStatement}, and
+ * invalidates the cache for every other statement, before and after its execution. Inside a JTA or jOOQ transaction
+ * the written tables are invalidated again once it completes, see {@link TransactionWrites}. Shared by all the
+ * executions of a DSLContext.
+ * 
+ * @author Leo Tu
+ */
+public class ResultCacheListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResultCache cache;
+
+    private final String resourceKey;
+
+    /**
+     * The jOOQ transactions of the thread, innermost first
+     */
+    private final transient ThreadLocal<Deque<TransactionWrites>> localTransactions = ThreadLocal
+            .withInitial(ArrayDeque::new);
+
+    private final transient TransactionListener transactionListener = new LocalTransactionListener();
+
+    public ResultCacheListener(ResultCache cache) {
+        this.cache = cache;
+        this.resourceKey = ResultCacheListener.class.getName() + "." + cache.getContextName();
+    }
+
+    /**
+     * Tracks the jOOQ transactions of the DSLContext, see DSLContext.transaction()
+     */
+    public TransactionListener getTransactionListener() {
+        return transactionListener;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        if (isWrite(ctx)) {
+            invalidate(ctx);
+            TransactionWrites writes = transactionWrites(true);
+            if (writes != null) {
+                writes.add(writtenTables(ctx));
+            }
+            return;
+        }
+        TransactionWrites writes = transactionWrites(false);
+        if (writes != null && !writes.isEmpty()) { // would read, or cache, its own uncommitted rows
+            return;
+        }
+        ResultCacheStatement.unwrapExecuted(ctx);
+        String sql = ctx.sql();
+        Query query = ctx.query();
+        if (ctx.statement() == null || query == null || SqlTables.isLocking(sql)
+                || ResultCacheStatement.isServed(ctx)) {
+            return;
+        }
+        ResultCache.Key key = new ResultCache.Key(sql, query.getBindValues().toArray());
+        Result<Record> result = cache.get(key);
+        if (result != null) {
+            ResultCacheStatement.of(ctx).serve(result);
+        } else {
+            Set<String> tables = SqlTables.of(sql);
+            if (!tables.isEmpty()) { // results of unknown tables could not be invalidated
+                long generation = cache.generation();
+                ResultCacheStatement.of(ctx).onResult(fetched -> cache.put(key, fetched, tables, generation));
+            }
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        if (isWrite(ctx)) {
+            invalidate(ctx);
+        }
+    }
+
+    /**
+     * @param register creates and registers the writes of the current JTA transaction if missing
+     * @return null outside of transactions
+     */
+    private TransactionWrites transactionWrites(boolean register) {
+        TransactionWrites local = localTransactions.get().peekFirst();
+        if (local != null) {
+            return local;
+        }
+        if (!JtaTransactions.isActive()) {
+            return null;
+        }
+        TransactionWrites writes = (TransactionWrites) JtaTransactions.getResource(resourceKey);
+        if (writes == null && register) {
+            writes = new TransactionWrites(cache);
+            JtaTransactions.putResource(resourceKey, writes, writes);
+        }
+        return writes;
+    }
+
+    static boolean isWrite(ExecuteContext ctx) {
+        return ctx.type() != ExecuteType.READ || ctx.sql() == null || !SqlTables.isSelect(ctx.sql());
+    }
+
+    private void invalidate(ExecuteContext ctx) {
+        Set<String> tables = writtenTables(ctx);
+        if (tables.isEmpty()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(tables);
+        }
+    }
+
+    /**
+     * @return empty if unknown: a routine, or no generated table found in the SQL
+     */
+    static Set<String> writtenTables(ExecuteContext ctx) {
+        if (ctx.type() == ExecuteType.ROUTINE) {
+            return Collections.emptySet();
+        }
+        if (ctx.sql() != null) {
+            return SqlTables.of(ctx.sql());
+        }
+        Set<String> tables = new HashSet<>();
+        for (String sql : ctx.batchSQL()) {
+            tables.addAll(SqlTables.of(sql));
+        }
+        return tables;
+    }
+
+    private final class LocalTransactionListener extends DefaultTransactionListener {
+
+        @Override
+        public void beginEnd(TransactionContext ctx) {
+            localTransactions.get().addFirst(new TransactionWrites(cache));
+        }
+
+        @Override
+        public void commitEnd(TransactionContext ctx) {
+            end();
+        }
+
+        @Override
+        public void rollbackEnd(TransactionContext ctx) {
+            end();
+        }
+
+        private void end() {
+            Deque<TransactionWrites> transactions = localTransactions.get();
+            TransactionWrites writes = transactions.pollFirst();
+            if (writes == null) {
+                return;
+            }
+            TransactionWrites enclosing = transactions.peekFirst();
+            if (enclosing != null) {
+                enclosing.addAll(writes);
+            } else {
+                writes.invalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jooq.ExecuteContext;
+import org.jooq.Field;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.DefaultPreparedStatement;
+import org.jooq.tools.jdbc.MockResultSet;
+
+/**
+ * Replaces the prepared statement of a cacheable SELECT at executeStart. A result served by a cache is returned
+ * without executing the statement, otherwise the statement is executed and its ResultSet read into a Result. Either
+ * way the result is handed to the caches that missed it. One wrapper per execution, shared by the cache listeners.
+ * 
+ * @author Leo Tu
+ */
+final class ResultCacheStatement extends DefaultPreparedStatement {
+
+    private static final Settings READ_SETTINGS = new Settings().withExecuteLogging(false);
+
+    private static final Field<?>[] NO_FIELDS = new Field<?>[0];
+
+    private final SQLDialect dialect;
+
+    private final Field<?>[] fields;
+
+    private final List<Consumer<Result<Record>>> sinks = new ArrayList<>(2);
+
+    private Result<Record> result;
+
+    private ResultSet resultSet;
+
+    private boolean executed;
+
+    /**
+     * @param fields the SELECT fields, read with their bindings and converters, or empty for plain SQL
+     */
+    private ResultCacheStatement(PreparedStatement delegate, SQLDialect dialect, Field<?>[] fields) {
+        super(delegate);
+        this.dialect = dialect;
+        this.fields = fields;
+    }
+
+    /**
+     * @return the wrapper of this execution, created if no other listener did
+     */
+    static ResultCacheStatement of(ExecuteContext ctx) {
+        unwrapExecuted(ctx);
+        if (ctx.statement() instanceof ResultCacheStatement) {
+            return (ResultCacheStatement) ctx.statement();
+        }
+        Query query = ctx.query();
+        Field<?>[] fields = query instanceof Select ? ((Select<?>) query).getSelect().toArray(NO_FIELDS) : NO_FIELDS;
+        ResultCacheStatement statement = new ResultCacheStatement(ctx.statement(), ctx.dialect(), fields);
+        ctx.statement(statement);
+        return statement;
+    }
+
+    /**
+     * A statement kept by "Query.keepStatement(true)" still holds the wrapper of its previous execution
+     */
+    static void unwrapExecuted(ExecuteContext ctx) {
+        PreparedStatement statement = ctx.statement();
+        while (statement instanceof ResultCacheStatement && ((ResultCacheStatement) statement).executed) {
+            statement = ((ResultCacheStatement) statement).getDelegate();
+            ctx.statement(statement);
+        }
+    }
+
+    /**
+     * @return whether a cache already served this execution
+     */
+    static boolean isServed(ExecuteContext ctx) {
+        PreparedStatement statement = ctx.statement();
+        return statement instanceof ResultCacheStatement && !((ResultCacheStatement) statement).executed
+                && ((ResultCacheStatement) statement).result != null;
+    }
+
+    void serve(Result<Record> cached) {
+        if (result == null) {
+            result = cached;
+        }
+    }
+
+    /**
+     * @param sink receives the result once executed, or served by another cache
+     */
+    void onResult(Consumer<Result<Record>> sink) {
+        sinks.add(sink);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        executed = true;
+        if (result == null) {
+            if (!getDelegate().execute()) {
+                return false;
+            }
+            try (ResultSet rs = getDelegate().getResultSet()) {
+                result = fields.length == 0
+                        ? DSL.using(dialect, READ_SETTINGS).fetch(rs)
+                        : DSL.using(dialect, READ_SETTINGS).fetch(rs, fields);
+            }
+        }
+        for (Consumer<Result<Record>> sink : sinks) {
+            sink.accept(result);
+        }
+        resultSet = new MockResultSet(result);
+        return true;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        execute();
+        return resultSet;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return resultSet;
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return -1;
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        resultSet = null;
+        return false;
+    }
+}
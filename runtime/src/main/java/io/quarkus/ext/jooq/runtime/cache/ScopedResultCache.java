@@ -0,0 +1,87 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jooq.Record;
+import org.jooq.Result;
+
+/**
+ * The results memoized by one DSLContext within one request or one transaction, dropped with it
+ * 
+ * @author Leo Tu
+ */
+final class ScopedResultCache {
+
+    /**
+     * In cells (rows x columns), a scope reading more than this stops memoizing
+     */
+    static final long MAX_SIZE = 100_000;
+
+    private final Map<ResultCache.Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Guarded by this
+     */
+    private long size;
+
+    Result<Record> get(ResultCache.Key key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.result;
+    }
+
+    void put(ResultCache.Key key, Result<Record> result, Set<String> tables) {
+        long weight = (long) result.size() * result.fields().length;
+        synchronized (this) {
+            Entry previous = entries.get(key);
+            long replaced = previous == null ? 0 : previous.weight;
+            if (size - replaced + weight <= MAX_SIZE) {
+                entries.put(key, new Entry(result, tables, weight));
+                size += weight - replaced;
+            }
+        }
+    }
+
+    /**
+     * @param tables empty to clear everything
+     */
+    synchronized void invalidate(Set<String> tables) {
+        if (tables.isEmpty()) {
+            entries.clear();
+            size = 0;
+            return;
+        }
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (!Collections.disjoint(entry.tables, tables)) {
+                it.remove();
+                size -= entry.weight;
+            }
+        }
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    private static final class Entry {
+
+        final Result<Record> result;
+
+        final Set<String> tables;
+
+        /**
+         * In cells, subtracted again when the entry is dropped or replaced
+         */
+        final long weight;
+
+        Entry(Result<Record> result, Set<String> tables, long weight) {
+            this.result = result;
+            this.tables = tables;
+            this.weight = weight;
+        }
+    }
+}
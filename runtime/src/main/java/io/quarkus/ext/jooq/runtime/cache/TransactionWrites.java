@@ -0,0 +1,62 @@
+package io.quarkus.ext.jooq.runtime.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+
+/**
+ * The tables written by one transaction: until it completes, its reads bypass the {@link ResultCache}, and once it
+ * completes, committed or rolled back, the results read from those tables are dropped again. The results cached by
+ * the other threads in the meantime may hold the rows from before the commit.
+ * 
+ * @author Leo Tu
+ */
+final class TransactionWrites implements JtaTransactions.Completion {
+
+    private final ResultCache cache;
+
+    private final Set<String> tables = new HashSet<>();
+
+    private boolean all;
+
+    TransactionWrites(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param written empty if unknown, all the results are dropped then
+     */
+    void add(Set<String> written) {
+        if (written.isEmpty()) {
+            all = true;
+        } else {
+            tables.addAll(written);
+        }
+    }
+
+    boolean isEmpty() {
+        return !all && tables.isEmpty();
+    }
+
+    /**
+     * A nested transaction (savepoint) ended, its writes belong to the enclosing one
+     */
+    void addAll(TransactionWrites nested) {
+        all |= nested.all;
+        tables.addAll(nested.tables);
+    }
+
+    void invalidate() {
+        if (all) {
+            cache.invalidateAll();
+        } else if (!tables.isEmpty()) {
+            cache.invalidate(tables);
+        }
+    }
+
+    @Override
+    public void afterCompletion(boolean committed) {
+        invalidate();
+    }
+}
@@ -0,0 +1,110 @@
+package io.quarkus.ext.jooq.runtime.column;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.jooq.Field;
+
+/**
+ * One column of a ColumnarResult, the values of all the rows in one array
+ * 
+ * @author Leo Tu
+ */
+public abstract class Column {
+
+    static final int INITIAL_CAPACITY = 1024;
+
+    private final Field<?> field;
+
+    int size;
+
+    /**
+     * One bit per row, allocated on the first null
+     */
+    private long[] nulls;
+
+    private int nullCount;
+
+    Column(Field<?> field) {
+        this.field = field;
+    }
+
+    public Field<?> getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * @return number of the rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkIndex(row);
+        int word = row >>> 6;
+        return nulls != null && word < nulls.length && (nulls[word] & (1L << row)) != 0;
+    }
+
+    public int getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @return the rows with a null value
+     */
+    public BitSet getNulls() {
+        return nulls == null ? new BitSet() : BitSet.valueOf(nulls);
+    }
+
+    /**
+     * @return the boxed value, null for a null
+     */
+    public abstract Object get(int row);
+
+    /**
+     * Appends the value of the current row
+     */
+    abstract void read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * Called once all the rows have been read
+     */
+    void trim() {
+        if (nulls != null) {
+            nulls = Arrays.copyOf(nulls, (size + 63) >>> 6);
+        }
+    }
+
+    void setNull(int row) {
+        int word = row >>> 6;
+        if (nulls == null) {
+            nulls = new long[Math.max(INITIAL_CAPACITY >>> 6, word + 1)];
+        } else if (word >= nulls.length) {
+            nulls = Arrays.copyOf(nulls, Math.max(nulls.length << 1, word + 1));
+        }
+        nulls[word] |= 1L << row;
+        nullCount++;
+    }
+
+    void checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    static int grow(int capacity) {
+        return capacity + (capacity >> 1) + 1;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + getName() + ", size=" + size + ", nullCount=" + nullCount + "]";
+    }
+}
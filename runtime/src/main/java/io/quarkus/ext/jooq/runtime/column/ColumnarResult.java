@@ -0,0 +1,161 @@
+package io.quarkus.ext.jooq.runtime.column;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.logging.Logger;
+import org.jooq.Converter;
+import org.jooq.Cursor;
+import org.jooq.Field;
+import org.jooq.ResultQuery;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * A result held as one array per column instead of one Record per row:
+ * 
+ * <pre>
+ * ColumnarResult result = ColumnarResult.fetch(dsl.select(QSalaries.$.empNo, QSalaries.$.salary).from(QSalaries.$));
+ * int[] salaries = result.intColumn(QSalaries.$.salary).getValues();
+ * </pre>
+ * 
+ * Integer, Short and Byte columns are read into an int[], Long into a long[], Double and Float into a double[],
+ * strings are dictionary encoded, the other types (or values with a Converter) are kept as objects. Nulls are marked
+ * in a bitmap per column.
+ * 
+ * @author Leo Tu
+ */
+public final class ColumnarResult {
+    private static final Logger log = Logger.getLogger(ColumnarResult.class);
+
+    private final List<Column> columns;
+
+    private final int size;
+
+    private ColumnarResult(List<Column> columns, int size) {
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Executes the query, the rows are read straight from the JDBC ResultSet
+     * 
+     * @param query attached to a DSLContext
+     */
+    public static ColumnarResult fetch(ResultQuery<?> query) {
+        try (Cursor<?> cursor = query.fetchLazy()) {
+            Field<?>[] fields = cursor.fields();
+            Column[] columns = new Column[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                columns[i] = newColumn(fields[i]);
+            }
+            ResultSet rs = cursor.resultSet();
+            int rows = 0;
+            while (rs.next()) {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i].read(rs, i + 1);
+                }
+                rows++;
+            }
+            for (Column column : columns) {
+                column.trim();
+            }
+            log.debugv("fetch: {0} rows, {1} columns", rows, columns.length);
+            return new ColumnarResult(Collections.unmodifiableList(Arrays.asList(columns)), rows);
+        } catch (SQLException e) {
+            throw new DataAccessException("Columnar fetch failed", e);
+        }
+    }
+
+    private static Column newColumn(Field<?> field) {
+        Converter<?, ?> converter = field.getDataType().getConverter();
+        Class<?> type = field.getType();
+        if (converter.fromType() != type) {
+            return new ObjectColumn(field);
+        } else if (type == Integer.class || type == Short.class || type == Byte.class) {
+            return new IntColumn(field);
+        } else if (type == Long.class) {
+            return new LongColumn(field);
+        } else if (type == Double.class || type == Float.class) {
+            return new DoubleColumn(field);
+        } else if (type == String.class) {
+            return new StringColumn(field);
+        } else {
+            return new ObjectColumn(field);
+        }
+    }
+
+    /**
+     * @return number of the rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public Column column(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the result has no such column
+     */
+    public Column column(String name) {
+        for (Column column : columns) {
+            if (column.getName().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("No column: " + name);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the result has no such column
+     */
+    public Column column(Field<?> field) {
+        for (Column column : columns) {
+            if (column.getField().equals(field)) {
+                return column;
+            }
+        }
+        return column(field.getName());
+    }
+
+    public IntColumn intColumn(Field<?> field) {
+        return column(field, IntColumn.class);
+    }
+
+    public LongColumn longColumn(Field<?> field) {
+        return column(field, LongColumn.class);
+    }
+
+    public DoubleColumn doubleColumn(Field<?> field) {
+        return column(field, DoubleColumn.class);
+    }
+
+    public StringColumn stringColumn(Field<?> field) {
+        return column(field, StringColumn.class);
+    }
+
+    public ObjectColumn objectColumn(Field<?> field) {
+        return column(field, ObjectColumn.class);
+    }
+
+    private <C extends Column> C column(Field<?> field, Class<C> type) {
+        Column column = column(field);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + ": " + column);
+        }
+        return type.cast(column);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[size=" + size + ", columns=" + columns + "]";
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.ext.jooq.runtime.column;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.jooq.Field;
+
+/**
+ * A column of long values, a null is read as 0L
+ * 
+ * @author Leo Tu
+ */
+public final class LongColumn extends Column {
+
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    LongColumn(Field<?> field) {
+        super(field);
+    }
+
+    /**
+     * @return 0L for a null, see isNull(int)
+     */
+    public long getLong(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /**
+     * @return the values of all the rows, not a copy
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    void read(ResultSet rs, int index) throws SQLException {
+        long value = rs.getLong(index);
+        if (rs.wasNull()) {
+            setNull(size);
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(values.length));
+        }
+        values[size++] = value;
+    }
+
+    @Override
+    void trim() {
+        super.trim();
+        values = Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,60 @@
+package io.quarkus.ext.jooq.runtime.column;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.jooq.Converter;
+import org.jooq.Field;
+import org.jooq.tools.Convert;
+
+/**
+ * A column of the other types, e.g. dates, decimals or values with a Converter
+ * 
+ * @author Leo Tu
+ */
+public final class ObjectColumn extends Column {
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private final Converter<Object, Object> converter;
+
+    @SuppressWarnings("unchecked")
+    ObjectColumn(Field<?> field) {
+        super(field);
+        this.converter = (Converter<Object, Object>) field.getDataType().getConverter();
+    }
+
+    @Override
+    public Object get(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    /**
+     * @return the values of all the rows, not a copy
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    @Override
+    void read(ResultSet rs, int index) throws SQLException {
+        Object value = rs.getObject(index);
+        if (value == null) {
+            setNull(size);
+        } else {
+            value = converter.from(Convert.convert(value, converter.fromType()));
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(values.length));
+        }
+        values[size++] = value;
+    }
+
+    @Override
+    void trim() {
+        super.trim();
+        values = Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,90 @@
+package io.quarkus.ext.jooq.runtime.column;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.Field;
+
+/**
+ * A dictionary encoded column of strings: every distinct value is kept once, the rows hold its code
+ * 
+ * @author Leo Tu
+ */
+public final class StringColumn extends Column {
+
+    /**
+     * The code of a null
+     */
+    public static final int NULL_CODE = -1;
+
+    private int[] codes = new int[INITIAL_CAPACITY];
+
+    private List<String> dictionary = new ArrayList<>();
+
+    private Map<String, Integer> lookup = new HashMap<>();
+
+    StringColumn(Field<?> field) {
+        super(field);
+    }
+
+    @Override
+    public String get(int row) {
+        int code = getCode(row);
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    /**
+     * @return the index in the dictionary, NULL_CODE for a null
+     */
+    public int getCode(int row) {
+        checkIndex(row);
+        return codes[row];
+    }
+
+    /**
+     * @return the codes of all the rows, not a copy
+     */
+    public int[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * @return the distinct values, in order of first appearance
+     */
+    public List<String> getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    void read(ResultSet rs, int index) throws SQLException {
+        String value = rs.getString(index);
+        int code;
+        if (value == null) {
+            setNull(size);
+            code = NULL_CODE;
+        } else {
+            code = lookup.computeIfAbsent(value, v -> {
+                dictionary.add(v);
+                return dictionary.size() - 1;
+            });
+        }
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, grow(codes.length));
+        }
+        codes[size++] = code;
+    }
+
+    @Override
+    void trim() {
+        super.trim();
+        codes = Arrays.copyOf(codes, size);
+        dictionary = Collections.unmodifiableList(Arrays.asList(dictionary.toArray(new String[0])));
+        lookup = null;
+    }
+}
@@ -0,0 +1,117 @@
+package io.quarkus.ext.jooq.runtime.export;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+
+import org.jooq.Converter;
+import org.jooq.EnumType;
+import org.jooq.Field;
+import org.jooq.tools.Convert;
+
+/**
+ * Reads one column of the current row of a ResultSet as text, chosen once per column from the type of its field
+ * 
+ * @author Leo Tu
+ */
+final class ColumnEncoder {
+
+    private enum Kind {
+        INT, LONG, DOUBLE, DECIMAL, BOOLEAN, STRING, BYTES, OBJECT
+    }
+
+    private final String name;
+
+    private final Kind kind;
+
+    private final Converter<Object, Object> converter;
+
+    /**
+     * Some drivers return the ordinal of an enum column from getObject
+     */
+    private final boolean enumType;
+
+    @SuppressWarnings("unchecked")
+    private ColumnEncoder(String name, Kind kind, Converter<?, ?> converter) {
+        this.name = name;
+        this.kind = kind;
+        this.converter = (Converter<Object, Object>) converter;
+        this.enumType = EnumType.class.isAssignableFrom(converter.fromType()) || converter.fromType().isEnum();
+    }
+
+    static ColumnEncoder of(Field<?> field) {
+        Converter<?, ?> converter = field.getDataType().getConverter();
+        Class<?> type = field.getType();
+        Kind kind;
+        if (converter.fromType() != type) {
+            kind = Kind.OBJECT;
+        } else if (type == Integer.class || type == Short.class || type == Byte.class) {
+            kind = Kind.INT;
+        } else if (type == Long.class) {
+            kind = Kind.LONG;
+        } else if (type == Double.class || type == Float.class) {
+            kind = Kind.DOUBLE;
+        } else if (type == BigDecimal.class) {
+            kind = Kind.DECIMAL;
+        } else if (type == Boolean.class) {
+            kind = Kind.BOOLEAN;
+        } else if (type == String.class) {
+            kind = Kind.STRING;
+        } else if (type == byte[].class) {
+            kind = Kind.BYTES;
+        } else {
+            kind = Kind.OBJECT;
+        }
+        return new ColumnEncoder(field.getName(), kind, converter);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return true for numbers and booleans, which are not quoted in JSON
+     */
+    boolean isLiteral() {
+        return kind != Kind.STRING && kind != Kind.BYTES && kind != Kind.OBJECT;
+    }
+
+    /**
+     * @return null for a null, or a number which is not finite. Binary values are base64.
+     */
+    String text(ResultSet rs, int index) throws SQLException {
+        switch (kind) {
+        case INT:
+            int i = rs.getInt(index);
+            return rs.wasNull() ? null : Integer.toString(i);
+        case LONG:
+            long l = rs.getLong(index);
+            return rs.wasNull() ? null : Long.toString(l);
+        case DOUBLE:
+            double d = rs.getDouble(index);
+            return rs.wasNull() || Double.isNaN(d) || Double.isInfinite(d) ? null : Double.toString(d);
+        case DECIMAL:
+            BigDecimal decimal = rs.getBigDecimal(index);
+            return decimal == null ? null : decimal.toPlainString();
+        case BOOLEAN:
+            boolean b = rs.getBoolean(index);
+            return rs.wasNull() ? null : Boolean.toString(b);
+        case STRING:
+            return rs.getString(index);
+        case BYTES:
+            byte[] bytes = rs.getBytes(index);
+            return bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+        default:
+            Object value = enumType ? rs.getString(index) : rs.getObject(index);
+            if (value == null) {
+                return null;
+            }
+            value = converter.from(Convert.convert(value, converter.fromType()));
+            if (value instanceof byte[]) { // a converter to binary
+                return Base64.getEncoder().encodeToString((byte[]) value);
+            }
+            return value instanceof EnumType ? ((EnumType) value).getLiteral() : String.valueOf(value);
+        }
+    }
+}
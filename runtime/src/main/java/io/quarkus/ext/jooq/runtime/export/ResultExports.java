@@ -0,0 +1,277 @@
+package io.quarkus.ext.jooq.runtime.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.jooq.Cursor;
+import org.jooq.Field;
+import org.jooq.ResultQuery;
+import org.jooq.exception.DataAccessException;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.stream.QueryStreams;
+
+/**
+ * Writes the rows of a query as JSON or CSV while they are read from the JDBC ResultSet, without building a Result,
+ * records or POJOs:
+ * 
+ * <pre>
+ * ResultExports.of("dsl1").json(dsl1.selectFrom(QEmployees.$), outputStream);
+ * </pre>
+ * 
+ * JSON is an array of objects keyed by column name, CSV has a header line, binary columns are base64. The text is
+ * UTF-8, the stream is flushed but not closed. The query is read with the streaming mode of {@link QueryStreams}.
+ * 
+ * @author Leo Tu
+ */
+public final class ResultExports {
+    private static final Logger log = Logger.getLogger(ResultExports.class);
+
+    private static final Map<String, ResultExports> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contextName;
+
+    private final QueryStreams streams;
+
+    private ResultExports(String contextName, QueryStreams streams) {
+        this.contextName = contextName;
+        this.streams = streams;
+    }
+
+    /**
+     * Called once the DSLContext has been created
+     */
+    public static ResultExports create(String contextName, QueryStreams streams) {
+        ResultExports exports = new ResultExports(contextName, streams);
+        CONTEXTS.put(contextName, exports);
+        return exports;
+    }
+
+    /**
+     * The exports of the default DSLContext
+     */
+    public static ResultExports of() {
+        return of(AbstractDslContextProducer.DEFAULT_NAME);
+    }
+
+    /**
+     * Creates the DSLContext bean if not done yet
+     * 
+     * @throws IllegalStateException if there is no DSLContext of that name
+     */
+    public static ResultExports of(String contextName) {
+        ResultExports exports = CONTEXTS.get(contextName);
+        if (exports == null && AbstractDslContextProducer.createDslContextBean(contextName)) {
+            exports = CONTEXTS.get(contextName);
+        }
+        if (exports == null) {
+            throw new IllegalStateException("No DSLContext: " + contextName);
+        }
+        return exports;
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * @return number of the rows written
+     */
+    public long json(ResultQuery<?> query, OutputStream out) {
+        return streams.read(query, cursor -> json(cursor, out));
+    }
+
+    public long json(ResultQuery<?> query, WritableByteChannel channel) {
+        return json(query, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Writes the rest of the cursor, which is not closed
+     */
+    public long json(Cursor<?> cursor, OutputStream out) {
+        long start = System.nanoTime();
+        ColumnEncoder[] encoders = encoders(cursor);
+        String[] keys = new String[encoders.length];
+        for (int i = 0; i < encoders.length; i++) {
+            StringBuilder key = new StringBuilder(i == 0 ? "{" : ",");
+            appendJson(key, encoders[i].getName());
+            keys[i] = key.append(':').toString();
+        }
+        long rows = 0;
+        try {
+            Writer writer = writer(out);
+            ResultSet rs = cursor.resultSet();
+            StringBuilder text = new StringBuilder();
+            writer.write('[');
+            while (rs.next()) {
+                if (rows++ > 0) {
+                    writer.write(',');
+                }
+                for (int i = 0; i < encoders.length; i++) {
+                    writer.write(keys[i]);
+                    String value = encoders[i].text(rs, i + 1);
+                    if (value == null) {
+                        writer.write("null");
+                    } else if (encoders[i].isLiteral()) {
+                        writer.write(value);
+                    } else {
+                        text.setLength(0);
+                        appendJson(text, value);
+                        writer.append(text);
+                    }
+                }
+                writer.write(encoders.length == 0 ? "{}" : "}");
+            }
+            writer.write(']');
+            writer.flush();
+        } catch (SQLException e) {
+            throw new DataAccessException("JSON export failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debugv("{0} json: {1} rows in {2} ms", contextName, rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Comma separated, empty for a null
+     * 
+     * @return number of the rows written
+     */
+    public long csv(ResultQuery<?> query, OutputStream out) {
+        return csv(query, out, ',', "");
+    }
+
+    public long csv(ResultQuery<?> query, WritableByteChannel channel) {
+        return csv(query, Channels.newOutputStream(channel));
+    }
+
+    public long csv(ResultQuery<?> query, OutputStream out, char separator, String nullString) {
+        return streams.read(query, cursor -> csv(cursor, out, separator, nullString));
+    }
+
+    /**
+     * Writes the rest of the cursor, which is not closed
+     */
+    public long csv(Cursor<?> cursor, OutputStream out, char separator, String nullString) {
+        long start = System.nanoTime();
+        ColumnEncoder[] encoders = encoders(cursor);
+        long rows = 0;
+        try {
+            Writer writer = writer(out);
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < encoders.length; i++) {
+                if (i > 0) {
+                    text.append(separator);
+                }
+                appendCsv(text, encoders[i].getName(), separator);
+            }
+            writer.append(text).write('\n');
+            ResultSet rs = cursor.resultSet();
+            while (rs.next()) {
+                text.setLength(0);
+                for (int i = 0; i < encoders.length; i++) {
+                    if (i > 0) {
+                        text.append(separator);
+                    }
+                    String value = encoders[i].text(rs, i + 1);
+                    if (value == null) {
+                        text.append(nullString);
+                    } else if (encoders[i].isLiteral()) {
+                        text.append(value);
+                    } else {
+                        appendCsv(text, value, separator);
+                    }
+                }
+                writer.append(text).write('\n');
+                rows++;
+            }
+            writer.flush();
+        } catch (SQLException e) {
+            throw new DataAccessException("CSV export failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debugv("{0} csv: {1} rows in {2} ms", contextName, rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private static ColumnEncoder[] encoders(Cursor<?> cursor) {
+        Field<?>[] fields = cursor.fields();
+        ColumnEncoder[] encoders = new ColumnEncoder[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            encoders[i] = ColumnEncoder.of(fields[i]);
+        }
+        return encoders;
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static void appendJson(StringBuilder text, String value) {
+        text.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                text.append("\\\"");
+                break;
+            case '\\':
+                text.append("\\\\");
+                break;
+            case '\n':
+                text.append("\\n");
+                break;
+            case '\r':
+                text.append("\\r");
+                break;
+            case '\t':
+                text.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    text.append(String.format("\\u%04x", (int) c));
+                } else {
+                    text.append(c);
+                }
+            }
+        }
+        text.append('"');
+    }
+
+    static void appendCsv(StringBuilder text, String value, char separator) {
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == separator || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            text.append(value);
+            return;
+        }
+        text.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                text.append('"');
+            }
+            text.append(c);
+        }
+        text.append('"');
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The time spent waiting for the pool in ConnectionProvider.acquire()
+ * 
+ * @author Leo Tu
+ */
+@Name("io.quarkus.ext.jooq.ConnectionAcquired")
+@Label("jOOQ Connection Acquired")
+@Category({ "jOOQ" })
+@Description("JDBC connection acquired from the data source")
+public class ConnectionAcquiredEvent extends Event {
+
+    @Label("Context")
+    public String contextName;
+}
@@ -0,0 +1,41 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import java.sql.Connection;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+/**
+ * Wraps the ConnectionProvider of a DSLContext to emit {@link ConnectionAcquiredEvent}
+ * 
+ * @author Leo Tu
+ */
+public class JfrConnectionProvider implements ConnectionProvider {
+
+    private final String contextName;
+
+    private final ConnectionProvider delegate;
+
+    public JfrConnectionProvider(String contextName, ConnectionProvider delegate) {
+        this.contextName = contextName;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        ConnectionAcquiredEvent event = new ConnectionAcquiredEvent();
+        event.begin();
+        Connection connection = delegate.acquire();
+        event.end();
+        if (event.shouldCommit()) {
+            event.contextName = contextName;
+            event.commit();
+        }
+        return connection;
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        delegate.release(connection);
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+
+import io.quarkus.ext.jooq.runtime.metrics.QueryFingerprint;
+
+/**
+ * Emits {@link QueryExecutedEvent} and {@link RowsFetchedEvent}. The fingerprint is only computed for the events
+ * that are committed, i.e. while a recording with these events enabled is running.
+ * 
+ * @author Leo Tu
+ */
+public class JfrExecuteListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final String contextName;
+
+    private transient QueryExecutedEvent executed;
+
+    private transient RowsFetchedEvent fetched;
+
+    private transient int rows;
+
+    public JfrExecuteListener(String contextName) {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        executed = new QueryExecutedEvent();
+        executed.begin();
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        fetched = new RowsFetchedEvent();
+        rows = 0;
+        fetched.begin();
+    }
+
+    @Override
+    public void recordEnd(ExecuteContext ctx) {
+        rows++;
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        RowsFetchedEvent event = fetched;
+        if (event == null) {
+            return;
+        }
+        fetched = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.contextName = contextName;
+            event.fingerprint = fingerprint(ctx);
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        commit(ctx, false);
+    }
+
+    @Override
+    public void exception(ExecuteContext ctx) {
+        commit(ctx, true);
+    }
+
+    private void commit(ExecuteContext ctx, boolean failed) {
+        QueryExecutedEvent event = executed;
+        if (event == null) {
+            return;
+        }
+        executed = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.contextName = contextName;
+            event.statementType = String.valueOf(ctx.type());
+            event.fingerprint = fingerprint(ctx);
+            event.rows = ctx.rows();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static String fingerprint(ExecuteContext ctx) {
+        String sql = ctx.sql();
+        if (sql == null) { // batch of several queries
+            String[] batchSql = ctx.batchSQL();
+            sql = batchSql.length > 0 ? batchSql[0] : "";
+        }
+        return QueryFingerprint.of(sql);
+    }
+}
@@ -0,0 +1,23 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+
+/**
+ * One {@link JfrExecuteListener} per execution
+ * 
+ * @author Leo Tu
+ */
+public class JfrExecuteListenerProvider implements ExecuteListenerProvider {
+
+    private final String contextName;
+
+    public JfrExecuteListenerProvider(String contextName) {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public ExecuteListener provide() {
+        return new JfrExecuteListener(contextName);
+    }
+}
@@ -0,0 +1,40 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import org.jooq.TransactionContext;
+import org.jooq.impl.DefaultTransactionListener;
+
+/**
+ * Emits {@link TransactionCommittedEvent}, one listener per transaction
+ * 
+ * @author Leo Tu
+ */
+public class JfrTransactionListener extends DefaultTransactionListener {
+
+    private final String contextName;
+
+    private TransactionCommittedEvent committed;
+
+    public JfrTransactionListener(String contextName) {
+        this.contextName = contextName;
+    }
+
+    @Override
+    public void commitStart(TransactionContext ctx) {
+        committed = new TransactionCommittedEvent();
+        committed.begin();
+    }
+
+    @Override
+    public void commitEnd(TransactionContext ctx) {
+        TransactionCommittedEvent event = committed;
+        if (event == null) {
+            return;
+        }
+        committed = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.contextName = contextName;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * From the start to the end of a jOOQ execution, fetching included
+ * 
+ * @author Leo Tu
+ */
+@Name("io.quarkus.ext.jooq.QueryExecuted")
+@Label("jOOQ Query Executed")
+@Category({ "jOOQ" })
+@Description("Execution of a statement, from rendering to the end of the fetch")
+public class QueryExecutedEvent extends Event {
+
+    @Label("Context")
+    public String contextName;
+
+    @Label("Statement Type")
+    public String statementType;
+
+    @Label("Fingerprint")
+    public String fingerprint;
+
+    @Label("Rows Affected")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,28 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * From fetchStart to fetchEnd, the number of records read from the ResultSet
+ * 
+ * @author Leo Tu
+ */
+@Name("io.quarkus.ext.jooq.RowsFetched")
+@Label("jOOQ Rows Fetched")
+@Category({ "jOOQ" })
+@Description("Records read from a JDBC ResultSet")
+public class RowsFetchedEvent extends Event {
+
+    @Label("Context")
+    public String contextName;
+
+    @Label("Fingerprint")
+    public String fingerprint;
+
+    @Label("Rows")
+    public int rows;
+}
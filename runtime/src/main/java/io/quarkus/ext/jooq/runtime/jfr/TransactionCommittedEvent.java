@@ -0,0 +1,22 @@
+package io.quarkus.ext.jooq.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * From commitStart to commitEnd of a jOOQ managed transaction, "dsl.transaction(...)"
+ * 
+ * @author Leo Tu
+ */
+@Name("io.quarkus.ext.jooq.TransactionCommitted")
+@Label("jOOQ Transaction Committed")
+@Category({ "jOOQ" })
+@Description("Commit of a transaction started by DSLContext.transaction()")
+public class TransactionCommittedEvent extends Event {
+
+    @Label("Context")
+    public String contextName;
+}
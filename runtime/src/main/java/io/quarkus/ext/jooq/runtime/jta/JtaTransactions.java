@@ -0,0 +1,95 @@
+package io.quarkus.ext.jooq.runtime.jta;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The JTA transaction of the current thread, seen through the TransactionSynchronizationRegistry of
+ * quarkus-narayana-jta. The dependency is optional: without it, or without the bean, no transaction is ever active
+ * and the transaction scoped features work as outside of transactions.
+ *
+ * @author Leo Tu
+ */
+public final class JtaTransactions {
+    private static final Logger log = Logger.getLogger(JtaTransactions.class);
+
+    private static final boolean PRESENT = isPresent("javax.transaction.TransactionSynchronizationRegistry");
+
+    private static volatile SynchronizationRegistry registry;
+
+    private JtaTransactions() {
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, JtaTransactions.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debugv("isPresent: {0}, {1}", className, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return null if JTA is not available
+     */
+    private static SynchronizationRegistry registry() {
+        if (!PRESENT) {
+            return null;
+        }
+        SynchronizationRegistry current = registry;
+        if (current == null) {
+            current = SynchronizationRegistry.lookup();
+            if (current != null) {
+                registry = current;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return whether a JTA transaction is active on this thread
+     */
+    public static boolean isActive() {
+        SynchronizationRegistry current = registry();
+        return current != null && current.isActive();
+    }
+
+    /**
+     * @return the resource of the active transaction, null if none or outside of transactions
+     */
+    public static Object getResource(Object key) {
+        SynchronizationRegistry current = registry();
+        return current == null ? null : current.getResource(key);
+    }
+
+    /**
+     * Binds a resource to the active transaction
+     *
+     * @param completion called back when the transaction completes, may be null
+     * @throws IllegalStateException if no transaction is active
+     */
+    public static void putResource(Object key, Object resource, Completion completion) {
+        SynchronizationRegistry current = registry();
+        if (current == null) {
+            throw new IllegalStateException("No JTA transaction: " + key);
+        }
+        current.putResource(key, resource, completion);
+    }
+
+    /**
+     * javax.transaction.Synchronization, without the dependency
+     */
+    public interface Completion {
+
+        /**
+         * Before the commit, a RuntimeException marks the transaction for rollback
+         */
+        default void beforeCompletion() {
+        }
+
+        /**
+         * @param committed false if rolled back, or failed
+         */
+        void afterCompletion(boolean committed);
+    }
+}
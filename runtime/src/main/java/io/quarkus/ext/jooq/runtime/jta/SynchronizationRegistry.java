@@ -0,0 +1,68 @@
+package io.quarkus.ext.jooq.runtime.jta;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+
+/**
+ * Only loaded by {@link JtaTransactions} once the JTA API is known to be present
+ *
+ * @author Leo Tu
+ */
+final class SynchronizationRegistry {
+
+    private final TransactionSynchronizationRegistry tsr;
+
+    private SynchronizationRegistry(TransactionSynchronizationRegistry tsr) {
+        this.tsr = tsr;
+    }
+
+    /**
+     * @return null if the container is not running, or has no TransactionSynchronizationRegistry bean
+     */
+    static SynchronizationRegistry lookup() {
+        ArcContainer container = Arc.container();
+        if (container == null) {
+            return null;
+        }
+        TransactionSynchronizationRegistry tsr = container.instance(TransactionSynchronizationRegistry.class).get();
+        return tsr == null ? null : new SynchronizationRegistry(tsr);
+    }
+
+    boolean isActive() {
+        return tsr.getTransactionKey() != null;
+    }
+
+    Object getResource(Object key) {
+        return isActive() ? tsr.getResource(key) : null;
+    }
+
+    void putResource(Object key, Object resource, JtaTransactions.Completion completion) {
+        if (completion != null) {
+            tsr.registerInterposedSynchronization(new CompletionSynchronization(completion));
+        }
+        tsr.putResource(key, resource);
+    }
+
+    private static final class CompletionSynchronization implements Synchronization {
+
+        private final JtaTransactions.Completion completion;
+
+        CompletionSynchronization(JtaTransactions.Completion completion) {
+            this.completion = completion;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            completion.beforeCompletion();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            completion.afterCompletion(status == Status.STATUS_COMMITTED);
+        }
+    }
+}
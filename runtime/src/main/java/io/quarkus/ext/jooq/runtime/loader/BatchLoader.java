@@ -0,0 +1,221 @@
+package io.quarkus.ext.jooq.runtime.loader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RowN;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+
+/**
+ * Merges the primary key lookups of one table issued within a short window into one query,
+ * <code>WHERE pk IN (...)</code>, or <code>WHERE (k1, k2) IN ((...), (...))</code> for composite keys:
+ * 
+ * <pre>
+ * BatchLoader&lt;Record&gt; deptEmp = BatchLoaders.of("dsl1").get(QDeptEmp.class);
+ * CompletableFuture&lt;Record&gt; r1 = deptEmp.load(10001, "d005");
+ * CompletableFuture&lt;Record&gt; r2 = deptEmp.load(10002, "d007");
+ * </pre>
+ * 
+ * The lookups of concurrent callers are merged, a single caller merges its own lookups by collecting the futures
+ * before joining them. The query runs on a loader thread, outside of the transaction of the caller.
+ * 
+ * @author Leo Tu
+ */
+public final class BatchLoader<R extends Record> {
+    private static final Logger log = Logger.getLogger(BatchLoader.class);
+
+    private final Table<R> table;
+
+    private final TableField<R, ?>[] keyFields;
+
+    private final DSLContext dsl;
+
+    private final ScheduledExecutorService executor;
+
+    private final long windowNanos;
+
+    private final int maxSize;
+
+    /**
+     * Guarded by this
+     */
+    private Map<Object, CompletableFuture<R>> pending;
+
+    BatchLoader(Table<R> table, DSLContext dsl, ScheduledExecutorService executor, long windowNanos, int maxSize) {
+        UniqueKey<R> primaryKey = table.getPrimaryKey();
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("Table has no primary key: " + table.getName());
+        }
+        this.table = table;
+        this.keyFields = primaryKey.getFieldsArray();
+        this.dsl = dsl;
+        this.executor = executor;
+        this.windowNanos = windowNanos;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public Table<R> getTable() {
+        return table;
+    }
+
+    /**
+     * @param key the primary key value, one per primary key column
+     * @return completed with null if there is no such row
+     */
+    public CompletableFuture<R> load(Object... key) {
+        Object normalized = key(key);
+        Map<Object, CompletableFuture<R>> full = null;
+        CompletableFuture<R> future;
+        synchronized (this) {
+            if (pending == null) {
+                Map<Object, CompletableFuture<R>> batch = new LinkedHashMap<>();
+                pending = batch;
+                executor.schedule(() -> dispatch(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            future = pending.computeIfAbsent(normalized, k -> new CompletableFuture<>());
+            if (pending.size() >= maxSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            Map<Object, CompletableFuture<R>> batch = full;
+            executor.execute(() -> fetch(batch));
+        }
+        return future;
+    }
+
+    public <E> CompletableFuture<E> load(Class<? extends E> type, Object... key) {
+        return load(key).thenApply(record -> record == null ? null : record.into(type));
+    }
+
+    /**
+     * Blocks until the batch the key joined has been fetched
+     * 
+     * @return null if there is no such row
+     */
+    public R fetchOne(Object... key) {
+        return join(load(key));
+    }
+
+    /**
+     * @return null if there is no such row
+     */
+    public <E> E fetchOne(Class<? extends E> type, Object... key) {
+        return join(load(type, key));
+    }
+
+    /**
+     * Sends the pending lookups now, without waiting for the window
+     */
+    public void dispatch() {
+        Map<Object, CompletableFuture<R>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = null;
+        }
+        if (batch != null) {
+            fetch(batch);
+        }
+    }
+
+    /**
+     * Called when the window of the batch elapses, a no-op if it has already been sent
+     */
+    private void dispatch(Map<Object, CompletableFuture<R>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        fetch(batch);
+    }
+
+    private void fetch(Map<Object, CompletableFuture<R>> batch) {
+        try {
+            List<R> records = dsl.selectFrom(table).where(condition(batch.keySet())).fetch();
+            Object[] values = new Object[keyFields.length];
+            for (R record : records) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = record.get(keyFields[i]);
+                }
+                CompletableFuture<R> future = batch.get(normalize(values));
+                if (future != null) {
+                    future.complete(record);
+                }
+            }
+            for (CompletableFuture<R> future : batch.values()) {
+                future.complete(null); // no such row
+            }
+            log.debugv("fetch: {0}, keys: {1}, rows: {2}", table.getName(), batch.size(), records.size());
+        } catch (Throwable e) {
+            for (CompletableFuture<R> future : batch.values()) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Condition condition(Collection<Object> keys) {
+        if (keyFields.length == 1) {
+            return keyFields[0].in(keys);
+        }
+        List<RowN> rows = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            List<Object> values = (List<Object>) key;
+            Field<?>[] fields = new Field<?>[keyFields.length];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = DSL.val(values.get(i), keyFields[i]);
+            }
+            rows.add(DSL.row(fields));
+        }
+        return DSL.row(keyFields).in(rows);
+    }
+
+    private Object key(Object[] key) {
+        if (key.length != keyFields.length) {
+            throw new IllegalArgumentException(
+                    "Primary key of " + table.getName() + " has " + keyFields.length + " columns: " + key.length);
+        }
+        Object[] values = new Object[key.length];
+        for (int i = 0; i < key.length; i++) {
+            values[i] = keyFields[i].getDataType().convert(key[i]);
+        }
+        return normalize(values);
+    }
+
+    private static Object normalize(Object[] values) {
+        return values.length == 1 ? values[0] : Arrays.asList(values.clone());
+    }
+
+    /**
+     * Unwraps the failure of the query, as if it had been executed by the caller
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
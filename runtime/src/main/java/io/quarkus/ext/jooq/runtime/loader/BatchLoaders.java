@@ -0,0 +1,120 @@
+package io.quarkus.ext.jooq.runtime.loader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.table.JooqTables;
+
+/**
+ * The batch loaders of one DSLContext, one per table, created on first use, "quarkus.jooq.[name].batch-loader.*"
+ * 
+ * @author Leo Tu
+ */
+public final class BatchLoaders {
+
+    private static final Map<String, BatchLoaders> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static volatile ScheduledExecutorService executor;
+
+    private final String contextName;
+
+    private final DSLContext dsl;
+
+    private final long windowNanos;
+
+    private final int maxSize;
+
+    private final Map<Table<?>, BatchLoader<?>> byTable = new ConcurrentHashMap<>();
+
+    private BatchLoaders(String contextName, DSLContext dsl, long windowNanos, int maxSize) {
+        this.contextName = contextName;
+        this.dsl = dsl;
+        this.windowNanos = windowNanos;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Called once the DSLContext has been created
+     */
+    public static BatchLoaders create(String contextName, DSLContext dsl, long windowNanos, int maxSize) {
+        BatchLoaders loaders = new BatchLoaders(contextName, dsl, windowNanos, maxSize);
+        CONTEXTS.put(contextName, loaders);
+        return loaders;
+    }
+
+    /**
+     * The batch loaders of the default DSLContext
+     */
+    public static BatchLoaders of() {
+        return of(AbstractDslContextProducer.DEFAULT_NAME);
+    }
+
+    /**
+     * Creates the DSLContext bean if not done yet
+     * 
+     * @throws IllegalStateException if there is no DSLContext of that name
+     */
+    public static BatchLoaders of(String contextName) {
+        BatchLoaders loaders = CONTEXTS.get(contextName);
+        if (loaders == null && AbstractDslContextProducer.createDslContextBean(contextName)) {
+            loaders = CONTEXTS.get(contextName);
+        }
+        if (loaders == null) {
+            throw new IllegalStateException("No DSLContext: " + contextName);
+        }
+        return loaders;
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * @param tableClass jOOQ generated table class
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Record> BatchLoader<R> get(Class<? extends Table<R>> tableClass) {
+        Table<R> table = (Table<R>) JooqTables.byClass(tableClass);
+        if (table == null) {
+            throw new IllegalArgumentException("Not a jOOQ generated table: " + tableClass.getName());
+        }
+        return get(table);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R extends Record> BatchLoader<R> get(Table<R> table) {
+        return (BatchLoader<R>) byTable.computeIfAbsent(table,
+                t -> new BatchLoader<>(table, dsl, executor(), windowNanos, maxSize));
+    }
+
+    private static ScheduledExecutorService executor() {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            synchronized (BatchLoaders.class) {
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(
+                            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                                Thread thread = new Thread(runnable, "jooq-batch-loader-" + count.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pool.setKeepAliveTime(60, TimeUnit.SECONDS);
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.ext.jooq.runtime.log;
+
+import java.util.Optional;
+
+import org.jboss.logging.Logger;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+
+import io.quarkus.ext.jooq.runtime.EventLoopGuard;
+import io.quarkus.runtime.BlockingOperationControl;
+
+/**
+ * Catches the blocking JDBC calls made on a Vert.x event loop, or any IO thread known to Quarkus
+ * 
+ * @author Leo Tu
+ */
+public class EventLoopGuardListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = Logger.getLogger("io.quarkus.ext.jooq.sql");
+
+    private final String contextName;
+
+    private final EventLoopGuard guard;
+
+    public EventLoopGuardListener(String contextName, EventLoopGuard guard) {
+        this.contextName = contextName;
+        this.guard = guard;
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        if (BlockingOperationControl.isBlockingAllowed()) {
+            return;
+        }
+        String message = "Blocking query (" + contextName + ") on IO thread " + Thread.currentThread().getName()
+                + " at " + callSite().orElse("?") + ", use AsyncDslContext or a worker thread";
+        if (guard == EventLoopGuard.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * The first frame outside jOOQ, this extension and the JDK
+     */
+    static Optional<String> callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !isInternal(frame.getClassName()))
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .findFirst());
+    }
+
+    private static boolean isInternal(String className) {
+        return className.startsWith("org.jooq.") || className.startsWith("io.quarkus.ext.jooq.runtime.")
+                || className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+}
@@ -0,0 +1,80 @@
+package io.quarkus.ext.jooq.runtime.log;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jooq.ExecuteContext;
+import org.jooq.Query;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Logs the statements slower than "quarkus.jooq.[name].slow-query-threshold" under the "io.quarkus.ext.jooq.sql"
+ * category, a fraction "slow-query-sample-rate" of them. Unlike jOOQ's LoggerListener nothing is formatted for the
+ * fast statements: the bind values are only collected, and the SQL only read, once a statement is known to be slow.
+ * 
+ * @author Leo Tu
+ */
+public class SlowQueryListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = Logger.getLogger("io.quarkus.ext.jooq.sql");
+
+    private final String contextName;
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private long start;
+
+    private boolean done;
+
+    public SlowQueryListener(String contextName, long thresholdNanos, double sampleRate) {
+        this.contextName = contextName;
+        this.thresholdNanos = thresholdNanos;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        log(ctx);
+    }
+
+    @Override
+    public void exception(ExecuteContext ctx) {
+        log(ctx);
+    }
+
+    private void log(ExecuteContext ctx) {
+        if (done) {
+            return;
+        }
+        done = true;
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < thresholdNanos || !log.isEnabled(Logger.Level.WARN)) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String sql = ctx.sql();
+        if (sql == null) { // batch of several queries
+            sql = String.join("; ", ctx.batchSQL());
+        }
+        log.warnv("Slow query ({0}): {1} ms, {2}, bind values: {3}{4}", contextName,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), sql, bindValues(ctx.query()),
+                ctx.exception() == null ? "" : ", failed: " + ctx.exception().getMessage());
+    }
+
+    private static List<Object> bindValues(Query query) {
+        return query == null ? Collections.emptyList() : query.getBindValues();
+    }
+}
@@ -0,0 +1,29 @@
+package io.quarkus.ext.jooq.runtime.log;
+
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+
+/**
+ * One {@link SlowQueryListener} per execution
+ * 
+ * @author Leo Tu
+ */
+public class SlowQueryListenerProvider implements ExecuteListenerProvider {
+
+    private final String contextName;
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    public SlowQueryListenerProvider(String contextName, long thresholdNanos, double sampleRate) {
+        this.contextName = contextName;
+        this.thresholdNanos = thresholdNanos;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public ExecuteListener provide() {
+        return new SlowQueryListener(contextName, thresholdNanos, sampleRate);
+    }
+}
@@ -0,0 +1,91 @@
+package io.quarkus.ext.jooq.runtime.mapper;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.RecordType;
+import org.jooq.tools.StringUtils;
+
+/**
+ * Super class of the RecordMapper generated at build time for every jOOQ POJO. The generated "map" calls the setters
+ * directly: the record field index of every POJO property is resolved once per query, not per record, and no
+ * reflection is involved.
+ *
+ * <pre>
+ * public Object map(Record record) {
+ *     Departments pojo = new Departments();
+ *     if (has(0)) pojo.setDeptNo((String) value(record, 0));
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Leo Tu
+ */
+public abstract class AbstractPojoRecordMapper<E> implements RecordMapper<Record, E> {
+
+    private final Class<E> type;
+
+    private final String[] properties;
+
+    private final Class<?>[] propertyTypes;
+
+    private final int[] indexes;
+
+    private final boolean[] converting;
+
+    protected AbstractPojoRecordMapper(Class<E> type, String[] properties, Class<?>[] propertyTypes) {
+        this.type = type;
+        this.properties = properties;
+        this.propertyTypes = propertyTypes;
+        this.indexes = new int[properties.length];
+        this.converting = new boolean[properties.length];
+    }
+
+    /**
+     * @return a new, unbound instance of the generated class
+     */
+    protected abstract AbstractPojoRecordMapper<E> newInstance();
+
+    public Class<E> getType() {
+        return type;
+    }
+
+    /**
+     * Same name matching as jOOQ's DefaultRecordMapper: "dept_no" or "deptNo" both map to "deptNo"
+     */
+    AbstractPojoRecordMapper<E> bind(RecordType<?> recordType) {
+        AbstractPojoRecordMapper<E> mapper = newInstance();
+        Field<?>[] fields = recordType.fields();
+        String[] names = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = StringUtils.toCamelCaseLC(fields[i].getName());
+        }
+        for (int p = 0; p < properties.length; p++) {
+            mapper.indexes[p] = -1;
+            for (int i = 0; i < fields.length; i++) {
+                if (properties[p].equals(fields[i].getName()) || properties[p].equals(names[i])) {
+                    mapper.indexes[p] = i;
+                    mapper.converting[p] = !propertyTypes[p].isAssignableFrom(fields[i].getType());
+                    break;
+                }
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Called by the generated "map": the query selected a field for this property
+     */
+    public final boolean has(int property) {
+        return indexes[property] >= 0;
+    }
+
+    /**
+     * Called by the generated "map": the field value, converted only if the field type does not fit the property
+     */
+    public final Object value(Record record, int property) {
+        return converting[property]
+                ? record.get(indexes[property], propertyTypes[property])
+                : record.get(indexes[property]);
+    }
+}
@@ -0,0 +1,106 @@
+package io.quarkus.ext.jooq.runtime.mapper;
+
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordType;
+import org.jooq.RecordUnmapper;
+import org.jooq.impl.DSL;
+import org.jooq.tools.StringUtils;
+
+/**
+ * Super class of the RecordUnmapper generated at build time for every jOOQ POJO/table pair, used by
+ * "dsl.newRecord(table, pojo)", "record.from(pojo)", ... The generated "unmap" calls the getters directly.
+ *
+ * <pre>
+ * public Record unmap(Object source) {
+ *     Departments pojo = (Departments) source;
+ *     Record record = newRecord();
+ *     if (has(0)) set(record, 0, pojo.getDeptNo());
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Leo Tu
+ */
+public abstract class AbstractPojoRecordUnmapper<E> implements RecordUnmapper<E, Record> {
+
+    private final Class<E> type;
+
+    private final String[] properties;
+
+    private final Class<?>[] propertyTypes;
+
+    private final int[] indexes;
+
+    private final boolean[] converting;
+
+    private Field<?>[] fields;
+
+    private DSLContext dsl;
+
+    protected AbstractPojoRecordUnmapper(Class<E> type, String[] properties, Class<?>[] propertyTypes) {
+        this.type = type;
+        this.properties = properties;
+        this.propertyTypes = propertyTypes;
+        this.indexes = new int[properties.length];
+        this.converting = new boolean[properties.length];
+    }
+
+    /**
+     * @return a new, unbound instance of the generated class
+     */
+    protected abstract AbstractPojoRecordUnmapper<E> newInstance();
+
+    public Class<E> getType() {
+        return type;
+    }
+
+    /**
+     * Same name matching as jOOQ's DefaultRecordUnmapper: "deptNo" fills "dept_no" or "deptNo"
+     */
+    AbstractPojoRecordUnmapper<E> bind(RecordType<?> recordType, Configuration configuration) {
+        AbstractPojoRecordUnmapper<E> unmapper = newInstance();
+        unmapper.fields = recordType.fields();
+        unmapper.dsl = DSL.using(configuration);
+        String[] names = new String[unmapper.fields.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = StringUtils.toCamelCaseLC(unmapper.fields[i].getName());
+        }
+        for (int p = 0; p < properties.length; p++) {
+            unmapper.indexes[p] = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (properties[p].equals(unmapper.fields[i].getName()) || properties[p].equals(names[i])) {
+                    unmapper.indexes[p] = i;
+                    unmapper.converting[p] = !unmapper.fields[i].getType().isAssignableFrom(propertyTypes[p]);
+                    break;
+                }
+            }
+        }
+        return unmapper;
+    }
+
+    /**
+     * Called by the generated "unmap"
+     */
+    public final Record newRecord() {
+        return dsl.newRecord(fields);
+    }
+
+    /**
+     * Called by the generated "unmap": the record has a field for this property
+     */
+    public final boolean has(int property) {
+        return indexes[property] >= 0;
+    }
+
+    /**
+     * Called by the generated "unmap": the value is converted only if the property type does not fit the field
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public final void set(Record record, int property, Object value) {
+        Field field = fields[indexes[property]];
+        record.set(field, converting[property] ? field.getDataType().convert(value) : value);
+    }
+}
@@ -0,0 +1,52 @@
+package io.quarkus.ext.jooq.runtime.mapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.RecordMapperProvider;
+import org.jooq.RecordType;
+import org.jooq.impl.DefaultRecordMapper;
+
+/**
+ * Serves the build time generated mappers, other types fall back to jOOQ's DefaultRecordMapper
+ *
+ * @author Leo Tu
+ */
+public class PojoRecordMapperProvider implements RecordMapperProvider {
+    private static final Logger log = Logger.getLogger(PojoRecordMapperProvider.class);
+
+    private static final Map<Class<?>, AbstractPojoRecordMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+
+    private final Configuration configuration;
+
+    public PojoRecordMapperProvider(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Static Init
+     */
+    public static void register(AbstractPojoRecordMapper<?> mapper) {
+        log.debugv("register: {0}", mapper.getType().getName());
+        MAPPERS.put(mapper.getType(), mapper);
+    }
+
+    public static boolean isEmpty() {
+        return MAPPERS.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R extends Record, E> RecordMapper<R, E> provide(RecordType<R> recordType, Class<? extends E> type) {
+        AbstractPojoRecordMapper<?> mapper = MAPPERS.get(type);
+        if (mapper == null) {
+            return new DefaultRecordMapper<R, E>(recordType, type, configuration);
+        } else {
+            return (RecordMapper<R, E>) mapper.bind(recordType);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.quarkus.ext.jooq.runtime.mapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.RecordType;
+import org.jooq.RecordUnmapper;
+import org.jooq.RecordUnmapperProvider;
+import org.jooq.impl.DefaultRecordUnmapper;
+
+/**
+ * Serves the build time generated unmappers, other types fall back to jOOQ's DefaultRecordUnmapper
+ *
+ * @author Leo Tu
+ */
+public class PojoRecordUnmapperProvider implements RecordUnmapperProvider {
+    private static final Logger log = Logger.getLogger(PojoRecordUnmapperProvider.class);
+
+    private static final Map<Class<?>, AbstractPojoRecordUnmapper<?>> UNMAPPERS = new ConcurrentHashMap<>();
+
+    private final Configuration configuration;
+
+    public PojoRecordUnmapperProvider(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Static Init
+     */
+    public static void register(AbstractPojoRecordUnmapper<?> unmapper) {
+        log.debugv("register: {0}", unmapper.getType().getName());
+        UNMAPPERS.put(unmapper.getType(), unmapper);
+    }
+
+    public static boolean isEmpty() {
+        return UNMAPPERS.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E, R extends Record> RecordUnmapper<E, R> provide(Class<? extends E> type, RecordType<R> recordType) {
+        AbstractPojoRecordUnmapper<?> unmapper = UNMAPPERS.get(type);
+        if (unmapper == null) {
+            return new DefaultRecordUnmapper<E, R>(type, recordType, configuration);
+        } else {
+            return (RecordUnmapper<E, R>) unmapper.bind(recordType, configuration);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, total, max and a fixed bucket histogram of one phase. Recording only adds to striped cells, nothing is
+ * allocated.
+ * 
+ * @author Leo Tu
+ */
+public final class PhaseTimer {
+
+    /**
+     * Upper bounds (inclusive) of the histogram buckets, the last bucket takes everything above 10s
+     */
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+            50_000L, 100_000L, 250_000L, 500_000L, // 50us - 500us
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L, // 1ms - 50ms
+            100_000_000L, 250_000_000L, 500_000_000L, // 100ms - 500ms
+            1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L // 1s - 10s
+    };
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+
+    PhaseTimer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        int i = 0;
+        while (i < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the upper bound of every bucket but the last one, which is unbounded
+     */
+    public static long[] getBucketBoundsNanos() {
+        return BUCKET_BOUNDS_NANOS.clone();
+    }
+
+    /**
+     * @return non cumulative counts, one more than {@link #getBucketBoundsNanos()}
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
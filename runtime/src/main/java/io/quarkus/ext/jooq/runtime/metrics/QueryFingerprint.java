@@ -0,0 +1,76 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes a SQL string so that executions differing only by literals, bind values or IN list sizes share one
+ * fingerprint: <code>select * from t where id in (1, 2, 3) and name = 'x'</code> becomes
+ * <code>select * from t where id in (?+) and name = ?</code>
+ * 
+ * @author Leo Tu
+ */
+public final class QueryFingerprint {
+
+    private static final Pattern CAST = Pattern.compile("cast\\(\\? as [^()]+(?:\\([^()]*\\))?\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LIST = Pattern.compile("\\?(?: ?, ?\\?)+");
+
+    /**
+     * An IN list of one value, so that it shares the fingerprint of the longer lists
+     */
+    private static final Pattern SINGLE_IN = Pattern.compile("\\b(in ?)\\(\\?\\)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ROWS = Pattern.compile("\\(\\?\\+?\\)(?: ?, ?\\(\\?\\+?\\))+");
+
+    private QueryFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        int length = sql.length();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') { // string literal, '' escaped
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    i++;
+                }
+                sb.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierEnd(sb)) { // numeric literal
+                while (i + 1 < length && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                sb.append('?');
+            } else if (Character.isWhitespace(c)) {
+                if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                    sb.append(' ');
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        String fingerprint = CAST.matcher(sb).replaceAll("?"); // H2, HSQLDB, Derby bind casts
+        fingerprint = LIST.matcher(fingerprint).replaceAll("?+");
+        fingerprint = SINGLE_IN.matcher(fingerprint).replaceAll("$1(?+)");
+        return ROWS.matcher(fingerprint).replaceAll("(?+)+").trim();
+    }
+
+    private static boolean isIdentifierEnd(StringBuilder sb) {
+        if (sb.length() == 0) {
+            return false;
+        }
+        char c = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,96 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jooq.ExecuteType;
+
+/**
+ * Query latency metrics of one DSLContext, enabled by "quarkus.jooq.metrics=true" or
+ * "quarkus.jooq.[name].metrics=true". Meant to be read by a metrics exporter:
+ * 
+ * <pre>
+ * for (QueryStats stats : QueryMetrics.of("dsl1").getStats()) {
+ *     stats.getTimer(QueryPhase.EXECUTE).getTotalNanos();
+ * }
+ * </pre>
+ * 
+ * The SQL string of an execution is looked up as is, the fingerprint is only computed the first time a SQL string is
+ * seen. Both maps are bounded: SQL strings beyond {@link #MAX_SQL} are fingerprinted on every execution, fingerprints
+ * beyond {@link #MAX_FINGERPRINTS} are recorded as {@link #OTHER}.
+ * 
+ * @author Leo Tu
+ */
+public final class QueryMetrics {
+
+    public static final int MAX_SQL = 2048;
+
+    public static final int MAX_FINGERPRINTS = 512;
+
+    public static final String OTHER = "<other>";
+
+    private static final Map<String, QueryMetrics> CONTEXTS = new ConcurrentHashMap<>();
+
+    private final String contextName;
+
+    private final Map<String, QueryStats> bySql = new ConcurrentHashMap<>();
+
+    private final Map<String, QueryStats> byFingerprint = new ConcurrentHashMap<>();
+
+    private QueryMetrics(String contextName) {
+        this.contextName = contextName;
+    }
+
+    /**
+     * @param contextName "&lt;default&gt;" or the "quarkus.jooq.[name]" of the DSLContext
+     */
+    public static QueryMetrics of(String contextName) {
+        return CONTEXTS.computeIfAbsent(contextName, QueryMetrics::new);
+    }
+
+    /**
+     * @return the metrics of every DSLContext that has metrics enabled
+     */
+    public static Collection<QueryMetrics> all() {
+        return Collections.unmodifiableCollection(CONTEXTS.values());
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public Collection<QueryStats> getStats() {
+        return Collections.unmodifiableCollection(byFingerprint.values());
+    }
+
+    public void reset() {
+        byFingerprint.values().forEach(QueryStats::reset);
+    }
+
+    QueryStats stats(ExecuteType type, String sql) {
+        QueryStats stats = bySql.get(sql);
+        if (stats == null) {
+            stats = byFingerprint(type, QueryFingerprint.of(sql));
+            if (bySql.size() < MAX_SQL) {
+                bySql.put(sql, stats);
+            }
+        }
+        return stats;
+    }
+
+    private QueryStats byFingerprint(ExecuteType type, String fingerprint) {
+        String key = type + " " + fingerprint;
+        QueryStats stats = byFingerprint.get(key);
+        if (stats == null) {
+            if (byFingerprint.size() >= MAX_FINGERPRINTS) {
+                key = type + " " + OTHER;
+                fingerprint = OTHER;
+            }
+            String name = fingerprint;
+            stats = byFingerprint.computeIfAbsent(key, k -> new QueryStats(contextName, type, name));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,129 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Times the render, prepare, execute and fetch phases of a single execution and records them in
+ * {@link QueryMetrics} once the execution ends. Handed back to its provider for the next execution afterwards.
+ * 
+ * @author Leo Tu
+ */
+public class QueryMetricsListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final transient QueryMetrics metrics;
+
+    private final transient QueryMetricsListenerProvider provider;
+
+    private long renderStart;
+    private long renderNanos = -1;
+    private long prepareStart;
+    private long prepareNanos = -1;
+    private long executeStart;
+    private long executeNanos = -1;
+    private long fetchStart;
+    private long fetchNanos = -1;
+
+    private boolean recorded;
+
+    private boolean released;
+
+    QueryMetricsListener(QueryMetrics metrics, QueryMetricsListenerProvider provider) {
+        this.metrics = metrics;
+        this.provider = provider;
+    }
+
+    /**
+     * Before each execution
+     */
+    void reset() {
+        renderNanos = -1;
+        prepareNanos = -1;
+        executeNanos = -1;
+        fetchNanos = -1;
+        recorded = false;
+        released = false;
+    }
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        renderStart = System.nanoTime();
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        renderNanos = System.nanoTime() - renderStart;
+    }
+
+    @Override
+    public void prepareStart(ExecuteContext ctx) {
+        prepareStart = System.nanoTime();
+    }
+
+    @Override
+    public void prepareEnd(ExecuteContext ctx) {
+        prepareNanos = System.nanoTime() - prepareStart;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        executeNanos = System.nanoTime() - executeStart;
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        fetchStart = System.nanoTime();
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        // fetchMany() fetches several results
+        fetchNanos = Math.max(fetchNanos, 0) + System.nanoTime() - fetchStart;
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        record(ctx, false);
+        if (!released) { // jOOQ calls end() after exception() too, the last call of an execution
+            released = true;
+            provider.release(this);
+        }
+    }
+
+    @Override
+    public void exception(ExecuteContext ctx) {
+        record(ctx, true);
+    }
+
+    private void record(ExecuteContext ctx, boolean failed) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        String sql = ctx.sql();
+        if (sql == null) { // batch of several queries
+            String[] batchSql = ctx.batchSQL();
+            sql = batchSql.length > 0 && batchSql[0] != null ? batchSql[0] : "";
+        }
+        QueryStats stats = metrics.stats(ctx.type(), sql);
+        stats.executed(failed);
+        if (renderNanos >= 0) {
+            stats.record(QueryPhase.RENDER, renderNanos);
+        }
+        if (prepareNanos >= 0) {
+            stats.record(QueryPhase.PREPARE, prepareNanos);
+        }
+        if (executeNanos >= 0) {
+            stats.record(QueryPhase.EXECUTE, executeNanos);
+        }
+        if (fetchNanos >= 0) {
+            stats.record(QueryPhase.FETCH, fetchNanos);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.ArrayDeque;
+
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+
+/**
+ * One {@link QueryMetricsListener} per execution: the phase timestamps live in the listener fields, not in the
+ * ExecuteContext data map. The listeners of the ended executions are reused from a small per-thread pool, so that
+ * recording allocates nothing once warmed up.
+ * 
+ * @author Leo Tu
+ */
+public class QueryMetricsListenerProvider implements ExecuteListenerProvider {
+
+    /**
+     * Nested executions on one thread, e.g. queries run while iterating a lazy cursor
+     */
+    private static final int POOL_SIZE = 8;
+
+    private final QueryMetrics metrics;
+
+    private final ThreadLocal<ArrayDeque<QueryMetricsListener>> pool = ThreadLocal
+            .withInitial(() -> new ArrayDeque<>(POOL_SIZE));
+
+    public QueryMetricsListenerProvider(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ExecuteListener provide() {
+        QueryMetricsListener listener = pool.get().pollFirst();
+        if (listener == null) {
+            listener = new QueryMetricsListener(metrics, this);
+        }
+        listener.reset();
+        return listener;
+    }
+
+    /**
+     * On the thread that ended the execution, which is not always the one that started it
+     */
+    void release(QueryMetricsListener listener) {
+        ArrayDeque<QueryMetricsListener> listeners = pool.get();
+        if (listeners.size() < POOL_SIZE) {
+            listeners.offerFirst(listener);
+        }
+    }
+}
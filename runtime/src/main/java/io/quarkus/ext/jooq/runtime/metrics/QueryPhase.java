@@ -0,0 +1,29 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+/**
+ * The timed phases of a query execution, as reported by jOOQ's ExecuteListener
+ * 
+ * @author Leo Tu
+ */
+public enum QueryPhase {
+
+    /**
+     * renderStart - renderEnd: SQL string and bind values
+     */
+    RENDER,
+
+    /**
+     * prepareStart - prepareEnd: JDBC statement preparation
+     */
+    PREPARE,
+
+    /**
+     * executeStart - executeEnd: statement execution, until the first ResultSet or the update count
+     */
+    EXECUTE,
+
+    /**
+     * fetchStart - fetchEnd: reading the ResultSet into records, until the cursor is closed for lazy fetches
+     */
+    FETCH
+}
@@ -0,0 +1,87 @@
+package io.quarkus.ext.jooq.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jooq.ExecuteType;
+
+/**
+ * Counters and phase timers of one query fingerprint, tagged with the DSLContext name and the statement type
+ * 
+ * @author Leo Tu
+ */
+public final class QueryStats {
+
+    private final String contextName;
+
+    private final ExecuteType statementType;
+
+    private final String fingerprint;
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final PhaseTimer[] timers = new PhaseTimer[QueryPhase.values().length];
+
+    QueryStats(String contextName, ExecuteType statementType, String fingerprint) {
+        this.contextName = contextName;
+        this.statementType = statementType;
+        this.fingerprint = fingerprint;
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new PhaseTimer();
+        }
+    }
+
+    void record(QueryPhase phase, long nanos) {
+        timers[phase.ordinal()].record(nanos);
+    }
+
+    void executed(boolean failed) {
+        executions.increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public ExecuteType getStatementType() {
+        return statementType;
+    }
+
+    /**
+     * The SQL with literals and bind values replaced by "?", IN lists collapsed to "?+"
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public PhaseTimer getTimer(QueryPhase phase) {
+        return timers[phase.ordinal()];
+    }
+
+    void reset() {
+        executions.reset();
+        errors.reset();
+        for (PhaseTimer timer : timers) {
+            timer.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[contextName=" + contextName + ", statementType=" + statementType
+                + ", fingerprint=" + fingerprint + ", executions=" + getExecutions() + ", errors=" + getErrors()
+                + "]";
+    }
+}
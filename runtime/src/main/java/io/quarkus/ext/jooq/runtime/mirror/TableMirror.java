@@ -0,0 +1,166 @@
+package io.quarkus.ext.jooq.runtime.mirror;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * All the rows of a small table, keyed by primary key, read without going to the database:
+ * 
+ * <pre>
+ * TableMirror&lt;Record&gt; departments = TableMirrors.of("dsl1").get(QDepartments.class);
+ * Record d001 = departments.get("d001");
+ * Departments pojo = departments.get(Departments.class, "d001");
+ * </pre>
+ * 
+ * Every load replaces an immutable snapshot. The records are detached and shared by all the readers, they must not be
+ * modified.
+ * 
+ * @author Leo Tu
+ */
+public final class TableMirror<R extends Record> {
+    private static final Logger log = Logger.getLogger(TableMirror.class);
+
+    private final Table<R> table;
+
+    private final TableField<R, ?>[] keyFields;
+
+    private final DSLContext dsl;
+
+    private volatile Snapshot<R> snapshot;
+
+    TableMirror(Table<R> table, DSLContext dsl) {
+        UniqueKey<R> primaryKey = table.getPrimaryKey();
+        if (primaryKey == null) {
+            throw new ConfigurationException("Mirrored table has no primary key: " + table.getName());
+        }
+        this.table = table;
+        this.keyFields = primaryKey.getFieldsArray();
+        this.dsl = dsl;
+    }
+
+    public Table<R> getTable() {
+        return table;
+    }
+
+    /**
+     * @param key the primary key value, one per primary key column
+     * @return null if there is no such row
+     */
+    public R get(Object... key) {
+        if (key.length != keyFields.length) {
+            throw new IllegalArgumentException(
+                    "Primary key of " + table.getName() + " has " + keyFields.length + " columns: " + key.length);
+        }
+        Object[] values = new Object[key.length];
+        for (int i = 0; i < key.length; i++) {
+            values[i] = keyFields[i].getDataType().convert(key[i]);
+        }
+        return snapshot().byKey.get(key(values));
+    }
+
+    /**
+     * @return null if there is no such row
+     */
+    public <E> E get(Class<? extends E> type, Object... key) {
+        R record = get(key);
+        return record == null ? null : record.into(type);
+    }
+
+    /**
+     * @return all the rows, in primary key order
+     */
+    public List<R> all() {
+        return snapshot().rows;
+    }
+
+    public <E> List<E> all(Class<? extends E> type) {
+        List<R> rows = all();
+        List<E> list = new ArrayList<>(rows.size());
+        for (R record : rows) {
+            list.add(record.into(type));
+        }
+        return list;
+    }
+
+    public int size() {
+        return snapshot().rows.size();
+    }
+
+    /**
+     * @return System.currentTimeMillis() of the last load, 0 if never loaded
+     */
+    public long getLoadedAt() {
+        Snapshot<R> current = snapshot;
+        return current == null ? 0 : current.loadedAt;
+    }
+
+    /**
+     * Reloads the table now, the readers keep the previous snapshot meanwhile
+     */
+    public void load() {
+        Result<R> result = dsl.selectFrom(table).orderBy(keyFields).fetch();
+        Map<Object, R> byKey = new HashMap<>(result.size() * 4 / 3 + 1);
+        List<R> rows = new ArrayList<>(result.size());
+        Object[] values = new Object[keyFields.length];
+        for (R record : result) {
+            record.detach();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = record.get(keyFields[i]);
+            }
+            byKey.put(key(values), record);
+            rows.add(record);
+        }
+        snapshot = new Snapshot<>(Collections.unmodifiableMap(byKey), Collections.unmodifiableList(rows),
+                System.currentTimeMillis());
+        log.debugv("load: {0}, rows: {1}", table.getName(), rows.size());
+    }
+
+    /**
+     * Loaded at startup, or by the first reader if that failed
+     */
+    private Snapshot<R> snapshot() {
+        Snapshot<R> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Object key(Object[] values) {
+        return values.length == 1 ? values[0] : Arrays.asList(values.clone());
+    }
+
+    private static final class Snapshot<R> {
+
+        final Map<Object, R> byKey;
+
+        final List<R> rows;
+
+        final long loadedAt;
+
+        Snapshot(Map<Object, R> byKey, List<R> rows, long loadedAt) {
+            this.byKey = byKey;
+            this.rows = rows;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
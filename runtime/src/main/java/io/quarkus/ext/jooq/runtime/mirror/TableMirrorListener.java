@@ -0,0 +1,134 @@
+package io.quarkus.ext.jooq.runtime.mirror;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionListener;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultTransactionListener;
+
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+
+/**
+ * Reloads the mirrored tables touched by a successful write of the DSLContext, batches included. The reload reads
+ * committed data: a write that is part of a JTA or jOOQ transaction reloads its tables once the transaction has
+ * committed, nothing is reloaded after a rollback.
+ *
+ * @author Leo Tu
+ */
+public class TableMirrorListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final transient TableMirrors mirrors;
+
+    private final String resourceKey;
+
+    /**
+     * The tables written by the jOOQ transactions of the thread, innermost first
+     */
+    private final transient ThreadLocal<Deque<Set<String>>> localTransactions = ThreadLocal
+            .withInitial(ArrayDeque::new);
+
+    private final transient TransactionListener transactionListener = new LocalTransactionListener();
+
+    public TableMirrorListener(TableMirrors mirrors) {
+        this.mirrors = mirrors;
+        this.resourceKey = TableMirrorListener.class.getName() + "." + mirrors.getContextName();
+    }
+
+    /**
+     * Tracks the jOOQ transactions of the DSLContext, see DSLContext.transaction()
+     */
+    public TransactionListener getTransactionListener() {
+        return transactionListener;
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        if (ctx.exception() != null || (ctx.type() == ExecuteType.READ && ctx.sql() != null
+                && SqlTables.isSelect(ctx.sql()))) {
+            return;
+        }
+        Set<String> tables = writtenTables(ctx);
+        if (!mirrors.isMirrored(tables)) {
+            return;
+        }
+        Set<String> local = localTransactions.get().peekFirst();
+        if (local != null) {
+            local.addAll(tables);
+            return;
+        }
+        if (JtaTransactions.isActive()) {
+            CommittedReload reload = (CommittedReload) JtaTransactions.getResource(resourceKey);
+            if (reload == null) {
+                reload = new CommittedReload();
+                JtaTransactions.putResource(resourceKey, reload, reload);
+            }
+            reload.tables.addAll(tables);
+            return;
+        }
+        mirrors.refreshAsync(tables);
+    }
+
+    private static Set<String> writtenTables(ExecuteContext ctx) {
+        if (ctx.sql() != null) {
+            return SqlTables.of(ctx.sql());
+        }
+        Set<String> tables = new HashSet<>();
+        if (ctx.batchSQL() != null) {
+            for (String sql : ctx.batchSQL()) {
+                tables.addAll(SqlTables.of(sql));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * The mirrored tables written by one JTA transaction
+     */
+    private final class CommittedReload implements JtaTransactions.Completion {
+
+        final Set<String> tables = new HashSet<>();
+
+        @Override
+        public void afterCompletion(boolean committed) {
+            if (committed) {
+                mirrors.refreshAsync(tables);
+            }
+        }
+    }
+
+    private final class LocalTransactionListener extends DefaultTransactionListener {
+
+        @Override
+        public void beginEnd(TransactionContext ctx) {
+            localTransactions.get().addFirst(new HashSet<>());
+        }
+
+        @Override
+        public void commitEnd(TransactionContext ctx) {
+            Deque<Set<String>> transactions = localTransactions.get();
+            Set<String> tables = transactions.pollFirst();
+            if (tables == null) {
+                return;
+            }
+            Set<String> enclosing = transactions.peekFirst();
+            if (enclosing != null) { // a savepoint was released, the writes are committed with the enclosing one
+                enclosing.addAll(tables);
+            } else {
+                mirrors.refreshAsync(tables);
+            }
+        }
+
+        @Override
+        public void rollbackEnd(TransactionContext ctx) {
+            localTransactions.get().pollFirst();
+        }
+    }
+}
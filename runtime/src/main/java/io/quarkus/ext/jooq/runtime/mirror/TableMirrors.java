@@ -0,0 +1,180 @@
+package io.quarkus.ext.jooq.runtime.mirror;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.table.JooqTables;
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * The mirrored tables of one DSLContext, "quarkus.jooq.[name].mirrored-tables". They are loaded at startup, reloaded
+ * every "mirror-refresh-interval" and, in the background, after every committed write executed through the DSLContext
+ * on them.
+ * 
+ * @author Leo Tu
+ */
+public final class TableMirrors {
+    private static final Logger log = Logger.getLogger(TableMirrors.class);
+
+    private static final Map<String, TableMirrors> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static volatile ScheduledExecutorService executor;
+
+    private final String contextName;
+
+    private final Map<String, TableMirror<?>> byName = new LinkedHashMap<>();
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private TableMirrors(String contextName) {
+        this.contextName = contextName;
+    }
+
+    /**
+     * Called once the DSLContext has been created
+     */
+    public static TableMirrors create(String contextName, DSLContext dsl, List<String> tableClassNames,
+            long refreshIntervalNanos) {
+        TableMirrors mirrors = new TableMirrors(contextName);
+        for (String tableClassName : tableClassNames) {
+            Table<?> table = JooqTables.byClassName(tableClassName);
+            if (table == null) {
+                throw new ConfigurationException("Mirrored table is not a jOOQ generated table: " + tableClassName);
+            }
+            mirrors.byName.put(JooqTables.nameOf(table), new TableMirror<>(table, dsl));
+        }
+        if (refreshIntervalNanos > 0) {
+            executor().scheduleWithFixedDelay(mirrors::refresh, refreshIntervalNanos, refreshIntervalNanos,
+                    TimeUnit.NANOSECONDS);
+        }
+        CONTEXTS.put(contextName, mirrors);
+        return mirrors;
+    }
+
+    /**
+     * The mirrored tables of the default DSLContext
+     */
+    public static TableMirrors of() {
+        return of(AbstractDslContextProducer.DEFAULT_NAME);
+    }
+
+    /**
+     * @throws IllegalStateException if the DSLContext has no mirrored tables, or has not been created yet
+     */
+    public static TableMirrors of(String contextName) {
+        TableMirrors mirrors = CONTEXTS.get(contextName);
+        if (mirrors == null) {
+            throw new IllegalStateException("No mirrored tables for DSLContext: " + contextName);
+        }
+        return mirrors;
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the table is not mirrored by this DSLContext
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Record> TableMirror<R> get(Class<? extends Table<R>> tableClass) {
+        Table<?> table = JooqTables.byClassName(tableClass.getName());
+        TableMirror<?> mirror = table == null ? null : byName.get(JooqTables.nameOf(table));
+        if (mirror == null) {
+            throw new IllegalArgumentException("Table not mirrored by " + contextName + ": " + tableClass.getName());
+        }
+        return (TableMirror<R>) mirror;
+    }
+
+    public Collection<TableMirror<?>> getMirrors() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+
+    /**
+     * Reloads all the tables now, failures are logged
+     */
+    public void refresh() {
+        for (TableMirror<?> mirror : byName.values()) {
+            load(mirror);
+        }
+    }
+
+    /**
+     * @return whether this DSLContext mirrors any of these tables
+     */
+    boolean isMirrored(Set<String> tableNames) {
+        for (String tableName : tableNames) {
+            if (byName.containsKey(tableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reloads these tables in the background, a table already waiting for its reload is not queued twice
+     */
+    void refreshAsync(Set<String> tableNames) {
+        for (String tableName : tableNames) {
+            TableMirror<?> mirror = byName.get(tableName);
+            if (mirror != null && pending.add(tableName)) {
+                executor().execute(() -> {
+                    pending.remove(tableName);
+                    load(mirror);
+                });
+            }
+        }
+    }
+
+    private void load(TableMirror<?> mirror) {
+        try {
+            mirror.load();
+        } catch (RuntimeException e) {
+            log.errorv(e, "Mirrored table load failed: {0}, {1}", contextName, mirror.getTable().getName());
+        }
+    }
+
+    private static ScheduledExecutorService executor() {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            synchronized (TableMirrors.class) {
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "jooq-table-mirrors");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Shutdown
+     */
+    public static void shutdown() {
+        synchronized (TableMirrors.class) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+        CONTEXTS.clear();
+    }
+}
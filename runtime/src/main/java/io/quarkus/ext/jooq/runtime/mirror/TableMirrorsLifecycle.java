@@ -0,0 +1,45 @@
+package io.quarkus.ext.jooq.runtime.mirror;
+
+import java.util.Map.Entry;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.inject.Singleton;
+
+import org.jboss.logging.Logger;
+import org.jooq.DSLContext;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.DslContextOptions;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Loads the mirrored tables at startup, added as a bean only if any table is mirrored
+ * 
+ * @author Leo Tu
+ */
+@Singleton
+public class TableMirrorsLifecycle {
+    private static final Logger log = Logger.getLogger(TableMirrorsLifecycle.class);
+
+    void onStart(@Observes StartupEvent event) {
+        for (Entry<String, DslContextOptions> entry : AbstractDslContextProducer.getOptions().entrySet()) {
+            if (entry.getValue().getMirroredTables().isEmpty()) {
+                continue;
+            }
+            String name = entry.getKey();
+            DSLContext dsl = AbstractDslContextProducer.DEFAULT_NAME.equals(name)
+                    ? Arc.container().instance(DSLContext.class).get()
+                    : Arc.container().instance(DSLContext.class, NamedLiteral.of(name)).get();
+            dsl.configuration(); // the client proxy creates the DSLContext, and its mirrors
+            log.debugv("onStart: {0}", name);
+            TableMirrors.of(name).refresh();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        TableMirrors.shutdown();
+    }
+}
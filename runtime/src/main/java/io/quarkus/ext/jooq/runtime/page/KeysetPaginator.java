@@ -0,0 +1,252 @@
+package io.quarkus.ext.jooq.runtime.page;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SelectSeekStepN;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Pages through a table in the order of its primary key with keyset (seek) pagination, fetching the next pages in
+ * the background while the current one is processed:
+ * 
+ * <pre>
+ * try (KeysetPaginator&lt;Record&gt; pages = KeysetPaginator.of(dsl1, QEmployees.$).pageSize(1000).prefetch(2)) {
+ *     for (Result&lt;Record&gt; page : pages) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * 
+ * Each page starts after the key of the last row of the previous one, so it costs the same at any depth, unlike
+ * OFFSET. The prefetched pages are fetched on other pooled connections.
+ * 
+ * @author Leo Tu
+ */
+public final class KeysetPaginator<R extends Record> implements Iterable<Result<R>>, AutoCloseable {
+    private static final Logger log = Logger.getLogger(KeysetPaginator.class);
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private final DSLContext dsl;
+
+    private final Table<R> table;
+
+    private Field<?>[] keys;
+
+    private int pageSize = 1000;
+
+    private int prefetch = 1;
+
+    private Condition condition = DSL.noCondition();
+
+    private Executor executor;
+
+    private final Deque<CompletableFuture<Result<R>>> pages = new ArrayDeque<>();
+
+    /**
+     * The last page asked for, fetched or not
+     */
+    private CompletableFuture<Result<R>> tail;
+
+    private boolean started;
+
+    private KeysetPaginator(DSLContext dsl, Table<R> table) {
+        this.dsl = dsl;
+        this.table = table;
+        if (table.getPrimaryKey() != null) {
+            List<? extends Field<?>> fields = table.getPrimaryKey().getFields();
+            this.keys = fields.toArray(new Field<?>[0]);
+        }
+    }
+
+    public static <R extends Record> KeysetPaginator<R> of(DSLContext dsl, Table<R> table) {
+        return new KeysetPaginator<>(dsl, table);
+    }
+
+    /**
+     * The unique key of the order, the primary key of the table by default
+     */
+    public KeysetPaginator<R> on(Field<?>... keys) {
+        this.keys = keys;
+        return this;
+    }
+
+    /**
+     * Rows per page, 1000 by default
+     */
+    public KeysetPaginator<R> pageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+        return this;
+    }
+
+    /**
+     * Number of the pages fetched ahead of the current one, 1 by default, 0 to fetch each page when it is asked for
+     */
+    public KeysetPaginator<R> prefetch(int prefetch) {
+        this.prefetch = Math.max(0, prefetch);
+        return this;
+    }
+
+    public KeysetPaginator<R> where(Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Fetches the next pages, a shared "jooq-page" thread pool by default
+     */
+    public KeysetPaginator<R> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Can be iterated once
+     */
+    @Override
+    public synchronized Iterator<Result<R>> iterator() {
+        if (started) {
+            throw new IllegalStateException("Already iterated: " + table);
+        }
+        if (keys == null || keys.length == 0) {
+            throw new IllegalStateException("No key: " + table);
+        }
+        started = true;
+        tail = CompletableFuture.supplyAsync(() -> fetchAfter(null), executor());
+        pages.add(tail);
+        return new PageIterator();
+    }
+
+    /**
+     * Cancels the prefetched pages
+     */
+    @Override
+    public synchronized void close() {
+        for (CompletableFuture<Result<R>> page : pages) {
+            page.cancel(false);
+        }
+        pages.clear();
+        tail = null;
+    }
+
+    private Result<R> fetchAfter(Result<R> previous) {
+        SelectSeekStepN<R> select = dsl.selectFrom(table).where(condition).orderBy(keys);
+        Result<R> page;
+        if (previous == null) {
+            page = select.limit(pageSize).fetch();
+        } else {
+            R last = previous.get(previous.size() - 1);
+            Object[] values = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = last.get(keys[i]);
+            }
+            page = select.seek(values).limit(pageSize).fetch();
+        }
+        log.debugv("{0}: page of {1} rows", table.getName(), page.size());
+        return page;
+    }
+
+    /**
+     * Chains the fetch of the page after the tail, null once a page is not full
+     */
+    private CompletableFuture<Result<R>> fetchNext() {
+        tail = tail.thenApplyAsync(
+                previous -> previous == null || previous.size() < pageSize ? null : fetchAfter(previous), executor());
+        return tail;
+    }
+
+    private Executor executor() {
+        if (executor != null) {
+            return executor;
+        }
+        ExecutorService current = defaultExecutor;
+        if (current == null) {
+            synchronized (KeysetPaginator.class) {
+                if (defaultExecutor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    defaultExecutor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "jooq-page-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = defaultExecutor;
+            }
+        }
+        return current;
+    }
+
+    private final class PageIterator implements Iterator<Result<R>> {
+
+        private Result<R> next;
+
+        private boolean done;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            CompletableFuture<Result<R>> page;
+            synchronized (KeysetPaginator.this) {
+                if (tail == null) {
+                    throw new IllegalStateException("Closed: " + table);
+                }
+                page = pages.isEmpty() ? fetchNext() : pages.poll();
+                while (pages.size() < prefetch) {
+                    pages.add(fetchNext());
+                }
+            }
+            Result<R> result = join(page);
+            if (result == null || result.isEmpty()) {
+                done = true;
+                close();
+                return false;
+            }
+            next = result;
+            return true;
+        }
+
+        @Override
+        public Result<R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Result<R> result = next;
+            next = null;
+            return result;
+        }
+
+        private Result<R> join(CompletableFuture<Result<R>> page) {
+            try {
+                return page.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
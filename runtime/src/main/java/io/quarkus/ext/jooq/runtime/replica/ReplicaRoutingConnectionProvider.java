@@ -0,0 +1,185 @@
+package io.quarkus.ext.jooq.runtime.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.jboss.logging.Logger;
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import io.quarkus.ext.jooq.runtime.ReplicaSelection;
+import io.quarkus.ext.jooq.runtime.jta.JtaTransactions;
+
+/**
+ * Read/write splitting, "quarkus.jooq.[name].replicas": the SELECTs marked by {@link ReplicaRoutingListener} get a
+ * connection of a replica datasource, unless a JTA transaction is active. Everything else, the jOOQ transactions
+ * included, gets the connection of the primary. A replica that fails to hand out a connection is skipped for that
+ * query, the primary serves it.
+ *
+ * Locking reads (FOR UPDATE, FOR SHARE) always go to the primary.
+ *
+ * @author Leo Tu
+ */
+public class ReplicaRoutingConnectionProvider implements ConnectionProvider {
+    private static final Logger log = Logger.getLogger(ReplicaRoutingConnectionProvider.class);
+
+    /**
+     * Idle replicas forget their latency with this half-life, so that a slow one is tried again
+     */
+    private static final long LATENCY_HALF_LIFE_NANOS = 10_000_000_000L;
+
+    private static final ThreadLocal<Boolean> READ = new ThreadLocal<>();
+
+    private final String contextName;
+
+    private final ConnectionProvider primary;
+
+    private final Replica[] replicas;
+
+    private final ReplicaSelection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Map<Connection, Lease> leases = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * @param replicaNames the datasource names of the replicas, for the logs
+     */
+    public ReplicaRoutingConnectionProvider(String contextName, ConnectionProvider primary,
+            List<String> replicaNames, DataSource[] replicas, ReplicaSelection selection) {
+        if (replicas.length == 0) {
+            throw new IllegalArgumentException("No replica: " + contextName);
+        }
+        this.contextName = contextName;
+        this.primary = primary;
+        this.replicas = new Replica[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            String replicaName = i < replicaNames.size() ? replicaNames.get(i) : String.valueOf(i);
+            this.replicas[i] = new Replica(replicaName, replicas[i]);
+        }
+        this.selection = selection;
+    }
+
+    /**
+     * The next connection acquired by this thread is for a SELECT
+     */
+    void readNext() {
+        READ.set(Boolean.TRUE);
+    }
+
+    void clearRead() {
+        READ.remove();
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        boolean read = READ.get() != null;
+        if (read) {
+            READ.remove();
+        }
+        if (!read || JtaTransactions.isActive()) {
+            return primary.acquire();
+        }
+        Replica replica = select();
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replica.inUse.incrementAndGet();
+            leases.put(connection, new Lease(replica, System.nanoTime()));
+            return connection;
+        } catch (SQLException e) {
+            log.debugv("acquire: {0}, replica: {1} failed, read from the primary: {2}", contextName, replica.name, e);
+            return primary.acquire();
+        }
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        Lease lease = leases.remove(connection);
+        if (lease == null) {
+            primary.release(connection);
+            return;
+        }
+        lease.replica.inUse.decrementAndGet();
+        lease.replica.record(System.nanoTime() - lease.acquiredNanos);
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new DataAccessException("Cannot close the connection of replica " + lease.replica.name, e);
+        }
+    }
+
+    private Replica select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.length);
+        if (selection == ReplicaSelection.ROUND_ROBIN || replicas.length == 1) {
+            return replicas[start];
+        }
+        // least latency, the round robin start spreads the ties
+        long now = System.nanoTime();
+        Replica best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(start + i) % replicas.length];
+            double cost = (replica.latency(now) + 1) * (replica.inUse.get() + 1);
+            if (cost < bestCost) {
+                best = replica;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private static final class Replica {
+
+        final String name;
+
+        final DataSource dataSource;
+
+        final AtomicInteger inUse = new AtomicInteger();
+
+        /**
+         * Exponentially weighted moving average of the time the connections are held
+         */
+        private double latencyNanos;
+
+        private long updatedNanos = System.nanoTime();
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        synchronized void record(long elapsedNanos) {
+            long now = System.nanoTime();
+            latencyNanos = latencyNanos == 0 ? elapsedNanos : 0.8 * decayed(now) + 0.2 * elapsedNanos;
+            updatedNanos = now;
+        }
+
+        synchronized double latency(long now) {
+            return decayed(now);
+        }
+
+        private double decayed(long now) {
+            long idle = now - updatedNanos;
+            return idle <= 0 ? latencyNanos : latencyNanos * Math.pow(0.5, (double) idle / LATENCY_HALF_LIFE_NANOS);
+        }
+    }
+
+    private static final class Lease {
+
+        final Replica replica;
+
+        final long acquiredNanos;
+
+        Lease(Replica replica, long acquiredNanos) {
+            this.replica = replica;
+            this.acquiredNanos = acquiredNanos;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.quarkus.ext.jooq.runtime.replica;
+
+import org.jooq.ExecuteContext;
+import org.jooq.Select;
+import org.jooq.impl.DefaultExecuteListener;
+
+import io.quarkus.ext.jooq.runtime.table.SqlTables;
+
+/**
+ * Marks the rendered SELECTs, jOOQ acquires the connection of a query right after rendering it. Only the {@link Select}
+ * queries without a locking clause are routed: plain SQL, e.g. a data-modifying WITH, always goes to the primary
+ * 
+ * @author Leo Tu
+ */
+public class ReplicaRoutingListener extends DefaultExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ReplicaRoutingConnectionProvider routing;
+
+    public ReplicaRoutingListener(ReplicaRoutingConnectionProvider routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        String sql = ctx.sql();
+        if (ctx.query() instanceof Select && sql != null && !SqlTables.isLocking(sql)) {
+            routing.readNext();
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        routing.clearRead(); // the connection was already there, e.g. inside a jOOQ transaction
+    }
+}
@@ -0,0 +1,311 @@
+package io.quarkus.ext.jooq.runtime.scan;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+
+/**
+ * Scans a table with one query per range of a key, run concurrently, each on its own pooled connection:
+ * 
+ * <pre>
+ * Result&lt;Record&gt; salaries = PartitionedScan.of(dsl1, QSalaries.$).on(QSalaries.$.fromDate).partitions(8).fetch();
+ * </pre>
+ * 
+ * The ranges split the min and max values of the key evenly, the key is a number, a date or a timestamp. At most
+ * min(partitions, "jdbc.max-size" of the datasource) partitions run at once, the others wait for a free worker. The
+ * first failing partition fails the scan, the others stop reading.
+ * 
+ * @author Leo Tu
+ */
+public final class PartitionedScan<R extends Record> {
+    private static final Logger log = Logger.getLogger(PartitionedScan.class);
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private final DSLContext dsl;
+
+    private final Table<R> table;
+
+    private Field<?> key;
+
+    private int partitions = Runtime.getRuntime().availableProcessors();
+
+    private Condition condition = DSL.noCondition();
+
+    private Executor executor;
+
+    private PartitionedScan(DSLContext dsl, Table<R> table) {
+        this.dsl = dsl;
+        this.table = table;
+        this.key = table.getPrimaryKey() != null && table.getPrimaryKey().getFields().size() == 1
+                ? table.getPrimaryKey().getFields().get(0)
+                : null;
+    }
+
+    public static <R extends Record> PartitionedScan<R> of(DSLContext dsl, Table<R> table) {
+        return new PartitionedScan<>(dsl, table);
+    }
+
+    /**
+     * The partition key, the primary key of the table by default if it has a single column
+     */
+    public PartitionedScan<R> on(Field<?> key) {
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Number of the ranges, the available processors by default
+     */
+    public PartitionedScan<R> partitions(int partitions) {
+        this.partitions = Math.max(1, partitions);
+        return this;
+    }
+
+    public PartitionedScan<R> where(Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Runs the partitions, a shared "jooq-scan" thread pool by default
+     */
+    public PartitionedScan<R> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @return the condition of each partition, the rows with a null key in the last one
+     */
+    public List<Condition> conditions() {
+        if (key == null) {
+            throw new IllegalStateException("No partition key: " + table);
+        }
+        Record2<?, ?> range = dsl.select(DSL.min(key), DSL.max(key)).from(table).where(condition).fetchOne();
+        Object min = range.value1();
+        Object max = range.value2();
+        List<Condition> conditions = new ArrayList<>();
+        if (min == null) {
+            conditions.add(DSL.noCondition());
+            return conditions;
+        }
+        Function<Object, Long> toLong = toLong(key.getType());
+        Function<Long, Object> fromLong = fromLong(key.getType());
+        long low = toLong.apply(min);
+        long high = toLong.apply(max);
+        long step = Math.max(1, (high - low) / partitions + 1);
+        Object lower = null;
+        for (int i = 1; i < partitions && low + step * i <= high; i++) {
+            Object upper = fromLong.apply(low + step * i);
+            conditions.add(lower == null ? field(key).lt(upper) : field(key).ge(lower).and(field(key).lt(upper)));
+            lower = upper;
+        }
+        conditions.add(lower == null ? key.isNotNull() : field(key).ge(lower));
+        if (key.getDataType().nullable()) {
+            conditions.add(key.isNull());
+        }
+        return conditions;
+    }
+
+    /**
+     * @return all the rows, in the order of the partitions
+     */
+    public Result<R> fetch() {
+        List<Condition> conditions = conditions();
+        Result<R> result = dsl.newResult(table);
+        for (Result<R> rows : run(conditions, (partition, cancelled) -> {
+            Result<R> partitionRows = dsl.newResult(table);
+            try (Cursor<R> cursor = dsl.selectFrom(table).where(condition).and(partition).fetchLazy()) {
+                while (!cancelled.get() && cursor.hasNext()) {
+                    partitionRows.add(cursor.fetchNext());
+                }
+            }
+            return partitionRows;
+        })) {
+            result.addAll(rows);
+        }
+        log.debugv("fetch {0}: {1} rows, {2} partitions", table.getName(), result.size(), conditions.size());
+        return result;
+    }
+
+    /**
+     * Streams the rows to the consumer, which is called concurrently by the partitions
+     * 
+     * @return number of the rows
+     */
+    public long forEach(Consumer<? super R> consumer) {
+        List<Condition> conditions = conditions();
+        long rows = 0;
+        for (Long partitionRows : run(conditions, (partition, cancelled) -> {
+            long count = 0;
+            try (Cursor<R> cursor = dsl.selectFrom(table).where(condition).and(partition).fetchLazy()) {
+                while (!cancelled.get() && cursor.hasNext()) {
+                    consumer.accept(cursor.fetchNext());
+                    count++;
+                }
+            }
+            return count;
+        })) {
+            rows += partitionRows;
+        }
+        log.debugv("forEach {0}: {1} rows, {2} partitions", table.getName(), rows, conditions.size());
+        return rows;
+    }
+
+    /**
+     * Runs one task per partition on at most min(partitions, "jdbc.max-size") workers, each taking the next partition
+     * once done with its own, so that no partition waits for a connection held by another one. Fails on the first
+     * failure, without waiting for the others: they stop at their next row, the ones not started yet do not run their
+     * query.
+     * 
+     * @param task reads one partition, until the flag is set
+     * @return the results, in the order of the partitions
+     */
+    private <T> List<T> run(List<Condition> conditions, BiFunction<Condition, AtomicBoolean, T> task) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        List<CompletableFuture<T>> futures = new ArrayList<>(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.whenComplete((value, e) -> {
+                if (e != null) {
+                    cancelled.set(true);
+                    failure.completeExceptionally(e);
+                }
+            });
+            futures.add(future);
+        }
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(conditions.size(), AbstractDslContextProducer.maxConnections(dsl));
+        for (int w = 0; w < workers; w++) {
+            CompletableFuture.runAsync(() -> {
+                for (int i = next.getAndIncrement(); i < conditions.size() && !cancelled.get(); i = next
+                        .getAndIncrement()) {
+                    try {
+                        futures.get(i).complete(task.apply(conditions.get(i), cancelled));
+                    } catch (Throwable e) {
+                        futures.get(i).completeExceptionally(e);
+                    }
+                }
+            }, executor()).exceptionally(e -> { // rejected by the executor
+                failure.completeExceptionally(e);
+                return null;
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])), failure)
+                    .join();
+        } catch (CompletionException e) {
+            cancelled.set(true);
+            for (CompletableFuture<T> future : futures) {
+                future.cancel(true);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Field<Object> field(Field<?> key) {
+        return (Field<Object>) key;
+    }
+
+    private static Function<Object, Long> toLong(Class<?> type) {
+        if (Number.class.isAssignableFrom(type)) {
+            return value -> ((Number) value).longValue();
+        } else if (type == LocalDate.class) {
+            return value -> ((LocalDate) value).toEpochDay();
+        } else if (type == LocalDateTime.class) {
+            return value -> ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+        } else if (java.util.Date.class.isAssignableFrom(type)) {
+            return value -> ((java.util.Date) value).getTime();
+        }
+        throw new IllegalArgumentException("Unsupported partition key type: " + type.getName());
+    }
+
+    private static Function<Long, Object> fromLong(Class<?> type) {
+        if (type == Integer.class) {
+            return Long::intValue;
+        } else if (type == Long.class) {
+            return value -> value;
+        } else if (type == Short.class) {
+            return Long::shortValue;
+        } else if (type == Byte.class) {
+            return Long::byteValue;
+        } else if (type == BigInteger.class) {
+            return BigInteger::valueOf;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal::valueOf;
+        } else if (type == Double.class) {
+            return Long::doubleValue;
+        } else if (type == Float.class) {
+            return Long::floatValue;
+        } else if (type == LocalDate.class) {
+            return LocalDate::ofEpochDay;
+        } else if (type == LocalDateTime.class) {
+            return value -> LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+        } else if (type == Timestamp.class) {
+            return Timestamp::new;
+        } else if (type == java.sql.Date.class) {
+            return java.sql.Date::new;
+        }
+        throw new IllegalArgumentException("Unsupported partition key type: " + type.getName());
+    }
+
+    private Executor executor() {
+        if (executor != null) {
+            return executor;
+        }
+        ExecutorService current = defaultExecutor;
+        if (current == null) {
+            synchronized (PartitionedScan.class) {
+                if (defaultExecutor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    defaultExecutor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "jooq-scan-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = defaultExecutor;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,195 @@
+package io.quarkus.ext.jooq.runtime.spill;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+import io.quarkus.ext.jooq.runtime.stream.QueryStreams;
+
+/**
+ * Fetches results of unpredictable size within a heap budget, "quarkus.jooq.[name].spill.*":
+ * 
+ * <pre>
+ * try (SpilledResult&lt;Record&gt; salaries = ResultSpills.of("dsl1").fetch(dsl1.selectFrom(QSalaries.$))) {
+ *     for (Record salary : salaries) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * 
+ * The query is read with the streaming mode of {@link QueryStreams}, the driver does not buffer the whole result. Once
+ * the rows kept in the heap reach max-rows or max-bytes, the next ones are written to a temporary file in a compact
+ * binary format and read back through memory mapped windows.
+ * 
+ * @author Leo Tu
+ */
+public final class ResultSpills {
+    private static final Logger log = Logger.getLogger(ResultSpills.class);
+
+    private static final Map<String, ResultSpills> CONTEXTS = new ConcurrentHashMap<>();
+
+    private final String contextName;
+
+    private final DSLContext dsl;
+
+    private final QueryStreams streams;
+
+    private final int maxRows;
+
+    private final long maxBytes;
+
+    private final Path directory;
+
+    private ResultSpills(String contextName, DSLContext dsl, QueryStreams streams, int maxRows, long maxBytes,
+            Path directory) {
+        this.contextName = contextName;
+        this.dsl = dsl;
+        this.streams = streams;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    /**
+     * Called once the DSLContext has been created
+     * 
+     * @param directory null for java.io.tmpdir
+     */
+    public static ResultSpills create(String contextName, DSLContext dsl, QueryStreams streams, int maxRows,
+            long maxBytes, String directory) {
+        Path path = Paths.get(directory == null ? System.getProperty("java.io.tmpdir") : directory);
+        ResultSpills spills = new ResultSpills(contextName, dsl, streams, maxRows, maxBytes, path);
+        CONTEXTS.put(contextName, spills);
+        return spills;
+    }
+
+    /**
+     * The spills of the default DSLContext
+     */
+    public static ResultSpills of() {
+        return of(AbstractDslContextProducer.DEFAULT_NAME);
+    }
+
+    /**
+     * Creates the DSLContext bean if not done yet
+     * 
+     * @throws IllegalStateException if there is no DSLContext of that name
+     */
+    public static ResultSpills of(String contextName) {
+        ResultSpills spills = CONTEXTS.get(contextName);
+        if (spills == null && AbstractDslContextProducer.createDslContextBean(contextName)) {
+            spills = CONTEXTS.get(contextName);
+        }
+        if (spills == null) {
+            throw new IllegalStateException("No DSLContext: " + contextName);
+        }
+        return spills;
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public <R extends Record> SpilledResult<R> fetch(ResultQuery<R> query) {
+        return streams.read(query, this::spill);
+    }
+
+    /**
+     * Reads the rest of the cursor, which is not closed. The records are attached to the DSLContext.
+     */
+    public <R extends Record> SpilledResult<R> spill(Cursor<R> cursor) {
+        Field<?>[] fields = cursor.fields();
+        List<R> rows = new ArrayList<>();
+        long bytes = 0;
+        while (rows.size() < maxRows && bytes < maxBytes && cursor.hasNext()) {
+            R record = cursor.fetchNext();
+            record.attach(dsl.configuration()); // not to the connection of the cursor
+            bytes += RowCodec.estimate(record);
+            rows.add(record);
+        }
+        if (!cursor.hasNext()) {
+            return new SpilledResult<>(fields, rows, null, null, null, null, 0, 0);
+        }
+
+        RowCodec codec = new RowCodec(fields);
+        Path file = null;
+        FileChannel channel = null;
+        try {
+            file = Files.createTempFile(directory, "jooq-spill-", ".bin");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            R first = null;
+            int spilled = 0;
+            while (cursor.hasNext()) {
+                R record = cursor.fetchNext();
+                if (first == null) {
+                    first = record;
+                }
+                codec.write(out, record);
+                spilled++;
+            }
+            out.flush();
+            long size = channel.size();
+            log.debugv("{0} spilled {1} rows, {2} bytes to {3}", contextName, spilled, size, file);
+            return new SpilledResult<>(fields, rows, factory(first, fields), codec, file, channel, spilled, size);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    e.addSuppressed(ce);
+                }
+            } else if (file != null) {
+                file.toFile().delete();
+            }
+            if (e instanceof IOException) {
+                throw new UncheckedIOException("Spill failed: " + file, (IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * New records of the type of the fetched ones, attached to the DSLContext
+     */
+    @SuppressWarnings("unchecked")
+    private <R extends Record> Supplier<R> factory(R first, Field<?>[] fields) {
+        if (first instanceof TableRecord) {
+            Table<?> table = ((TableRecord<?>) first).getTable();
+            return () -> (R) dsl.newRecord(table);
+        }
+        return () -> (R) dsl.newRecord(fields);
+    }
+}
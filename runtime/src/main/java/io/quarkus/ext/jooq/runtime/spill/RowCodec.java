@@ -0,0 +1,245 @@
+package io.quarkus.ext.jooq.runtime.spill;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.jooq.Converter;
+import org.jooq.EnumType;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.tools.Convert;
+
+/**
+ * The binary format of the spilled rows: one tag byte per value, then the value. Values with a Converter are written
+ * as their database type, the types without a tag as their string form.
+ * 
+ * @author Leo Tu
+ */
+final class RowCodec {
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte SHORT = 5;
+    private static final byte BYTE = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte STRING = 8;
+    private static final byte DECIMAL = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte LOCAL_DATE = 11;
+    private static final byte LOCAL_DATE_TIME = 12;
+    private static final byte LOCAL_TIME = 13;
+    private static final byte OFFSET_DATE_TIME = 14;
+    private static final byte DATE = 15;
+    private static final byte TIMESTAMP = 16;
+    private static final byte TIME = 17;
+    private static final byte BYTES = 18;
+    private static final byte UUID_ = 19;
+    private static final byte OTHER = 20;
+
+    private final Converter<Object, Object>[] converters;
+
+    @SuppressWarnings("unchecked")
+    RowCodec(Field<?>[] fields) {
+        this.converters = (Converter<Object, Object>[]) new Converter<?, ?>[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            converters[i] = (Converter<Object, Object>) fields[i].getDataType().getConverter();
+        }
+    }
+
+    /**
+     * @return estimated heap size of the record
+     */
+    static long estimate(Record record) {
+        long size = 32 + 8L * record.size();
+        for (int i = 0; i < record.size(); i++) {
+            Object value = record.get(i);
+            if (value instanceof String) {
+                size += 40 + ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += 16 + ((byte[]) value).length;
+            } else if (value != null) {
+                size += 24;
+            }
+        }
+        return size;
+    }
+
+    void write(DataOutput out, Record record) throws IOException {
+        for (int i = 0; i < converters.length; i++) {
+            Object value = record.get(i);
+            write(out, value == null ? null : converters[i].to(value));
+        }
+    }
+
+    void read(DataInput in, Object[] values) throws IOException {
+        for (int i = 0; i < converters.length; i++) {
+            Object value = read(in);
+            if (value != null) {
+                Converter<Object, Object> converter = converters[i];
+                if (!converter.fromType().isInstance(value)) {
+                    value = Convert.convert(value, converter.fromType());
+                }
+                value = converter.from(value);
+            }
+            values[i] = value;
+        }
+    }
+
+    private static void write(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        } else if (value instanceof LocalTime) {
+            out.writeByte(LOCAL_TIME);
+            out.writeLong(((LocalTime) value).toNanoOfDay());
+        } else if (value instanceof OffsetDateTime) {
+            out.writeByte(OFFSET_DATE_TIME);
+            writeString(out, value.toString());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            out.writeByte(TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof Time) {
+            out.writeByte(TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof UUID) {
+            UUID uuid = (UUID) value;
+            out.writeByte(UUID_);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(OTHER);
+            writeString(out, value instanceof EnumType ? ((EnumType) value).getLiteral()
+                    : value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        }
+    }
+
+    private static Object read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case INT:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case DOUBLE:
+            return in.readDouble();
+        case FLOAT:
+            return in.readFloat();
+        case SHORT:
+            return in.readShort();
+        case BYTE:
+            return in.readByte();
+        case BOOLEAN:
+            return in.readBoolean();
+        case STRING:
+        case OTHER:
+            return readString(in);
+        case DECIMAL:
+            return new BigDecimal(readString(in));
+        case BIG_INTEGER:
+            return new BigInteger(readString(in));
+        case LOCAL_DATE:
+            return LocalDate.ofEpochDay(in.readLong());
+        case LOCAL_DATE_TIME:
+            return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        case LOCAL_TIME:
+            return LocalTime.ofNanoOfDay(in.readLong());
+        case OFFSET_DATE_TIME:
+            return OffsetDateTime.parse(readString(in));
+        case DATE:
+            return new java.sql.Date(in.readLong());
+        case TIMESTAMP:
+            Timestamp timestamp = new Timestamp(in.readLong());
+            timestamp.setNanos(in.readInt());
+            return timestamp;
+        case TIME:
+            return new Time(in.readLong());
+        case BYTES:
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        case UUID_:
+            return new UUID(in.readLong(), in.readLong());
+        default:
+            throw new IOException("Corrupt spill file, tag " + tag);
+        }
+    }
+
+    /**
+     * writeUTF is limited to 64 KB
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,161 @@
+package io.quarkus.ext.jooq.runtime.spill;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jooq.Field;
+import org.jooq.Record;
+
+import io.quarkus.ext.jooq.runtime.bulk.MappedFileInputStream;
+
+/**
+ * A fetched result whose first rows are in the heap and the others, if any, in a memory mapped temporary file. The
+ * spilled rows are read back as new records on every iteration. Must be closed to delete the file.
+ * 
+ * @author Leo Tu
+ */
+public final class SpilledResult<R extends Record> implements Iterable<R>, AutoCloseable {
+
+    private final Field<?>[] fields;
+
+    private final List<R> rows;
+
+    private final Supplier<R> factory;
+
+    private final RowCodec codec;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final int spilledRows;
+
+    private final long spilledBytes;
+
+    SpilledResult(Field<?>[] fields, List<R> rows, Supplier<R> factory, RowCodec codec, Path file,
+            FileChannel channel, int spilledRows, long spilledBytes) {
+        this.fields = fields;
+        this.rows = rows;
+        this.factory = factory;
+        this.codec = codec;
+        this.file = file;
+        this.channel = channel;
+        this.spilledRows = spilledRows;
+        this.spilledBytes = spilledBytes;
+    }
+
+    public Field<?>[] fields() {
+        return fields.clone();
+    }
+
+    /**
+     * @return number of the rows, in the heap and spilled
+     */
+    public int size() {
+        return rows.size() + spilledRows;
+    }
+
+    public boolean isSpilled() {
+        return spilledRows > 0;
+    }
+
+    public int getSpilledRows() {
+        return spilledRows;
+    }
+
+    /**
+     * @return size of the temporary file
+     */
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * @return null if the result has not been spilled. On Unix the file is unlinked as soon as it is opened.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+        if (!isSpilled()) {
+            return rows.iterator();
+        }
+        if (!channel.isOpen()) {
+            throw new IllegalStateException("Closed: " + file);
+        }
+        return new SpilledIterator();
+    }
+
+    public Stream<R> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Deletes the temporary file
+     */
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[size=" + size() + ", spilledRows=" + spilledRows + ", spilledBytes="
+                + spilledBytes + ", file=" + file + "]";
+    }
+
+    private final class SpilledIterator implements Iterator<R> {
+
+        private final Iterator<R> heap = rows.iterator();
+
+        private final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new MappedFileInputStream(channel, 0, spilledBytes), 64 * 1024));
+
+        private final Object[] values = new Object[fields.length];
+
+        private int read;
+
+        @Override
+        public boolean hasNext() {
+            return heap.hasNext() || read < spilledRows;
+        }
+
+        @Override
+        public R next() {
+            if (heap.hasNext()) {
+                return heap.next();
+            }
+            if (read >= spilledRows) {
+                throw new NoSuchElementException();
+            }
+            try {
+                codec.read(in, values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            read++;
+            R record = factory.get();
+            record.fromArray(values);
+            record.changed(false);
+            return record;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.quarkus.ext.jooq.runtime.stream;
+
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+import org.jooq.Cursor;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+
+/**
+ * Emits the rows of a query as they are requested, read from a Cursor on a connection of its own. Every subscription
+ * executes the query, the cursor and its connection are closed on completion, error or cancellation.
+ * 
+ * @author Leo Tu
+ */
+public final class CursorPublisher<R extends Record> implements Flow.Publisher<R> {
+    private static final Logger log = Logger.getLogger(CursorPublisher.class);
+
+    private final QueryStreams streams;
+
+    private final ResultQuery<R> query;
+
+    private final Executor executor;
+
+    CursorPublisher(QueryStreams streams, ResultQuery<R> query, Executor executor) {
+        this.streams = streams;
+        this.query = query;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        CursorSubscription subscription = new CursorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Signals are serialized by a work-in-progress counter, the drain loop runs on the executor as JDBC blocks
+     */
+    private final class CursorSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super R> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile Throwable invalidRequest;
+
+        private boolean done;
+
+        private StreamingConnection connection;
+
+        private Cursor<R> cursor;
+
+        CursorSubscription(Flow.Subscriber<? super R> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("§3.9: request must be positive: " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+                if (cancelled) {
+                    done = true;
+                    close();
+                    log.debugv("cancelled: {0}", streams.getContextName());
+                    return;
+                }
+                try {
+                    if (invalidRequest != null) {
+                        throw invalidRequest;
+                    }
+                    if (cursor == null) {
+                        open();
+                    }
+                    long emitted = 0;
+                    long limit = requested.get();
+                    while (emitted < limit && !cancelled) {
+                        R record = cursor.fetchNext();
+                        if (record == null) {
+                            done = true;
+                            close();
+                            subscriber.onComplete();
+                            return;
+                        }
+                        subscriber.onNext(record);
+                        emitted++;
+                        if (emitted == limit) {
+                            limit = requested.addAndGet(-emitted);
+                            emitted = 0;
+                        }
+                    }
+                    if (emitted > 0) {
+                        requested.addAndGet(-emitted);
+                    }
+                } catch (Throwable e) {
+                    done = true;
+                    close();
+                    subscriber.onError(e);
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void open() throws SQLException {
+            connection = StreamingConnection.open(streams);
+            cursor = connection.fetchLazy(query);
+        }
+
+        private void close() {
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        }
+    }
+}
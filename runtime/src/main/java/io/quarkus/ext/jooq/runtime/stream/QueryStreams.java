@@ -0,0 +1,178 @@
+package io.quarkus.ext.jooq.runtime.stream;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jooq.Configuration;
+import org.jooq.ConnectionProvider;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.conf.Settings;
+import org.jooq.conf.SettingsTools;
+import org.jooq.exception.DataAccessException;
+
+import io.quarkus.ext.jooq.runtime.AbstractDslContextProducer;
+
+/**
+ * Streams the results of the queries of one DSLContext, "quarkus.jooq.[name].stream-fetch-size":
+ * 
+ * <pre>
+ * Flow.Publisher&lt;Record&gt; salaries = QueryStreams.of("dsl1").publisher(dsl1.selectFrom(QSalaries.$));
+ * </pre>
+ * 
+ * The rows are read as they are requested by the subscriber, with the streaming mode of the dialect: MySQL streams
+ * row by row (fetch size Integer.MIN_VALUE) unless the URL has "useCursorFetch=true", PostgreSQL reads through a
+ * cursor with autocommit off. The results are not cached.
+ * 
+ * @author Leo Tu
+ */
+public final class QueryStreams {
+
+    private static final Map<String, QueryStreams> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static volatile ExecutorService executor;
+
+    private final String contextName;
+
+    private final DSLContext dsl;
+
+    private final int fetchSize;
+
+    /**
+     * The listener providers of the result caches, left out of the streams
+     */
+    private final List<ExecuteListenerProvider> cacheProviders;
+
+    private QueryStreams(String contextName, DSLContext dsl, int fetchSize,
+            List<ExecuteListenerProvider> cacheProviders) {
+        this.contextName = contextName;
+        this.dsl = dsl;
+        this.fetchSize = fetchSize;
+        this.cacheProviders = cacheProviders;
+    }
+
+    /**
+     * Called once the DSLContext has been created
+     * 
+     * @param cacheProviders the execute listener providers of the result caches registered by the producer
+     */
+    public static QueryStreams create(String contextName, DSLContext dsl, int fetchSize,
+            List<ExecuteListenerProvider> cacheProviders) {
+        QueryStreams streams = new QueryStreams(contextName, dsl, fetchSize, new ArrayList<>(cacheProviders));
+        CONTEXTS.put(contextName, streams);
+        return streams;
+    }
+
+    /**
+     * The streams of the default DSLContext
+     */
+    public static QueryStreams of() {
+        return of(AbstractDslContextProducer.DEFAULT_NAME);
+    }
+
+    /**
+     * Creates the DSLContext bean if not done yet
+     * 
+     * @throws IllegalStateException if there is no DSLContext of that name
+     */
+    public static QueryStreams of(String contextName) {
+        QueryStreams streams = CONTEXTS.get(contextName);
+        if (streams == null && AbstractDslContextProducer.createDslContextBean(contextName)) {
+            streams = CONTEXTS.get(contextName);
+        }
+        if (streams == null) {
+            throw new IllegalStateException("No DSLContext: " + contextName);
+        }
+        return streams;
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    DSLContext getDsl() {
+        return dsl;
+    }
+
+    /**
+     * The rows are read on a "jooq-cursor" thread
+     */
+    public <R extends Record> CursorPublisher<R> publisher(ResultQuery<R> query) {
+        return publisher(query, executor());
+    }
+
+    /**
+     * @param executor runs the blocking reads, never an event loop
+     */
+    public <R extends Record> CursorPublisher<R> publisher(ResultQuery<R> query, Executor executor) {
+        return new CursorPublisher<>(this, query, executor);
+    }
+
+    /**
+     * Reads the query through a cursor with the streaming mode of the dialect, on a connection of its own, both
+     * closed once the reader returns
+     */
+    public <R extends Record, T> T read(ResultQuery<R> query, Function<? super Cursor<R>, T> reader) {
+        try (StreamingConnection connection = open(); Cursor<R> cursor = connection.fetchLazy(query)) {
+            return reader.apply(cursor);
+        }
+    }
+
+    private StreamingConnection open() {
+        try {
+            return StreamingConnection.open(this);
+        } catch (SQLException e) {
+            throw new DataAccessException("Cannot open the streaming connection of " + contextName, e);
+        }
+    }
+
+    /**
+     * The configuration of the DSLContext on the connection of the stream, without the result caches which would
+     * read the whole result
+     */
+    Configuration configuration(ConnectionProvider connectionProvider, int streamFetchSize) {
+        Configuration configuration = dsl.configuration();
+        List<ExecuteListenerProvider> providers = new ArrayList<>();
+        for (ExecuteListenerProvider provider : configuration.executeListenerProviders()) {
+            if (!cacheProviders.contains(provider)) { // same instances, DefaultExecuteListenerProvider has no equals
+                providers.add(provider);
+            }
+        }
+        Settings settings = SettingsTools.clone(configuration.settings()).withFetchSize(streamFetchSize);
+        return configuration.derive(connectionProvider).derive(settings)
+                .derive(providers.toArray(new ExecuteListenerProvider[0]));
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (QueryStreams.class) {
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    executor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "jooq-cursor-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.ext.jooq.runtime.stream;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.jboss.logging.Logger;
+import org.jooq.ConnectionProvider;
+import org.jooq.Cursor;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConnectionProvider;
+
+/**
+ * A connection of the DSLContext set up for the {@link StreamingMode} of the dialect, for one cursor. Closing it
+ * restores the autocommit and releases the connection.
+ *
+ * @author Leo Tu
+ */
+final class StreamingConnection implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(StreamingConnection.class);
+
+    private final QueryStreams streams;
+
+    private final ConnectionProvider provider;
+
+    private final Connection connection;
+
+    private final boolean autoCommit;
+
+    private final StreamingMode mode;
+
+    private StreamingConnection(QueryStreams streams, ConnectionProvider provider, Connection connection,
+            boolean autoCommit, StreamingMode mode) {
+        this.streams = streams;
+        this.provider = provider;
+        this.connection = connection;
+        this.autoCommit = autoCommit;
+        this.mode = mode;
+    }
+
+    static StreamingConnection open(QueryStreams streams) throws SQLException {
+        ConnectionProvider provider = streams.getDsl().configuration().connectionProvider();
+        Connection connection = provider.acquire();
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            StreamingMode mode = StreamingMode.of(streams.getDsl().dialect(), connection);
+            if (mode.autoCommitOff && autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            log.debugv("open: {0}, mode: {1}", streams.getContextName(), mode);
+            return new StreamingConnection(streams, provider, connection, autoCommit, mode);
+        } catch (SQLException | RuntimeException e) {
+            provider.release(connection);
+            throw e;
+        }
+    }
+
+    /**
+     * The cursor must be closed before this connection
+     */
+    <R extends Record> Cursor<R> fetchLazy(ResultQuery<R> query) {
+        return DSL.using(streams.configuration(new DefaultConnectionProvider(connection),
+                mode.fetchSize(streams.getFetchSize()))).fetchLazy(query);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.rollback(); // read only
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.debugv("close: {0}", e);
+        }
+        provider.release(connection);
+    }
+}
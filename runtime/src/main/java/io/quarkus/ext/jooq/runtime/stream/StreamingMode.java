@@ -0,0 +1,58 @@
+package io.quarkus.ext.jooq.runtime.stream;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.jooq.SQLDialect;
+
+/**
+ * How the JDBC driver of the dialect streams a result instead of reading it whole
+ * 
+ * @author Leo Tu
+ */
+enum StreamingMode {
+
+    /**
+     * MySQL Connector/J streams row by row with fetchSize Integer.MIN_VALUE
+     */
+    MYSQL_STREAMING(false),
+
+    /**
+     * MySQL Connector/J with "useCursorFetch=true" in the URL, a server side cursor read fetchSize rows at a time
+     */
+    MYSQL_CURSOR_FETCH(false),
+
+    /**
+     * The PostgreSQL driver only uses a cursor when autocommit is off
+     */
+    POSTGRES_CURSOR(true),
+
+    /**
+     * The fetch size as a hint
+     */
+    FETCH_SIZE(false);
+
+    final boolean autoCommitOff;
+
+    StreamingMode(boolean autoCommitOff) {
+        this.autoCommitOff = autoCommitOff;
+    }
+
+    int fetchSize(int configured) {
+        return this == MYSQL_STREAMING ? Integer.MIN_VALUE : configured;
+    }
+
+    static StreamingMode of(SQLDialect dialect, Connection connection) throws SQLException {
+        switch (dialect.family()) {
+        case MYSQL:
+        case MARIADB:
+            String url = connection.getMetaData().getURL();
+            return url != null && url.toLowerCase().contains("usecursorfetch=true") ? MYSQL_CURSOR_FETCH
+                    : MYSQL_STREAMING;
+        case POSTGRES:
+            return POSTGRES_CURSOR;
+        default:
+            return FETCH_SIZE;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.quarkus.ext.jooq.runtime.table;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.jooq.Schema;
+import org.jooq.Table;
+
+/**
+ * The jOOQ generated tables (TableImpl subclasses) found in the Jandex index. Only their class names are registered at
+ * static init, a table is instantiated the first time it is used: the names of all of them are resolved at once, the
+ * first time a SQL string is matched against them.
+ *
+ * @author Leo Tu
+ */
+public final class JooqTables {
+    private static final Logger log = Logger.getLogger(JooqTables.class);
+
+    private static final Set<String> CLASS_NAMES = ConcurrentHashMap.newKeySet();
+
+    private static final Map<String, Table<?>> BY_CLASS = new ConcurrentHashMap<>();
+
+    /**
+     * Qualified name -&gt; table, and unqualified name -&gt; qualified names, set once by {@link #resolveAll()}
+     */
+    private static volatile Map<String, Table<?>> byName;
+
+    private static volatile Map<String, List<String>> byUnqualifiedName;
+
+    private JooqTables() {
+    }
+
+    /**
+     * Static Init
+     */
+    public static void register(String tableClassName) {
+        log.debugv("register: {0}", tableClassName);
+        CLASS_NAMES.add(tableClassName);
+        byName = null;
+        byUnqualifiedName = null;
+    }
+
+    /**
+     * @return "schema.table" in lower case, or "table" if the table has no schema or the default one
+     */
+    public static String nameOf(Table<?> table) {
+        Schema schema = table.getSchema();
+        String name = schema == null || schema.getName().isEmpty() ? table.getName()
+                : schema.getName() + "." + table.getName();
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param name the qualified table name, see {@link #nameOf(Table)}, case insensitive
+     * @return null if no generated table has this name
+     */
+    public static Table<?> byName(String name) {
+        return resolveAll().get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param name the unqualified table name, case insensitive
+     * @return the qualified names of the generated tables of this name, in any schema
+     */
+    public static List<String> qualifiedNames(String name) {
+        resolveAll();
+        return byUnqualifiedName.getOrDefault(name.toLowerCase(Locale.ROOT), Collections.emptyList());
+    }
+
+    /**
+     * @return null if the class was not found in the index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Table<?>> T byClass(Class<T> tableClass) {
+        return (T) byClassName(tableClass.getName());
+    }
+
+    /**
+     * @return null if the class was not found in the index, or cannot be instantiated
+     */
+    public static Table<?> byClassName(String tableClassName) {
+        Table<?> table = BY_CLASS.get(tableClassName);
+        if (table == null && CLASS_NAMES.contains(tableClassName)) {
+            table = newInstance(tableClassName);
+            if (table != null) {
+                Table<?> previous = BY_CLASS.putIfAbsent(tableClassName, table);
+                table = previous == null ? table : previous;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return the qualified names of all the generated tables
+     */
+    public static Collection<String> names() {
+        return Collections.unmodifiableCollection(resolveAll().keySet());
+    }
+
+    public static boolean isEmpty() {
+        return CLASS_NAMES.isEmpty();
+    }
+
+    private static Map<String, Table<?>> resolveAll() {
+        Map<String, Table<?>> current = byName;
+        if (current == null) {
+            synchronized (JooqTables.class) {
+                current = byName;
+                if (current == null) {
+                    Map<String, Table<?>> tables = new HashMap<>();
+                    Map<String, List<String>> unqualified = new HashMap<>();
+                    for (String tableClassName : CLASS_NAMES) {
+                        Table<?> table = byClassName(tableClassName);
+                        if (table != null) {
+                            String name = nameOf(table);
+                            tables.put(name, table);
+                            unqualified.computeIfAbsent(table.getName().toLowerCase(Locale.ROOT),
+                                    key -> new ArrayList<>()).add(name);
+                        }
+                    }
+                    byUnqualifiedName = unqualified;
+                    byName = current = tables;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Table<?> newInstance(String tableClassName) {
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Class<?> tableClass = Class.forName(tableClassName, true,
+                    classLoader == null ? JooqTables.class.getClassLoader() : classLoader);
+            return (Table<?>) tableClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warnv("Table skipped, cannot be instantiated: {0}, {1}", tableClassName, e.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.quarkus.ext.jooq.runtime.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.quarkus.ext.jooq.runtime.metrics.QueryFingerprint;
+
+/**
+ * The generated tables a SQL string refers to: every identifier outside of the literals that is the name of a
+ * registered {@link JooqTables table}, by its qualified name. "schema.table" names one table, a bare "table" all the
+ * tables of that name. A column named like a table only adds an invalidation.
+ * 
+ * @author Leo Tu
+ */
+public final class SqlTables {
+
+    private static final String QUOTED_OR_PLAIN = "(?:\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\]|[A-Za-z_][A-Za-z0-9_$]*)";
+
+    private static final Pattern PART = Pattern.compile(QUOTED_OR_PLAIN);
+
+    /**
+     * A possibly qualified, possibly quoted identifier, e.g. <code>"public"."departments"."dept_no"</code>
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile(QUOTED_OR_PLAIN + "(?:\\." + QUOTED_OR_PLAIN + ")*");
+
+    private SqlTables() {
+    }
+
+    public static Set<String> of(String sql) {
+        if (sql == null || JooqTables.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> tables = new HashSet<>();
+        Matcher matcher = IDENTIFIER.matcher(QueryFingerprint.of(sql));
+        while (matcher.find()) {
+            String[] parts = split(matcher.group());
+            for (int i = 0; i < parts.length; i++) {
+                String qualified = i == 0 ? null : parts[i - 1] + "." + parts[i];
+                if (qualified != null && JooqTables.byName(qualified) != null) {
+                    tables.add(qualified);
+                } else {
+                    tables.addAll(JooqTables.qualifiedNames(parts[i]));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static String[] split(String identifier) {
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = PART.matcher(identifier);
+        while (matcher.find()) {
+            String part = matcher.group();
+            if (part.charAt(0) == '"' || part.charAt(0) == '`' || part.charAt(0) == '[') {
+                part = part.substring(1, part.length() - 1);
+            }
+            parts.add(part.toLowerCase(Locale.ROOT));
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    /**
+     * SELECT or WITH ... SELECT, "insert ... returning" is a READ for jOOQ too
+     */
+    public static boolean isSelect(String sql) {
+        int i = 0;
+        while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) {
+            i++;
+        }
+        return sql.regionMatches(true, i, "select", 0, 6) || sql.regionMatches(true, i, "with", 0, 4);
+    }
+
+    /**
+     * FOR UPDATE, FOR NO KEY UPDATE, FOR SHARE, FOR KEY SHARE or LOCK IN SHARE MODE
+     */
+    public static boolean isLocking(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains(" for update") || lower.contains(" for no key update") || lower.contains(" for share")
+                || lower.contains(" for key share") || lower.contains(" lock in share mode");
+    }
+}
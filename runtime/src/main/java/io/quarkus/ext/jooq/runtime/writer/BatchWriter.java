@@ -0,0 +1,261 @@
+package io.quarkus.ext.jooq.runtime.writer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertOnDuplicateStep;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+
+/**
+ * Writes the records handed by many threads as JDBC batches, injected per DSLContext:
+ * 
+ * <pre>
+ * &#64;Inject
+ * &#64;DslContextQualifier("dsl1")
+ * BatchWriter writer;
+ * 
+ * CompletableFuture&lt;Integer&gt; done = writer.insert(QSalaries.$, salaries);
+ * </pre>
+ * 
+ * A background thread takes the queued records, up to "batch-size" of them or whatever arrived within
+ * "flush-interval" of the first one, and executes them in one transaction, one JDBC batch per distinct statement. If
+ * the batch fails, its records are retried one by one so that only the faulty ones fail. The future of a record
+ * completes with its update count once written.
+ * 
+ * @author Leo Tu
+ */
+public final class BatchWriter implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(BatchWriter.class);
+
+    private static final Set<BatchWriter> WRITERS = ConcurrentHashMap.newKeySet();
+
+    private final String contextName;
+
+    private final DSLContext dsl;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final BlockingQueue<Pending> queue;
+
+    private final Thread flusher;
+
+    private volatile boolean closed;
+
+    public BatchWriter(String contextName, DSLContext dsl, int batchSize, long flushIntervalNanos, int queueSize) {
+        this.contextName = contextName;
+        this.dsl = dsl;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = Math.max(0, flushIntervalNanos);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.flusher = new Thread(this::run, "jooq-batch-writer-" + contextName);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        WRITERS.add(this);
+    }
+
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * Queues an INSERT of the changed values of the record, blocks while the queue is full
+     */
+    public <R extends Record> CompletableFuture<Integer> insert(Table<R> table, R record) {
+        return enqueue(dsl.insertInto(table).set(record));
+    }
+
+    /**
+     * Queues an INSERT of the POJO, see DSLContext.newRecord(Table, Object)
+     */
+    public <R extends Record> CompletableFuture<Integer> insert(Table<R> table, Object pojo) {
+        return insert(table, dsl.newRecord(table, pojo));
+    }
+
+    /**
+     * Queues an INSERT .. ON DUPLICATE KEY UPDATE of the changed values of the record, emulated with MERGE by the
+     * dialects without it
+     */
+    public <R extends Record> CompletableFuture<Integer> upsert(Table<R> table, R record) {
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        for (Field<?> field : record.fields()) {
+            if (record.changed(field)) {
+                values.put(field, record.get(field));
+            }
+        }
+        UniqueKey<R> primaryKey = table.getPrimaryKey();
+        if (primaryKey != null) {
+            values.keySet().removeAll(primaryKey.getFields()); // the key is matched, not updated
+        }
+        InsertOnDuplicateStep<R> insert = dsl.insertInto(table).set(record);
+        return enqueue(values.isEmpty() ? insert.onDuplicateKeyIgnore() : insert.onDuplicateKeyUpdate().set(values));
+    }
+
+    public <R extends Record> CompletableFuture<Integer> upsert(Table<R> table, Object pojo) {
+        return upsert(table, dsl.newRecord(table, pojo));
+    }
+
+    /**
+     * @return number of the records waiting to be written
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Stops taking records and writes the queued ones
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        WRITERS.remove(this);
+        try {
+            flusher.join(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debugv("close: {0}", contextName);
+    }
+
+    /**
+     * Closes all the writers, at shutdown
+     */
+    public static void closeAll() {
+        for (BatchWriter writer : WRITERS) {
+            writer.close();
+        }
+    }
+
+    private CompletableFuture<Integer> enqueue(Query query) {
+        if (closed) {
+            throw new IllegalStateException("BatchWriter closed: " + contextName);
+        }
+        Pending pending = new Pending(query);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.completeExceptionally(e);
+            return pending.future;
+        }
+        // closed meanwhile: the flusher may have seen the queue empty and exited, unless it took the record
+        if (closed && queue.remove(pending)) {
+            pending.future.completeExceptionally(new IllegalStateException("BatchWriter closed: " + contextName));
+        }
+        return pending.future;
+    }
+
+    /**
+     * Exits once closed and the queue is empty, a record queued after that is failed by {@link #enqueue(Query)}
+     */
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 && !closed ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Pending pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        Map<String, List<Pending>> bySql = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            bySql.computeIfAbsent(pending.sql, sql -> new ArrayList<>()).add(pending);
+        }
+        try {
+            List<int[]> counts = new ArrayList<>(bySql.size());
+            dsl.transaction(configuration -> {
+                DSLContext tx = DSL.using(configuration);
+                counts.clear();
+                for (List<Pending> group : bySql.values()) {
+                    // the first query is the template, its parameters convert the bind values of the others
+                    BatchBindStep step = tx.batch(group.get(0).query);
+                    for (Pending pending : group) {
+                        step = step.bind(pending.binds);
+                    }
+                    counts.add(step.execute());
+                }
+            });
+            int i = 0;
+            for (List<Pending> group : bySql.values()) {
+                int[] groupCounts = counts.get(i++);
+                for (int j = 0; j < group.size(); j++) {
+                    group.get(j).future.complete(j < groupCounts.length ? groupCounts[j] : 0);
+                }
+            }
+            log.debugv("write: {0}, records: {1}, statements: {2}", contextName, batch.size(), bySql.size());
+        } catch (Throwable e) {
+            log.debugv("write: {0}, records: {1}, retried one by one: {2}", contextName, batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    pending.future.complete(pending.query.execute());
+                } catch (Throwable ex) {
+                    pending.future.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        final Query query;
+
+        final String sql;
+
+        final Object[] binds;
+
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        Pending(Query query) {
+            this.query = query;
+            this.sql = query.getSQL();
+            this.binds = query.getBindValues().toArray();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.quarkus.ext.jooq.runtime.writer;
+
+import javax.enterprise.event.Observes;
+import javax.inject.Singleton;
+
+import io.quarkus.runtime.ShutdownEvent;
+
+/**
+ * Writes the queued records before the data sources are closed
+ * 
+ * @author Leo Tu
+ */
+@Singleton
+public class BatchWriterLifecycle {
+
+    void onStop(@Observes ShutdownEvent event) {
+        BatchWriter.closeAll();
+    }
+}